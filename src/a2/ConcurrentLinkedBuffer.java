@@ -0,0 +1,329 @@
+package a2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * An instance is a thread-safe FIFO queue of non-null elements, linked like a
+ * DLinkedList, for handing elements from producer threads to consumer threads.
+ * Producers append at the tail and consumers remove from the head.
+ *
+ * The list starts with a dummy node and has one lock at each end, as in the
+ * two-lock queue of Michael and Scott: appends take only the tail lock and
+ * removals take only the head lock, so a producer and a consumer never wait
+ * for each other, even when the queue holds one element. Producers wait only
+ * for producers, and consumers for consumers. Nodes are linked forward only;
+ * nothing walks the list backward. size() takes constant time.
+ */
+public class ConcurrentLinkedBuffer<E> extends AbstractQueue<E> {
+    /** An instance is a node of this list. */
+    private static class Node<E> {
+        /** The data in this node (null in the dummy node). */
+        private E data;
+
+        /** Successor of this node (null if this is the last node). It is
+         * volatile so that a consumer sees a node only after its data. */
+        private volatile Node<E> succ;
+
+        private Node(E data) {
+            this.data = data;
+        }
+    }
+
+    /** The dummy node: the first element is in head.succ. Guarded by headLock. */
+    private Node<E> head;
+
+    /** The last node (the dummy node if the list is empty). Guarded by tailLock. */
+    private Node<E> tail;
+
+    /** Number of elements in the list. */
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final ReentrantLock headLock = new ReentrantLock();
+    private final ReentrantLock tailLock = new ReentrantLock();
+
+    /** Signalled when an element is appended to an empty list, and by a
+     * consumer that leaves elements for other waiting consumers. */
+    private final Condition notEmpty = headLock.newCondition();
+
+    /** Constructor: an empty list. */
+    public ConcurrentLinkedBuffer() {
+        head = new Node<E>(null);
+        tail = head;
+    }
+
+    /** Return the number of elements in this list. */
+    public @Override int size() {
+        return count.get();
+    }
+
+    /**
+     * Append element to the end of this list and return true.
+     * @throws NullPointerException if element is null
+     */
+    public @Override boolean offer(E element) {
+        if (element == null)
+            throw new NullPointerException();
+        Node<E> n = new Node<E>(element);
+        int c;
+        tailLock.lock();
+        try {
+            tail.succ = n;
+            tail = n;
+            c = count.getAndIncrement();
+        } finally {
+            tailLock.unlock();
+        }
+        if (c == 0)
+            signalNotEmpty();
+        return true;
+    }
+
+    /** Remove and return the first element, or return null if this list is empty. */
+    public @Override E poll() {
+        if (count.get() == 0)
+            return null;
+        headLock.lock();
+        try {
+            if (count.get() == 0)
+                return null;
+            return removeFirst();
+        } finally {
+            headLock.unlock();
+        }
+    }
+
+    /**
+     * Remove and return the first element, waiting until there is one.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E take() throws InterruptedException {
+        headLock.lockInterruptibly();
+        try {
+            while (count.get() == 0)
+                notEmpty.await();
+            return removeFirst();
+        } finally {
+            headLock.unlock();
+        }
+    }
+
+    /**
+     * Remove and return the first element, waiting up to timeout for one.
+     * Return null if there is none by then.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        headLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                if (nanos <= 0)
+                    return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return removeFirst();
+        } finally {
+            headLock.unlock();
+        }
+    }
+
+    /** Return the first element, or null if this list is empty. */
+    public @Override E peek() {
+        if (count.get() == 0)
+            return null;
+        headLock.lock();
+        try {
+            Node<E> first = head.succ;
+            return first == null ? null : first.data;
+        } finally {
+            headLock.unlock();
+        }
+    }
+
+    /**
+     * Remove the first max elements of this list (all of them if there are
+     * fewer) and add them to out, in order, under one acquisition of the head
+     * lock. Return the number removed.
+     */
+    public int drainTo(Collection<? super E> out, int max) {
+        if (count.get() == 0)
+            return 0;
+        headLock.lock();
+        try {
+            int k = 0;
+            while (k < max && count.get() > 0) {
+                out.add(removeFirst());
+                k++;
+            }
+            return k;
+        } finally {
+            headLock.unlock();
+        }
+    }
+
+    /**
+     * Return an iterator over a snapshot of this list, first to last, taken
+     * while both locks are held. Its remove() is not supported.
+     */
+    public @Override Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<E>();
+        headLock.lock();
+        tailLock.lock();
+        try {
+            for (Node<E> n = head.succ; n != null; n = n.succ)
+                snapshot.add(n.data);
+        } finally {
+            tailLock.unlock();
+            headLock.unlock();
+        }
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    /**
+     * Remove and return the first element: its node becomes the dummy node.
+     * The caller holds headLock and has seen count > 0, so head.succ is not
+     * null. Signal another waiting consumer if elements remain.
+     */
+    private E removeFirst() {
+        Node<E> first = head.succ;
+        E x = first.data;
+        first.data = null;
+        head = first;
+        if (count.getAndDecrement() > 1)
+            notEmpty.signal();
+        return x;
+    }
+
+    /** Wake a consumer waiting in take() or poll(timeout, unit). */
+    private void signalNotEmpty() {
+        headLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            headLock.unlock();
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Tests for ConcurrentLinkedBuffer, from one thread and from many. */
+    public static class Tests {
+
+        @Test
+        public void testQueue() {
+            ConcurrentLinkedBuffer<Integer> q = new ConcurrentLinkedBuffer<Integer>();
+            assertNull(q.poll());
+            assertNull(q.peek());
+            assertThrows(NullPointerException.class, () -> q.add(null));
+            for (int i = 0; i < 10; i++)
+                q.add(i);
+            assertEquals(10, q.size());
+            assertEquals("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]", q.toString());
+            assertEquals(0, (int) q.peek());
+            assertEquals(0, (int) q.poll());
+            List<Integer> out = new ArrayList<Integer>();
+            assertEquals(3, q.drainTo(out, 3));
+            assertEquals("[1, 2, 3]", out.toString());
+            assertEquals(6, q.drainTo(out, 100));
+            assertEquals(0, q.size());
+            assertNull(q.poll());
+            q.add(10);
+            assertEquals(10, (int) q.poll());
+            assertThrows(UnsupportedOperationException.class, () -> {
+                q.add(11);
+                Iterator<Integer> it = q.iterator();
+                it.next();
+                it.remove();
+            });
+        }
+
+        @Test
+        public void testTake() throws InterruptedException {
+            ConcurrentLinkedBuffer<Integer> q = new ConcurrentLinkedBuffer<Integer>();
+            assertNull(q.poll(10, TimeUnit.MILLISECONDS));
+            int[] got = {-1};
+            Thread consumer = new Thread(() -> {
+                try {
+                    got[0] = q.take();
+                } catch (InterruptedException e) {
+                    // leave got[0] at -1
+                }
+            });
+            consumer.start();
+            Thread.sleep(20);
+            q.add(42);
+            consumer.join(5000);
+            assertEquals(42, got[0]);
+        }
+
+        /** Producers append distinct ints while consumers take them: each is
+         * taken exactly once, and each producer's ints in the order added. */
+        @Test
+        public void testProducersAndConsumers() throws InterruptedException {
+            int producers = 4;
+            int consumers = 4;
+            int each = 20000;
+            ConcurrentLinkedBuffer<Integer> q = new ConcurrentLinkedBuffer<Integer>();
+            List<List<Integer>> taken = new ArrayList<List<Integer>>();
+            List<Thread> threads = new ArrayList<Thread>();
+            for (int p = 0; p < producers; p++) {
+                int first = p * each;
+                threads.add(new Thread(() -> {
+                    for (int i = 0; i < each; i++)
+                        q.add(first + i);
+                }));
+            }
+            AtomicInteger left = new AtomicInteger(producers * each);
+            for (int c = 0; c < consumers; c++) {
+                List<Integer> mine = new ArrayList<Integer>();
+                taken.add(mine);
+                threads.add(new Thread(() -> {
+                    try {
+                        while (left.getAndDecrement() > 0)
+                            mine.add(q.take());
+                    } catch (InterruptedException e) {
+                        // the test fails on the count below
+                    }
+                }));
+            }
+            for (Thread t : threads)
+                t.start();
+            for (Thread t : threads)
+                t.join(60000);
+
+            boolean[] seen = new boolean[producers * each];
+            int total = 0;
+            for (List<Integer> mine : taken) {
+                int[] last = new int[producers];
+                Arrays.fill(last, -1);
+                for (int v : mine) {
+                    assertTrue(!seen[v], "taken twice: " + v);
+                    seen[v] = true;
+                    assertTrue(v > last[v / each], "out of order: " + v);
+                    last[v / each] = v;
+                }
+                total += mine.size();
+            }
+            assertEquals(producers * each, total);
+            assertEquals(0, q.size());
+            assertNull(q.poll());
+        }
+    }
+}
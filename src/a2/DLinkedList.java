@@ -3,7 +3,14 @@ package a2;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.junit.jupiter.api.Test;
 
@@ -15,7 +22,7 @@ import junit.framework.AssertionFailedError;
  * 
  * Author: Kurt Chua kfb34 & Zeen Wang zw587
  */
-public class DLinkedList<E> extends java.util.AbstractList<E> {
+public class DLinkedList<E> extends java.util.AbstractList<E> implements Deque<E> {
     /** Number of nodes in the linked list. */
     private int size;
 
@@ -25,6 +32,12 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
     /** last  node of the linked list (null if the list is empty) */
     private Node tail;
     
+    /** The node most recently reached by index (null if none, or if the list
+     * has changed structurally since), and its index. getNode walks from
+     * here when it is nearer than head and tail. */
+    private Node finger;
+    private int fingerIndex;
+    
     /** Special node. */
     private Node sentinel= new Node(tail,null,head);
     
@@ -92,6 +105,8 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
     		newnode.pred.succ=newnode;
     	this.size++;
     	this.tail=newnode;
+    	finger=null;
+    	modCount++;
     	return newnode;
     }
     
@@ -102,8 +117,11 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
     }
     
     /**
-     * Return the Node at the given index of this list.
-     * Takes time proportional to min(index, size - index).
+     * Return the Node at the given index of this list, and remember it as the
+     * finger. Walks from whichever of head, tail and the finger is nearest, so
+     * it takes time proportional to min(index, size - index, |index - f|),
+     * where f is the index of the finger; calls with neighbouring indices
+     * take constant time.
      *
      * @param index the index of the node, in [0..size).
      *              0 is the first element, 1 is the second, etc.
@@ -114,28 +132,33 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
     		return null;
     	if(index <0 || index >= size) 
     		throw new IndexOutOfBoundsException("index is not in [0..size)");
-		if(index <= size/2) {
-			int i = 0;
-			Node nodeNow = head;
-			while(i< index) {
-				nodeNow = nodeNow.succ;
-				i++;
-			}
-			return nodeNow;
-		} else {
-			int i = size-1;
-			Node nodeNow = tail;
-			while(i>index) {
-				nodeNow = nodeNow.pred;
-				i--;
-			}
-			return nodeNow;
+    	int i = 0;
+    	Node nodeNow = head;
+    	if(size-1-index < index) {
+    		i = size-1;
+    		nodeNow = tail;
+    	}
+    	if(finger != null && Math.abs(index-fingerIndex) < Math.abs(index-i)) {
+    		i = fingerIndex;
+    		nodeNow = finger;
+    	}
+		while(i < index) {
+			nodeNow = nodeNow.succ;
+			i++;
 		}
+		while(i > index) {
+			nodeNow = nodeNow.pred;
+			i--;
+		}
+		finger = nodeNow;
+		fingerIndex = index;
+		return nodeNow;
     }
     
     /**
      * Return the element at the given index of this list.
-     * Takes time proportional to min(index, size - index).
+     * Takes time proportional to the distance from index to the nearest of
+     * 0, size - 1 and the index last reached (see getNode).
      *
      * @param index the index of the node, in [0..size).
      *              0 is the first element, 1 is the second, etc.
@@ -149,7 +172,8 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
     
     /**
      * Replace the element at the given index of this list with e.
-     * Takes time proportional to min(index, size - index).
+     * Takes time proportional to the distance from index to the nearest of
+     * 0, size - 1 and the index last reached (see getNode).
      *
      * @param index the index of the node, in [0..size).
      *              0 is the first element, 1 is the second, etc.
@@ -161,8 +185,9 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
 	     if(index<0 || index>=size) {
 	    	 throw new IndexOutOfBoundsException("index is not in [0..size)");
 	     }
-	     E oldVal = get(index);
-	     getNode(index).data= element;
+	     Node n = getNode(index);
+	     E oldVal = n.data;
+	     n.data= element;
 	     return oldVal;
     }
     
@@ -177,12 +202,16 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
         	head = newNode;
         	tail = head;
         	size++;
+        	finger = null;
+        	modCount++;
         	return newNode;
         }else {
         	Node newNode = new Node(null,element,head);
         	head.pred = newNode;
         	head = newNode;
         	size++;
+        	finger = null;
+        	modCount++;
         	return newNode;
         }
     }
@@ -203,6 +232,8 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
         prevNode.succ = newNode;
         node.pred = newNode;
         size++;
+        finger = null;
+        modCount++;
         return newNode;
     }
     
@@ -210,7 +241,8 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
      * Insert e into this list at position i.
      * The element currently at index i, as well as all later elements, are
      * shifted down to make room for element.
-     * Takes time proportional to min (index, size - index).
+     * Takes time proportional to the distance from index to the nearest of
+     * 0, size - 1 and the index last reached (see getNode).
      *
      * @param e the element to insert
      * @param i the place to put e, in [0..size] (note: i == size is allowed!)
@@ -220,7 +252,10 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
         if(index < 0 || index > size) {
         	throw new IndexOutOfBoundsException("i is not in [0..size]");
         }
-        insertBefore(element, getNode(index));
+        Node n = index == size ? append(element) : insertBefore(element, getNode(index));
+        // the new node is the finger for the next nearby index
+        finger = n;
+        fingerIndex = index;
      }
     
     /**
@@ -232,6 +267,8 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
     private E removeNode(Node n) {
 
     	assert(n!= null);
+    	finger = null;
+    	modCount++;
     	
     	if(n==head) {
         	if(size==1) {
@@ -240,7 +277,8 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
         		size--;
         		return n.data;
         	}
-    		 head = getNode(1);
+    		 head = n.succ;
+        	 n.succ = null;
         	 head.pred = null;
         	 size --;
         	 return n.data;
@@ -253,7 +291,8 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
         		 size--;
         		 return n.data;
         	 }
-        	 tail = getNode(size-2);
+        	 tail = n.pred;
+        	 n.pred = null;
         	 tail.succ = null;
         	 size --;
         	 return n.data;
@@ -273,7 +312,8 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
     
     /**
      * Remove and return the element at index i.
-     * Takes time proportional to min(i, size - i).
+     * Takes time proportional to the distance from i to the nearest of
+     * 0, size - 1 and the index last reached (see getNode).
      *
      * @param i the index of the element to remove, in [0..size).
      *          0 is the first element, 1 is the second, etc.
@@ -285,7 +325,299 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
         	throw new IndexOutOfBoundsException("i is not in [0..size)");
         }
         
-       return removeNode(getNode(i));
+       Node n = getNode(i);
+       Node next = n.succ;
+       E data = removeNode(n);
+       // the node now at i (or the new tail) is the finger for the next nearby index
+       if(next != null) {
+    	   finger = next;
+    	   fingerIndex = i;
+       } else if(i > 0) {
+    	   finger = tail;
+    	   fingerIndex = i-1;
+       }
+       return data;
+    }
+    
+    /** Return an iterator over the elements of this list, first to last. */
+    public @Override Iterator<E> iterator() {
+        return new Cursor(head, 0);
+    }
+    
+    /** Return a list iterator over the elements of this list, first to last. */
+    public @Override ListIterator<E> listIterator() {
+        return new Cursor(head, 0);
+    }
+    
+    /**
+     * Return a list iterator over the elements of this list whose first call
+     * of next() returns the element at index.
+     * Takes the time of get(index) (see getNode); every operation
+     * of the iterator then takes constant time.
+     *
+     * @throws IndexOutOfBoundsException if index is not in [0..size]
+     */
+    public @Override ListIterator<E> listIterator(int index) {
+        if(index < 0 || index > size)
+        	throw new IndexOutOfBoundsException("index is not in [0..size]");
+        return new Cursor(index == size ? null : getNode(index), index);
+    }
+    
+    /** Call action on each element of this list, first to last. */
+    public @Override void forEach(Consumer<? super E> action) {
+        for (Node n = head; n != null; n = n.succ)
+        	action.accept(n.data);
+    }
+    
+    /**
+     * Remove every element of this list that satisfies filter, and return
+     * true iff any was removed. Takes time proportional to size.
+     */
+    public @Override boolean removeIf(Predicate<? super E> filter) {
+        boolean removed = false;
+        for (Cursor c = new Cursor(head, 0); c.hasNext(); ) {
+        	if (filter.test(c.next())) {
+        		c.remove();
+        		removed = true;
+        	}
+        }
+        return removed;
+    }
+    
+    /** Remove every element of this list. Takes time proportional to size. */
+    public @Override void clear() {
+        Cursor c = new Cursor(head, 0);
+        while (c.hasNext()) {
+        	c.next();
+        	c.remove();
+        }
+    }
+    
+    ////////////////////////////////////////////////////////////////////////////
+    // Deque. Each operation takes constant time.
+    
+    /** Insert element at the front of this list. */
+    public @Override void addFirst(E element) {
+        prepend(element);
+    }
+    
+    /** Insert element at the end of this list. */
+    public @Override void addLast(E element) {
+        append(element);
+    }
+    
+    public @Override boolean offerFirst(E element) {
+        prepend(element);
+        return true;
+    }
+    
+    public @Override boolean offerLast(E element) {
+        append(element);
+        return true;
+    }
+    
+    /** Remove and return the first element.
+     * @throws NoSuchElementException if this list is empty */
+    public @Override E removeFirst() {
+        if(size==0)
+        	throw new NoSuchElementException();
+        return removeNode(head);
+    }
+    
+    /** Remove and return the last element.
+     * @throws NoSuchElementException if this list is empty */
+    public @Override E removeLast() {
+        if(size==0)
+        	throw new NoSuchElementException();
+        return removeNode(tail);
+    }
+    
+    public @Override E pollFirst() {
+        return size==0 ? null : removeNode(head);
+    }
+    
+    public @Override E pollLast() {
+        return size==0 ? null : removeNode(tail);
+    }
+    
+    /** Return the first element.
+     * @throws NoSuchElementException if this list is empty */
+    public @Override E getFirst() {
+        if(size==0)
+        	throw new NoSuchElementException();
+        return head.data;
+    }
+    
+    /** Return the last element.
+     * @throws NoSuchElementException if this list is empty */
+    public @Override E getLast() {
+        if(size==0)
+        	throw new NoSuchElementException();
+        return tail.data;
+    }
+    
+    public @Override E peekFirst() {
+        return size==0 ? null : head.data;
+    }
+    
+    public @Override E peekLast() {
+        return size==0 ? null : tail.data;
+    }
+    
+    public @Override boolean removeFirstOccurrence(Object o) {
+        return remove(o);
+    }
+    
+    public @Override boolean removeLastOccurrence(Object o) {
+        for (Node n = tail; n != null; n = n.pred) {
+        	if (o == null ? n.data == null : o.equals(n.data)) {
+        		removeNode(n);
+        		return true;
+        	}
+        }
+        return false;
+    }
+    
+    public @Override boolean offer(E element) {
+        return offerLast(element);
+    }
+    
+    public @Override E remove() {
+        return removeFirst();
+    }
+    
+    public @Override E poll() {
+        return pollFirst();
+    }
+    
+    public @Override E element() {
+        return getFirst();
+    }
+    
+    public @Override E peek() {
+        return peekFirst();
+    }
+    
+    public @Override void push(E element) {
+        prepend(element);
+    }
+    
+    public @Override E pop() {
+        return removeFirst();
+    }
+    
+    /** Return an iterator over the elements of this list, last to first. */
+    public @Override Iterator<E> descendingIterator() {
+        Cursor c = new Cursor(null, size);
+        return new Iterator<E>() {
+        	public @Override boolean hasNext() {
+        		return c.hasPrevious();
+        	}
+        	
+        	public @Override E next() {
+        		return c.previous();
+        	}
+        	
+        	public @Override void remove() {
+        		c.remove();
+        	}
+        };
+    }
+    
+    ////////////////////////////////////////////////////////////////////////////
+    // Bulk moves of node chains. None of them copies an element.
+    
+    /**
+     * Move all the elements of other to the end of this list, leaving other
+     * empty. Takes constant time.
+     *
+     * @throws IllegalArgumentException if other is this list
+     */
+    public void splice(DLinkedList<E> other) {
+        if(other == this)
+        	throw new IllegalArgumentException("cannot splice a list into itself");
+        linkChain(other, tail, null);
+    }
+    
+    /**
+     * Move all the elements of other into this list at the position of it,
+     * leaving other empty, as if each were added in order by it.add: the
+     * elements go before the element it.next() would have returned, and a
+     * later it.previous() returns the last of them. Takes constant time.
+     *
+     * @param it a list iterator of this list (from listIterator or iterator)
+     * @throws IllegalArgumentException if it is not an iterator of this list,
+     *         or other is this list
+     */
+    public void spliceAt(ListIterator<E> it, DLinkedList<E> other) {
+        if(!(it instanceof DLinkedList.Cursor) || ((DLinkedList<?>.Cursor) it).owner() != this)
+        	throw new IllegalArgumentException("not an iterator of this list");
+        if(other == this)
+        	throw new IllegalArgumentException("cannot splice a list into itself");
+        @SuppressWarnings("unchecked")
+        Cursor c = (Cursor) it;
+        c.checkForComodification();
+        int k = other.size;
+        linkChain(other, c.next == null ? tail : c.next.pred, c.next);
+        c.nextIndex += k;
+        c.last = null;
+        c.expectedModCount = modCount;
+    }
+    
+    /**
+     * Remove the elements at indexes [index..size) from this list and return
+     * them, in order, as a new list. Takes the time of get(index) (see
+     * getNode), or constant time if index == size.
+     *
+     * @throws IndexOutOfBoundsException if index is not in [0..size]
+     */
+    public DLinkedList<E> split(int index) {
+        if(index < 0 || index > size)
+        	throw new IndexOutOfBoundsException("index is not in [0..size]");
+        DLinkedList<E> rest = new DLinkedList<E>();
+        if(index == size)
+        	return rest;
+        Node first = getNode(index);
+        rest.head = first;
+        rest.tail = tail;
+        rest.size = size - index;
+        tail = first.pred;
+        first.pred = null;
+        if(tail == null)
+        	head = null;
+        else
+        	tail.succ = null;
+        size = index;
+        finger = null;
+        modCount++;
+        return rest;
+    }
+    
+    /**
+     * Link the nodes of other between nodes p and s of this list, which are
+     * adjacent (either may be null, at an end), and make other empty.
+     */
+    private void linkChain(DLinkedList<E> other, Node p, Node s) {
+        if(other.size == 0)
+        	return;
+        other.head.pred = p;
+        other.tail.succ = s;
+        if(p == null)
+        	head = other.head;
+        else
+        	p.succ = other.head;
+        if(s == null)
+        	tail = other.tail;
+        else
+        	s.pred = other.tail;
+        size += other.size;
+        finger = null;
+        modCount++;
+        other.head = null;
+        other.tail = null;
+        other.size = 0;
+        other.finger = null;
+        other.modCount++;
     }
     
     ////////////////////////////////////////////////////////////////////////////
@@ -310,6 +642,111 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
         }
     }
 
+    /**
+     * An instance is a list iterator over this list that holds the node it
+     * will return next, so each operation takes constant time. The list must
+     * be changed only through this iterator while it is in use.
+     */
+    private class Cursor implements ListIterator<E> {
+        /** The node next() returns (null if the cursor is at the end). */
+        private Node next;
+        
+        /** The index of next (size if the cursor is at the end). */
+        private int nextIndex;
+        
+        /** The node last returned by next() or previous(), or null if it was
+         * removed or an element was added since (or neither was called). */
+        private Node last;
+        
+        /** The modCount of the list this cursor expects. */
+        private int expectedModCount = modCount;
+        
+        /** Constructor: a cursor before node next, which is at index nextIndex. */
+        private Cursor(Node next, int nextIndex) {
+            this.next = next;
+            this.nextIndex = nextIndex;
+        }
+        
+        /** Return the list this cursor iterates over. */
+        private DLinkedList<E> owner() {
+            return DLinkedList.this;
+        }
+        
+        /** Throw a ConcurrentModificationException if the list has been
+         * changed structurally other than through this cursor. */
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+            	throw new ConcurrentModificationException();
+        }
+        
+        public @Override boolean hasNext() {
+            return nextIndex < size;
+        }
+        
+        public @Override E next() {
+            checkForComodification();
+            if (next == null)
+            	throw new NoSuchElementException();
+            last = next;
+            next = next.succ;
+            nextIndex++;
+            return last.data;
+        }
+        
+        public @Override boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+        
+        public @Override E previous() {
+            checkForComodification();
+            if (nextIndex == 0)
+            	throw new NoSuchElementException();
+            next = next == null ? tail : next.pred;
+            nextIndex--;
+            last = next;
+            return last.data;
+        }
+        
+        public @Override int nextIndex() {
+            return nextIndex;
+        }
+        
+        public @Override int previousIndex() {
+            return nextIndex - 1;
+        }
+        
+        public @Override void remove() {
+            if (last == null)
+            	throw new IllegalStateException();
+            checkForComodification();
+            if (last == next)
+            	next = next.succ;    // last came from previous()
+            else
+            	nextIndex--;
+            removeNode(last);
+            last = null;
+            expectedModCount = modCount;
+        }
+        
+        public @Override void set(E e) {
+            if (last == null)
+            	throw new IllegalStateException();
+            checkForComodification();
+            last.data = e;
+        }
+        
+        public @Override void add(E e) {
+            checkForComodification();
+            if (next == null)
+            	append(e);
+            else
+            	insertBefore(e, next);
+            nextIndex++;
+            last = null;
+            expectedModCount = modCount;
+        }
+    }
+
     ////////////////////////////////////////////////////////////////////////////
 
     /**
@@ -864,5 +1301,285 @@ public class DLinkedList<E> extends java.util.AbstractList<E> {
 	       	assertThrows(IndexOutOfBoundsException.class, ()->strList.remove(-1));
 	       System.out.println("remove method tests passed!"); 
        }
+       
+       @Test
+       public void testListIterator() {
+    	   DLinkedList<Integer> intList = new DLinkedList<Integer>();
+    	   List<Integer> expected = new java.util.ArrayList<Integer>();
+    	   ListIterator<Integer> it = intList.listIterator();
+    	   ListIterator<Integer> ex = expected.listIterator();
+    	   
+    	   // add at the cursor, in an empty list and at the end
+    	   for (int i = 0; i < 6; i++) {
+    		   it.add(i);
+    		   ex.add(i);
+    	   }
+    	   assertEquals(expected.toString(), intList.toString());
+    	   assertInvariants(intList);
+    	   
+    	   // walk back, replacing and removing
+    	   while (ex.hasPrevious()) {
+    		   assertEquals(ex.previousIndex(), it.previousIndex());
+    		   int v = it.previous();
+    		   assertEquals((int) ex.previous(), v);
+    		   if (v % 3 == 0) {
+    			   it.remove();
+    			   ex.remove();
+    		   } else {
+    			   it.set(10 * v);
+    			   ex.set(10 * v);
+    		   }
+    	   }
+    	   assertEquals("[10, 20, 40, 50]", intList.toString());
+    	   assertEquals("[50, 40, 20, 10]", intList.toStringRev());
+    	   assertInvariants(intList);
+    	   
+    	   // walk forward from the middle, adding and removing
+    	   ListIterator<Integer> mid = intList.listIterator(2);
+    	   assertEquals(40, (int) mid.next());
+    	   mid.remove();
+    	   assertThrows(IllegalStateException.class, () -> mid.remove());
+    	   mid.add(30);
+    	   assertEquals(3, mid.nextIndex());
+    	   assertEquals(50, (int) mid.next());
+    	   assertEquals(false, mid.hasNext());
+    	   assertThrows(java.util.NoSuchElementException.class, () -> mid.next());
+    	   mid.add(60);
+    	   assertEquals("[10, 20, 30, 50, 60]", intList.toString());
+    	   assertInvariants(intList);
+    	   
+    	   // index-based methods of AbstractList use the iterator
+    	   assertEquals(3, intList.indexOf(50));
+    	   assertEquals("[20, 30]", intList.subList(1, 3).toString());
+    	   intList.add(intList.size(), 70);
+    	   assertEquals(true, intList.removeIf(v -> v % 20 == 10));
+    	   assertEquals("[20, 60]", intList.toString());
+    	   assertInvariants(intList);
+    	   int[] sum = {0};
+    	   intList.forEach(v -> sum[0] += v);
+    	   assertEquals(80, sum[0]);
+    	   intList.clear();
+    	   assertEquals("[]", intList.toString());
+    	   assertInvariants(intList);
+    	   assertThrows(IndexOutOfBoundsException.class, () -> intList.listIterator(1));
+    	   
+    	   System.out.println("listIterator method tests passed!");
+       }
+       
+       @Test
+       public void testFinger() {
+    	   DLinkedList<Integer> intList = new DLinkedList<Integer>();
+    	   for (int i = 0; i < 100; i++)
+    		   intList.add(i);
+    	   assertEquals(null, intList.finger);
+    	   
+    	   // getNode remembers the node it reaches, and starts from it when nearer
+    	   assertEquals(40, (int) intList.get(40));
+    	   assertEquals(40, intList.fingerIndex);
+    	   assertEquals(41, (int) intList.get(41));
+    	   assertEquals(intList.getNode(41), intList.finger);
+    	   assertEquals(60, (int) intList.get(60));
+    	   assertEquals(99, (int) intList.get(99));
+    	   assertEquals(0, (int) intList.get(0));
+    	   
+    	   // indexed adds and removes leave the finger at their index
+    	   intList.add(50, -50);
+    	   assertEquals(50, intList.fingerIndex);
+    	   assertEquals(-50, (int) intList.finger.data);
+    	   assertEquals(-50, (int) intList.remove(50));
+    	   assertEquals(50, intList.fingerIndex);
+    	   assertEquals(50, (int) intList.finger.data);
+    	   assertEquals(99, (int) intList.remove(99));
+    	   assertEquals(intList.tail, intList.finger);
+    	   assertEquals(98, intList.fingerIndex);
+    	   
+    	   // other structural changes forget it
+    	   intList.add(100);
+    	   assertEquals(null, intList.finger);
+    	   intList.get(10);
+    	   intList.removeNode(intList.head);
+    	   assertEquals(null, intList.finger);
+    	   assertInvariants(intList);
+    	   
+    	   // sequential indexed loops take constant time per step
+    	   for (int i = 0; i < 200000; i++)
+    		   intList.add(intList.size(), i);
+    	   for (int i = 0; i < intList.size(); i++)
+    		   intList.set(i, intList.get(i) + 1);
+    	   for (int i = intList.size() - 1; i >= 1; i -= 2)
+    		   intList.remove(i);
+    	   assertEquals(100050, intList.size());
+    	   assertInvariants(intList);
+    	   
+    	   System.out.println("finger tests passed!");
+       }
+       
+       @Test
+       public void testDeque() {
+    	   DLinkedList<Integer> intList = new DLinkedList<Integer>();
+    	   assertEquals(null, intList.peekFirst());
+    	   assertEquals(null, intList.pollLast());
+    	   assertThrows(NoSuchElementException.class, () -> intList.removeFirst());
+    	   assertThrows(NoSuchElementException.class, () -> intList.getLast());
+    	   
+    	   intList.addFirst(2);
+    	   intList.addLast(3);
+    	   intList.push(1);
+    	   intList.offer(4);
+    	   intList.offerFirst(0);
+    	   assertEquals("[0, 1, 2, 3, 4]", intList.toString());
+    	   assertInvariants(intList);
+    	   assertEquals(0, (int) intList.peek());
+    	   assertEquals(4, (int) intList.peekLast());
+    	   assertEquals(0, (int) intList.pop());
+    	   assertEquals(4, (int) intList.removeLast());
+    	   assertEquals(1, (int) intList.poll());
+    	   assertEquals("[2, 3]", intList.toString());
+    	   
+    	   intList.add(2);
+    	   intList.add(3);
+    	   assertEquals(true, intList.removeLastOccurrence(2));
+    	   assertEquals(true, intList.removeFirstOccurrence(3));
+    	   assertEquals(false, intList.removeFirstOccurrence(7));
+    	   assertEquals("[2, 3]", intList.toString());
+    	   Iterator<Integer> it = intList.descendingIterator();
+    	   assertEquals(3, (int) it.next());
+    	   it.remove();
+    	   assertEquals(2, (int) it.next());
+    	   assertEquals(false, it.hasNext());
+    	   assertEquals("[2]", intList.toString());
+    	   assertInvariants(intList);
+    	   
+    	   System.out.println("deque method tests passed!");
+       }
+       
+       /** Return a new list of the ints in [from..to). */
+       private static DLinkedList<Integer> range(int from, int to) {
+    	   DLinkedList<Integer> list = new DLinkedList<Integer>();
+    	   for (int i = from; i < to; i++)
+    		   list.add(i);
+    	   return list;
+       }
+       
+       @Test
+       public void testSplice() {
+    	   DLinkedList<Integer> a = range(0, 3);
+    	   DLinkedList<Integer> b = range(3, 6);
+    	   DLinkedList<Integer>.Node n3 = b.head;
+    	   a.splice(b);
+    	   assertEquals("[0, 1, 2, 3, 4, 5]", a.toString());
+    	   assertEquals("[5, 4, 3, 2, 1, 0]", a.toStringRev());
+    	   assertEquals(n3, a.getNode(3));    // nodes move, not copies
+    	   assertEquals("[]", b.toString());
+    	   assertInvariants(a);
+    	   assertInvariants(b);
+    	   a.splice(b);
+    	   assertEquals(6, a.size());
+    	   b.splice(range(0, 2));
+    	   assertEquals("[0, 1]", b.toString());
+    	   assertThrows(IllegalArgumentException.class, () -> a.splice(a));
+    	   
+    	   // splice at a cursor: the front, the middle and the end
+    	   ListIterator<Integer> it = a.listIterator();
+    	   a.spliceAt(it, range(-2, 0));
+    	   assertEquals(2, it.nextIndex());
+    	   assertEquals(0, (int) it.next());
+    	   assertEquals(0, (int) it.previous());
+    	   assertEquals(-1, (int) it.previous());
+    	   it = a.listIterator(5);
+    	   a.spliceAt(it, range(10, 12));
+    	   assertEquals(11, (int) it.previous());
+    	   it = a.listIterator(a.size());
+    	   a.spliceAt(it, range(20, 21));
+    	   assertEquals(false, it.hasNext());
+    	   assertEquals("[-2, -1, 0, 1, 2, 10, 11, 3, 4, 5, 20]", a.toString());
+    	   assertEquals("[20, 5, 4, 3, 11, 10, 2, 1, 0, -1, -2]", a.toStringRev());
+    	   assertInvariants(a);
+    	   ListIterator<Integer> other = b.listIterator();
+    	   assertThrows(IllegalArgumentException.class, () -> a.spliceAt(other, range(0, 1)));
+    	   assertThrows(IllegalArgumentException.class,
+    		   () -> a.spliceAt(new java.util.ArrayList<Integer>().listIterator(), range(0, 1)));
+    	   DLinkedList<Integer> empty = new DLinkedList<Integer>();
+    	   empty.spliceAt(empty.listIterator(), range(0, 2));
+    	   assertEquals("[0, 1]", empty.toString());
+    	   assertInvariants(empty);
+    	   
+    	   // split at the front, the middle and the end
+    	   DLinkedList<Integer> rest = a.split(7);
+    	   assertEquals("[-2, -1, 0, 1, 2, 10, 11]", a.toString());
+    	   assertEquals("[3, 4, 5, 20]", rest.toString());
+    	   assertEquals("[20, 5, 4, 3]", rest.toStringRev());
+    	   assertInvariants(a);
+    	   assertInvariants(rest);
+    	   assertEquals("[]", a.split(a.size()).toString());
+    	   DLinkedList<Integer> all = a.split(0);
+    	   assertEquals("[]", a.toString());
+    	   assertEquals(7, all.size());
+    	   assertInvariants(a);
+    	   assertInvariants(all);
+    	   assertThrows(IndexOutOfBoundsException.class, () -> all.split(8));
+    	   all.splice(rest);
+    	   assertEquals("[-2, -1, 0, 1, 2, 10, 11, 3, 4, 5, 20]", all.toString());
+    	   assertInvariants(all);
+    	   
+    	   System.out.println("splice and split tests passed!");
+       }
+       
+       @Test
+       public void testFailFast() {
+    	   DLinkedList<Integer> intList = range(0, 10);
+    	   
+    	   // every structural change other than through the iterator breaks it
+    	   Iterator<Integer> it = intList.iterator();
+    	   it.next();
+    	   intList.add(10);
+    	   assertThrows(ConcurrentModificationException.class, () -> it.next());
+    	   ListIterator<Integer> li = intList.listIterator(5);
+    	   intList.remove(0);
+    	   assertThrows(ConcurrentModificationException.class, () -> li.previous());
+    	   ListIterator<Integer> li2 = intList.listIterator();
+    	   intList.split(8);
+    	   assertThrows(ConcurrentModificationException.class, () -> li2.add(0));
+    	   ListIterator<Integer> li3 = intList.listIterator();
+    	   intList.splice(range(0, 1));
+    	   assertThrows(ConcurrentModificationException.class, () -> intList.spliceAt(li3, range(0, 1)));
+    	   assertThrows(ConcurrentModificationException.class, () -> {
+    		   for (int v : intList) {
+    			   if (v == 3)
+    				   intList.removeFirst();
+    		   }
+    	   });
+    	   
+    	   // set and changes through the iterator itself do not
+    	   ListIterator<Integer> ok = intList.listIterator();
+    	   intList.set(0, -1);
+    	   assertEquals(-1, (int) ok.next());
+    	   ok.remove();
+    	   ok.add(-2);
+    	   intList.spliceAt(ok, range(100, 102));
+    	   assertEquals(100 + 1, (int) ok.previous());
+    	   ok.set(7);
+    	   assertEquals("[-2, 100, 7, 3, 4, 5, 6, 7, 8, 0]", intList.toString());
+    	   assertInvariants(intList);
+    	   
+    	   System.out.println("fail-fast tests passed!");
+       }
+       
+       @Test
+       public void testIterationIsLinear() {
+    	   // quadratic iteration would take billions of steps here
+    	   DLinkedList<Integer> intList = new DLinkedList<Integer>();
+    	   for (int i = 0; i < 200000; i++)
+    		   intList.add(i);
+    	   long sum = 0;
+    	   for (int v : intList)
+    		   sum += v;
+    	   assertEquals(199999L * 200000 / 2, sum);
+    	   assertEquals(199999, intList.lastIndexOf(199999));
+    	   intList.removeIf(v -> v % 2 == 0);
+    	   assertEquals(100000, intList.size());
+    	   assertEquals(1, (int) intList.get(0));
+    	   assertInvariants(intList);
+       }
     }
 }
\ No newline at end of file
@@ -0,0 +1,756 @@
+package a2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * An instance is an unrolled doubly linked list: a doubly linked list of
+ * chunks, each holding up to CHUNK elements in an array. It provides the
+ * functionality of java.util.LinkedList, as a List and as a Deque.
+ *
+ * A chunk costs one object and one array for up to CHUNK elements, where a
+ * DLinkedList costs one node per element, so the list takes several times
+ * less memory and iterates through contiguous arrays. Indexed operations walk
+ * chunks, not elements: they take time proportional to min(i, size - i) / CHUNK
+ * plus CHUNK to shift elements within a chunk. Operations at either end take
+ * amortized constant time.
+ *
+ * A full chunk is split in two on insert, and a chunk is merged into a
+ * neighbour on remove when the two hold no more than CHUNK / 2 elements, so
+ * chunks are on average at least a quarter full.
+ */
+public class UnrolledList<E> extends java.util.AbstractList<E> implements Deque<E> {
+    /** The most elements a chunk holds. */
+    static final int CHUNK = 64;
+
+    /** Two adjacent chunks hold more than this many elements together. */
+    private static final int HALF = CHUNK / 2;
+
+    /** Number of elements in the list. */
+    private int size;
+
+    /** first chunk of the list (null if the list is empty) */
+    private Chunk head;
+
+    /** last chunk of the list (null if the list is empty) */
+    private Chunk tail;
+
+    /** The index of the first element of the chunk last returned by locate. */
+    private int start;
+
+    /** Constructor: an empty list. */
+    public UnrolledList() {
+    }
+
+    /**
+     * Return the number of elements in this list.
+     * This operation takes constant time.
+     */
+    public @Override int size() {
+        return size;
+    }
+
+    /**
+     * Return the chunk holding the element at index, which must be in
+     * [0..size), and set start to the index of its first element.
+     * Takes time proportional to min(index, size - index) / CHUNK.
+     */
+    private Chunk locate(int index) {
+        Chunk c;
+        int s;
+        if (index < size / 2) {
+            c = head;
+            s = 0;
+            while (s + c.count <= index) {
+                s += c.count;
+                c = c.succ;
+            }
+        } else {
+            c = tail;
+            s = size - c.count;
+            while (s > index) {
+                c = c.pred;
+                s -= c.count;
+            }
+        }
+        start = s;
+        return c;
+    }
+
+    /** Throw an IndexOutOfBoundsException if index is not in [0..size). */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("index is not in [0..size)");
+    }
+
+    /**
+     * Return the element at the given index of this list.
+     *
+     * @throws IndexOutOfBoundsException if index is not in [0..size)
+     */
+    public @Override E get(int index) {
+        checkIndex(index);
+        Chunk c = locate(index);
+        return c.item(index - start);
+    }
+
+    /**
+     * Replace the element at the given index of this list with element and
+     * return the former element.
+     *
+     * @throws IndexOutOfBoundsException if index is not in [0..size)
+     */
+    public @Override E set(int index, E element) {
+        checkIndex(index);
+        Chunk c = locate(index);
+        E old = c.item(index - start);
+        c.items[index - start] = element;
+        return old;
+    }
+
+    /** Append element to the end of this list and return true. */
+    public @Override boolean add(E element) {
+        addLast(element);
+        return true;
+    }
+
+    /**
+     * Insert element into this list at position index.
+     *
+     * @throws IndexOutOfBoundsException if index is not in [0..size]
+     */
+    public @Override void add(int index, E element) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("index is not in [0..size]");
+        if (index == size) {
+            addLast(element);
+            return;
+        }
+        Chunk c = locate(index);
+        insert(c, index - start, element);
+    }
+
+    /**
+     * Remove and return the element at index.
+     *
+     * @throws IndexOutOfBoundsException if index is not in [0..size)
+     */
+    public @Override E remove(int index) {
+        checkIndex(index);
+        Chunk c = locate(index);
+        return removeAt(c, index - start);
+    }
+
+    /** Remove every element of this list. */
+    public @Override void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+    }
+
+    /** Call action on each element of this list, first to last. */
+    public @Override void forEach(Consumer<? super E> action) {
+        for (Chunk c = head; c != null; c = c.succ) {
+            for (int i = 0; i < c.count; i++)
+                action.accept(c.item(i));
+        }
+    }
+
+    /** Return an iterator over the elements of this list, first to last. */
+    public @Override Iterator<E> iterator() {
+        return new Cursor(0);
+    }
+
+    /**
+     * Return a list iterator over the elements of this list whose first call
+     * of next() returns the element at index. next, previous and set take
+     * constant time; add and remove take time proportional to CHUNK.
+     *
+     * @throws IndexOutOfBoundsException if index is not in [0..size]
+     */
+    public @Override ListIterator<E> listIterator(int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("index is not in [0..size]");
+        return new Cursor(index);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Deque
+
+    /** Insert element at the front of this list. */
+    public @Override void addFirst(E element) {
+        if (head == null || head.count == CHUNK)
+            linkAfter(null);
+        insert(head, 0, element);
+    }
+
+    /** Insert element at the end of this list. */
+    public @Override void addLast(E element) {
+        if (tail == null || tail.count == CHUNK)
+            linkAfter(tail);
+        tail.items[tail.count++] = element;
+        size++;
+        modCount++;
+    }
+
+    public @Override boolean offerFirst(E element) {
+        addFirst(element);
+        return true;
+    }
+
+    public @Override boolean offerLast(E element) {
+        addLast(element);
+        return true;
+    }
+
+    /** Remove and return the first element.
+     * @throws NoSuchElementException if this list is empty */
+    public @Override E removeFirst() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return removeAt(head, 0);
+    }
+
+    /** Remove and return the last element.
+     * @throws NoSuchElementException if this list is empty */
+    public @Override E removeLast() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return removeAt(tail, tail.count - 1);
+    }
+
+    public @Override E pollFirst() {
+        return size == 0 ? null : removeAt(head, 0);
+    }
+
+    public @Override E pollLast() {
+        return size == 0 ? null : removeAt(tail, tail.count - 1);
+    }
+
+    /** Return the first element.
+     * @throws NoSuchElementException if this list is empty */
+    public @Override E getFirst() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return head.item(0);
+    }
+
+    /** Return the last element.
+     * @throws NoSuchElementException if this list is empty */
+    public @Override E getLast() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return tail.item(tail.count - 1);
+    }
+
+    public @Override E peekFirst() {
+        return size == 0 ? null : head.item(0);
+    }
+
+    public @Override E peekLast() {
+        return size == 0 ? null : tail.item(tail.count - 1);
+    }
+
+    public @Override boolean removeFirstOccurrence(Object o) {
+        return remove(o);
+    }
+
+    public @Override boolean removeLastOccurrence(Object o) {
+        for (Iterator<E> it = descendingIterator(); it.hasNext(); ) {
+            E e = it.next();
+            if (o == null ? e == null : o.equals(e)) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public @Override boolean offer(E element) {
+        return offerLast(element);
+    }
+
+    public @Override E remove() {
+        return removeFirst();
+    }
+
+    public @Override E poll() {
+        return pollFirst();
+    }
+
+    public @Override E element() {
+        return getFirst();
+    }
+
+    public @Override E peek() {
+        return peekFirst();
+    }
+
+    public @Override void push(E element) {
+        addFirst(element);
+    }
+
+    public @Override E pop() {
+        return removeFirst();
+    }
+
+    /** Return an iterator over the elements of this list, last to first. */
+    public @Override Iterator<E> descendingIterator() {
+        ListIterator<E> it = new Cursor(size);
+        return new Iterator<E>() {
+            public @Override boolean hasNext() {
+                return it.hasPrevious();
+            }
+
+            public @Override E next() {
+                return it.previous();
+            }
+
+            public @Override void remove() {
+                it.remove();
+            }
+        };
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Helper methods
+
+    /** Link a new empty chunk after c, or at the front if c is null, and
+     * return it. */
+    private Chunk linkAfter(Chunk c) {
+        Chunk n = new Chunk();
+        n.pred = c;
+        n.succ = c == null ? head : c.succ;
+        if (n.pred == null)
+            head = n;
+        else
+            n.pred.succ = n;
+        if (n.succ == null)
+            tail = n;
+        else
+            n.succ.pred = n;
+        return n;
+    }
+
+    /** Remove chunk c from the list of chunks. */
+    private void unlink(Chunk c) {
+        if (c.pred == null)
+            head = c.succ;
+        else
+            c.pred.succ = c.succ;
+        if (c.succ == null)
+            tail = c.pred;
+        else
+            c.succ.pred = c.pred;
+    }
+
+    /**
+     * Insert element at offset off of chunk c, in [0..c.count], splitting c
+     * first if it is full. Return the chunk that now holds element: c, or
+     * else the chunk split off after c, where element is at off - HALF.
+     */
+    private Chunk insert(Chunk c, int off, E element) {
+        if (c.count == CHUNK) {
+            Chunk n = linkAfter(c);
+            System.arraycopy(c.items, HALF, n.items, 0, CHUNK - HALF);
+            Arrays.fill(c.items, HALF, CHUNK, null);
+            n.count = CHUNK - HALF;
+            c.count = HALF;
+            if (off > HALF) {
+                c = n;
+                off -= HALF;
+            }
+        }
+        System.arraycopy(c.items, off, c.items, off + 1, c.count - off);
+        c.items[off] = element;
+        c.count++;
+        size++;
+        modCount++;
+        return c;
+    }
+
+    /**
+     * Remove and return the element at offset off of chunk c. Then unlink c
+     * if it is empty, or else merge it with a neighbour if the two hold no more
+     * than HALF elements. A chunk merged away, or unlinked, has count 0; the
+     * chunk it was merged into is its predecessor.
+     */
+    private E removeAt(Chunk c, int off) {
+        E old = c.item(off);
+        System.arraycopy(c.items, off + 1, c.items, off, c.count - off - 1);
+        c.items[--c.count] = null;
+        size--;
+        modCount++;
+        if (c.count == 0) {
+            unlink(c);
+            return old;
+        }
+        if (c.succ != null && c.count + c.succ.count <= HALF)
+            mergeNext(c);
+        if (c.pred != null && c.pred.count + c.count <= HALF)
+            mergeNext(c.pred);
+        return old;
+    }
+
+    /** Move the elements of c.succ to the end of c and unlink c.succ.
+     * Precondition: c.count + c.succ.count <= CHUNK. */
+    private void mergeNext(Chunk c) {
+        Chunk n = c.succ;
+        System.arraycopy(n.items, 0, c.items, c.count, n.count);
+        c.count += n.count;
+        n.count = 0;
+        unlink(n);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** An instance is a chunk of this list. */
+    private class Chunk {
+        /** Predecessor of this chunk (null if this is the first chunk). */
+        private Chunk pred;
+
+        /** The elements of this chunk are items[0..count); the rest are null. */
+        private final Object[] items = new Object[CHUNK];
+        private int count;
+
+        /** Successor of this chunk (null if this is the last chunk). */
+        private Chunk succ;
+
+        /** Return the element at offset i. */
+        @SuppressWarnings("unchecked")
+        private E item(int i) {
+            return (E) items[i];
+        }
+    }
+
+    /**
+     * An instance is a list iterator over this list that holds the chunk and
+     * offset of the element it returns next. It is fail-fast: it throws a
+     * ConcurrentModificationException if the list is changed other than
+     * through it.
+     */
+    private class Cursor implements ListIterator<E> {
+        /** The element next() returns is at offset off of chunk c; off may be
+         * c.count, meaning the first element of c.succ. c is null iff the
+         * list is empty. */
+        private Chunk c;
+        private int off;
+
+        /** The index of the element next() returns. */
+        private int index;
+
+        /** The chunk and offset of the element last returned by next() or
+         * previous(); lastChunk is null if it was removed or an element was
+         * added since (or neither was called). */
+        private Chunk lastChunk;
+        private int lastOff;
+
+        /** The modCount of the list this cursor expects. */
+        private int expectedModCount = modCount;
+
+        /** Constructor: a cursor before the element at index, in [0..size]. */
+        private Cursor(int index) {
+            this.index = index;
+            if (index < size) {
+                c = locate(index);
+                off = index - start;
+            } else {
+                c = tail;
+                off = tail == null ? 0 : tail.count;
+            }
+        }
+
+        /** Throw a ConcurrentModificationException if the list has been
+         * changed other than through this cursor. */
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        public @Override boolean hasNext() {
+            return index < size;
+        }
+
+        public @Override E next() {
+            checkForComodification();
+            if (index >= size)
+                throw new NoSuchElementException();
+            if (off == c.count) {
+                c = c.succ;
+                off = 0;
+            }
+            lastChunk = c;
+            lastOff = off++;
+            index++;
+            return lastChunk.item(lastOff);
+        }
+
+        public @Override boolean hasPrevious() {
+            return index > 0;
+        }
+
+        public @Override E previous() {
+            checkForComodification();
+            if (index == 0)
+                throw new NoSuchElementException();
+            if (off == 0) {
+                c = c.pred;
+                off = c.count;
+            }
+            lastChunk = c;
+            lastOff = --off;
+            index--;
+            return lastChunk.item(lastOff);
+        }
+
+        public @Override int nextIndex() {
+            return index;
+        }
+
+        public @Override int previousIndex() {
+            return index - 1;
+        }
+
+        public @Override void remove() {
+            if (lastChunk == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            if (lastChunk != c || lastOff != off) {
+                // last came from next(), so it is just before the cursor
+                index--;
+            }
+            c = lastChunk;
+            off = lastOff;
+            Chunk pred = c.pred;
+            int predCount = pred == null ? 0 : pred.count;
+            removeAt(c, off);
+            if (c.count == 0) {
+                // c was unlinked, or merged into pred after its predCount elements
+                c = pred != null ? pred : head;
+                off = pred != null ? predCount + off : 0;
+            }
+            lastChunk = null;
+            expectedModCount = modCount;
+        }
+
+        public @Override void set(E e) {
+            if (lastChunk == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            lastChunk.items[lastOff] = e;
+        }
+
+        public @Override void add(E e) {
+            checkForComodification();
+            if (c == null) {
+                addLast(e);
+                c = head;
+                off = 1;
+            } else {
+                Chunk d = insert(c, off, e);
+                if (d != c) {
+                    c = d;
+                    off -= HALF;
+                }
+                off++;
+            }
+            index++;
+            lastChunk = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Glass-box tests for UnrolledList.  Since this is an inner
+     * class, it has access to UnrolledList's private types, fields, and methods.
+     */
+    public static class Tests {
+
+        /**
+         * Asserts that list satisfies its invariants: the chunks are linked
+         * both ways from head to tail, each holds 1..CHUNK elements with null
+         * after them, two adjacent chunks hold more than HALF elements, and
+         * size is the total.
+         */
+        private static void assertInvariants(UnrolledList<?> list) {
+            int total = 0;
+            UnrolledList<?>.Chunk prev = null;
+            for (UnrolledList<?>.Chunk c = list.head; c != null; c = c.succ) {
+                assertEquals(prev, c.pred);
+                assertTrue(c.count >= 1 && c.count <= CHUNK, "chunk count " + c.count);
+                for (int i = c.count; i < CHUNK; i++)
+                    assertNull(c.items[i]);
+                if (prev != null)
+                    assertTrue(prev.count + c.count > HALF, "adjacent chunks underfull");
+                total += c.count;
+                prev = c;
+            }
+            assertEquals(prev, list.tail);
+            assertEquals(total, list.size);
+        }
+
+        @Test
+        public void testDeque() {
+            UnrolledList<Integer> list = new UnrolledList<Integer>();
+            assertNull(list.peekFirst());
+            assertNull(list.pollLast());
+            assertThrows(NoSuchElementException.class, () -> list.removeFirst());
+            assertThrows(NoSuchElementException.class, () -> list.getLast());
+
+            // grow at both ends past several chunks
+            for (int i = 0; i < 5 * CHUNK; i++) {
+                list.addLast(i);
+                list.addFirst(-1 - i);
+            }
+            assertInvariants(list);
+            assertEquals(10 * CHUNK, list.size());
+            assertEquals(-5 * CHUNK, (int) list.getFirst());
+            assertEquals(5 * CHUNK - 1, (int) list.getLast());
+            for (int i = 0; i < list.size(); i++)
+                assertEquals(i - 5 * CHUNK, (int) list.get(i));
+
+            // shrink from both ends
+            for (int i = 5 * CHUNK - 1; i >= 0; i--) {
+                assertEquals(i, (int) list.pollLast());
+                assertEquals(-1 - i, (int) list.pop());
+                if (i % 17 == 0)
+                    assertInvariants(list);
+            }
+            assertEquals("[]", list.toString());
+            assertEquals(null, list.head);
+            assertInvariants(list);
+
+            list.push(2);
+            list.offer(3);
+            list.offerFirst(1);
+            assertEquals("[1, 2, 3]", list.toString());
+            assertEquals(3, (int) list.descendingIterator().next());
+            assertEquals(1, (int) list.remove());
+            assertEquals(2, (int) list.element());
+
+            System.out.println("deque method tests passed!");
+        }
+
+        /** Compare random operations on UnrolledList with ArrayList and ArrayDeque. */
+        @Test
+        public void testRandomOperations() {
+            Random r = new Random(2110);
+            UnrolledList<Integer> list = new UnrolledList<Integer>();
+            List<Integer> expected = new ArrayList<Integer>();
+            for (int step = 0; step < 40000; step++) {
+                int k = r.nextInt(10);
+                int v = r.nextInt(1000);
+                // insert more than remove while small, so chunks split and merge
+                boolean grow = expected.size() < 2000 ? k < 6 : k < 4;
+                if (grow) {
+                    int i = r.nextInt(expected.size() + 1);
+                    list.add(i, v);
+                    expected.add(i, v);
+                } else if (!expected.isEmpty() && k < 8) {
+                    int i = r.nextInt(expected.size());
+                    assertEquals(expected.remove(i), list.remove(i));
+                } else if (!expected.isEmpty()) {
+                    int i = r.nextInt(expected.size());
+                    assertEquals(expected.set(i, v), list.set(i, v));
+                }
+                if (step % 1000 == 0) {
+                    assertInvariants(list);
+                    assertEquals(expected, list);
+                }
+            }
+            assertInvariants(list);
+            assertEquals(expected, list);
+            assertEquals(expected.hashCode(), list.hashCode());
+
+            // the same through bulk operations, which use the cursor
+            list.removeIf(v -> v % 3 == 0);
+            expected.removeIf(v -> v % 3 == 0);
+            assertInvariants(list);
+            assertEquals(expected, list);
+            assertEquals(expected.indexOf(500), list.indexOf(500));
+            assertEquals(expected.lastIndexOf(500), list.lastIndexOf(500));
+            assertEquals(expected.subList(10, 90), list.subList(10, 90));
+            Deque<Integer> deque = new ArrayDeque<Integer>(expected);
+            assertEquals(deque.removeLastOccurrence(7), list.removeLastOccurrence(7));
+            assertEquals(new ArrayList<Integer>(deque), list);
+            list.clear();
+            assertInvariants(list);
+
+            System.out.println("random operation tests passed!");
+        }
+
+        @Test
+        public void testListIterator() {
+            UnrolledList<Integer> list = new UnrolledList<Integer>();
+            List<Integer> expected = new ArrayList<Integer>();
+            ListIterator<Integer> it = list.listIterator();
+            ListIterator<Integer> ex = expected.listIterator();
+            for (int i = 0; i < 3 * CHUNK; i++) {
+                it.add(i);
+                ex.add(i);
+            }
+            assertInvariants(list);
+            assertEquals(expected, list);
+
+            // walk back, adding and removing, then forward
+            Random r = new Random(5);
+            while (ex.hasPrevious()) {
+                assertEquals(ex.previous(), it.previous());
+                int k = r.nextInt(3);
+                if (k == 0) {
+                    it.remove();
+                    ex.remove();
+                } else if (k == 1) {
+                    it.add(-1);
+                    ex.add(-1);
+                    assertEquals(ex.previous(), it.previous());
+                } else {
+                    it.set(-2);
+                    ex.set(-2);
+                }
+                assertEquals(ex.nextIndex(), it.nextIndex());
+            }
+            assertInvariants(list);
+            assertEquals(expected, list);
+            while (ex.hasNext()) {
+                assertEquals(ex.next(), it.next());
+                if (r.nextBoolean()) {
+                    it.remove();
+                    ex.remove();
+                } else {
+                    it.add(-3);
+                    ex.add(-3);
+                }
+            }
+            assertInvariants(list);
+            assertEquals(expected, list);
+
+            assertThrows(IllegalStateException.class, () -> list.listIterator().set(0));
+            Iterator<Integer> stale = list.iterator();
+            list.add(0);
+            assertThrows(ConcurrentModificationException.class, () -> stale.next());
+            assertThrows(IndexOutOfBoundsException.class, () -> list.listIterator(list.size() + 1));
+
+            System.out.println("listIterator tests passed!");
+        }
+    }
+}
@@ -5,6 +5,8 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.NoSuchElementException;
 
+import a4New.HeapMetrics;
+
 /**
  * An instance is a max-heap of distinct values of type E 
  * with priorities of type P (Integer or Double). 
@@ -17,6 +19,8 @@ public class Heap<E,P> implements PriorityQueue<E, P>{
 	private ArrayList<P> priority=new ArrayList<P>();
 	private Comparator<P> c=null;
 	private HashMap<E, Integer> hashMap= new HashMap<E, Integer>();
+	//the counters this heap updates, or null if it counts nothing.
+	private HeapMetrics metrics=null;
 	
 	/**
 	 * Constructor: an empty heap with a comparator
@@ -26,6 +30,21 @@ public class Heap<E,P> implements PriorityQueue<E, P>{
 		this.c=c;
 	}
 	
+	/**
+	 * Make this heap count its work in metrics from now on,
+	 * or count nothing if metrics is null.
+	 * */
+	public void setMetrics(HeapMetrics metrics) {
+		this.metrics=metrics;
+	}
+	
+	/**
+	 * Returns the counters this heap updates, or null if it counts nothing.
+	 * */
+	public HeapMetrics metrics() {
+		return metrics;
+	}
+	
 	/**
 	 * Returns the comparator used to order the priorities 
 	 * of this heap
@@ -60,6 +79,8 @@ public class Heap<E,P> implements PriorityQueue<E, P>{
 		hashMap.remove(data.get(size()-1),size()-1);
 		priority.remove(size()-1);
 		data.remove(size()-1);
+		if(metrics!=null)
+			metrics.polled();
 		moveDown(0);
 		return returnValue;
 		
@@ -92,6 +113,8 @@ public class Heap<E,P> implements PriorityQueue<E, P>{
 		data.add(e);
 		priority.add(p);
 		hashMap.put(e,size()-1);
+		if(metrics!=null)
+			metrics.added(size());
 		moveUp(size()-1);
 	}
 
@@ -106,6 +129,8 @@ public class Heap<E,P> implements PriorityQueue<E, P>{
 		if(size()==0)
 			throw new NoSuchElementException();
 		priority.set(hashMap.get(e), p);
+		if(metrics!=null)
+			metrics.priorityChanged();
 		moveUp(hashMap.get(e));
 		moveDown(hashMap.get(e));
 	}
@@ -135,19 +160,32 @@ public class Heap<E,P> implements PriorityQueue<E, P>{
 	}
 	
 	private void moveDown(int i) {
+		int start=i;
 		int largerOne=0;
-		while(larger(i)!=-1 && c.compare(priority.get(i),priority.get(larger(i)) )<0) {
+		while(larger(i)!=-1 && compare(priority.get(i),priority.get(larger(i)) )<0) {
 			largerOne=larger(i);
 			swap(i, largerOne);
 			i=largerOne;
 		}
+		if(metrics!=null)
+			metrics.sifted(start, i);
 	}
 	
 	private void moveUp(int i) {
-		while(i>=0 && c.compare(priority.get(i), priority.get(parent(i)))>0) {
+		int start=i;
+		while(i>=0 && compare(priority.get(i), priority.get(parent(i)))>0) {
 			swap(i,parent(i));
 			i=parent(i);
 		}
+		if(metrics!=null)
+			metrics.sifted(start, i);
+	}
+	
+	/** compare two priorities with c, counting the comparison.*/
+	private int compare(P p, P q) {
+		if(metrics!=null)
+			metrics.compared();
+		return c.compare(p, q);
 	}
 	
 	private int larger(int i) {
@@ -157,7 +195,7 @@ public class Heap<E,P> implements PriorityQueue<E, P>{
 			return right(i);
 		if(right(i)>=size())
 			return left(i);
-		if(c.compare(priority.get(left(i)), priority.get(right(i)))>=0){
+		if(compare(priority.get(left(i)), priority.get(right(i)))>=0){
 			return left(i);
 		}else {
 			return right(i);
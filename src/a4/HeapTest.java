@@ -6,6 +6,8 @@ import java.util.Comparator;
 
 import org.junit.jupiter.api.Test;
 
+import a4New.HeapMetrics;
+
 class HeapTest {
 	
 	public class myC implements Comparator<Integer>{
@@ -42,4 +44,26 @@ class HeapTest {
 		
 	}
 
+	@Test
+	void testMetrics() {
+		Heap<String, Integer> testHeap= new Heap<String, Integer>(new myC());
+		HeapMetrics m= new HeapMetrics();
+		testHeap.setMetrics(m);
+		//each add moves to the root, up its whole depth.
+		for(int i=1;i<=7;i++)
+			testHeap.add("Hello"+i, i);
+		assertEquals(7, m.adds());
+		assertEquals(7, m.peakSize());
+		assertEquals(10, m.swaps());
+		assertTrue(m.comparisons()>=10);
+		assertEquals(1, m.siftHistogram()[0]);
+		assertEquals(2, m.siftHistogram()[1]);
+		assertEquals(4, m.siftHistogram()[2]);
+		testHeap.changePriority("Hello7", 0);
+		assertEquals("Hello6", testHeap.poll());
+		assertEquals(1, m.priorityChanges());
+		assertEquals(1, m.polls());
+		System.out.println(m.report());
+	}
+
 }
@@ -0,0 +1,163 @@
+package a4New;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An instance is a thread-safe priority queue of distinct elements of type E
+ * with priorities of type P: poll() removes the largest element according to
+ * comparator(). Any number of threads may add, poll and change priorities at
+ * once, and none of them takes a lock on the whole queue.
+ *
+ * Entries (element, priority) are kept in a ConcurrentSkipListSet in order of
+ * priority, and each element's current entry in a ConcurrentHashMap. Every
+ * operation on an element runs atomically in that element's map entry, so
+ * operations on one element are linearizable: an element is never added
+ * twice, lost, or polled twice, even while its priority changes. poll removes
+ * the first entry of the skip list, so it returns an element whose priority
+ * was largest when it was removed; an entry whose priority changed meanwhile
+ * is skipped. When no operation is in progress the queue is exactly a heap;
+ * size(), contains and getPriority reflect operations that have returned.
+ */
+public class ConcurrentHeap<E,P> implements PriorityQueue<E,P> {
+
+	/** An element with a priority. seq breaks ties, so entries are distinct. */
+	private static class Entry<E,P> {
+		private final E element;
+		private final P priority;
+		private final long seq;
+
+		private Entry(E element, P priority, long seq) {
+			this.element= element;
+			this.priority= priority;
+			this.seq= seq;
+		}
+	}
+
+	private final Comparator<? super P> c;
+	private final AtomicLong seq= new AtomicLong();
+
+	/** the entries, largest priority first, including stale entries of
+	 * elements whose priority has changed, until they are removed */
+	private final ConcurrentSkipListSet<Entry<E,P>> entries;
+
+	/** the current entry of each element in this queue */
+	private final ConcurrentHashMap<E, Entry<E,P>> index= new ConcurrentHashMap<E, Entry<E,P>>();
+
+	/**
+	 * Constructor: an empty queue ordered by c
+	 * @param c the comparator for the priorities of this queue
+	 */
+	public ConcurrentHeap(Comparator<? super P> c) {
+		this.c= c;
+		entries= new ConcurrentSkipListSet<Entry<E,P>>((a, b) -> {
+			int k= c.compare(b.priority, a.priority);
+			return k != 0 ? k : Long.compare(a.seq, b.seq);
+		});
+	}
+
+	@Override
+	public Comparator<? super P> comparator() {
+		return c;
+	}
+
+	@Override
+	public int size() {
+		return index.size();
+	}
+
+	/** Return true iff this queue contains no elements. */
+	public boolean isEmpty() {
+		return index.isEmpty();
+	}
+
+	@Override
+	public E poll() throws NoSuchElementException {
+		while (true) {
+			Entry<E,P> top= entries.pollFirst();
+			if (top == null)
+				throw new NoSuchElementException();
+			// fails iff top is stale: its element's priority has changed
+			if (index.remove(top.element, top))
+				return top.element;
+		}
+	}
+
+	@Override
+	public E peek() throws NoSuchElementException {
+		for (Entry<E,P> top : entries) {
+			if (index.get(top.element) == top)
+				return top.element;
+		}
+		throw new NoSuchElementException();
+	}
+
+	@Override
+	public void add(E e, P p) throws IllegalArgumentException {
+		index.compute(e, (k, old) -> {
+			if (old != null)
+				throw new IllegalArgumentException();
+			Entry<E,P> n= new Entry<E,P>(e, p, seq.getAndIncrement());
+			entries.add(n);
+			return n;
+		});
+	}
+
+	@Override
+	public void changePriority(E e, P p) throws NoSuchElementException {
+		index.compute(e, (k, old) -> {
+			if (old == null)
+				throw new NoSuchElementException();
+			Entry<E,P> n= new Entry<E,P>(e, p, seq.getAndIncrement());
+			entries.add(n);
+			entries.remove(old);
+			return n;
+		});
+	}
+
+	/**
+	 * Remove the max largest elements of this (all of them if there are fewer)
+	 * and add them to out, largest first. Return the number removed. Elements
+	 * added by other threads meanwhile may be drained too.
+	 */
+	@Override
+	public int drainTo(Collection<? super E> out, int max) {
+		int k= 0;
+		try {
+			while (k < max) {
+				out.add(poll());
+				k++;
+			}
+		} catch (NoSuchElementException e) {
+			// emptied, perhaps by another thread
+		}
+		return k;
+	}
+
+	/** Return true iff e is in this queue. */
+	@Override
+	public boolean contains(E e) {
+		return index.containsKey(e);
+	}
+
+	/**
+	 * Return the priority of e.
+	 * @throws NoSuchElementException if this queue does not contain e.
+	 */
+	public P getPriority(E e) throws NoSuchElementException {
+		Entry<E,P> n= index.get(e);
+		if (n == null)
+			throw new NoSuchElementException();
+		return n.priority;
+	}
+
+	/** Same as getPriority(e). */
+	@Override
+	public P priorityOf(E e) throws NoSuchElementException {
+		return getPriority(e);
+	}
+}
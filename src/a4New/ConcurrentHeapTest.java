@@ -0,0 +1,170 @@
+package a4New;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentHeapTest {
+	private static final int THREADS= 4;
+
+	@Test
+	void testSameAsHeapWhenSequential() {
+		Random r= new Random(2110);
+		ConcurrentHeap<Integer,Integer> q= new ConcurrentHeap<Integer,Integer>(Integer::compare);
+		Heap<Integer,Integer> h= new Heap<Integer,Integer>(Integer::compare);
+		for (int k= 0; k < 20000; k++) {
+			Integer e= r.nextInt(300);
+			// distinct priorities, so the poll order is determined
+			int p= r.nextInt(1000) * 20000 + k;
+			int op= r.nextInt(3);
+			if (op == 0 && !h.contain(e)) {
+				q.add(e, p);
+				h.add(e, p);
+			} else if (op == 1 && h.contain(e)) {
+				q.changePriority(e, p);
+				h.changePriority(e, p);
+			} else if (op == 2 && h.size() > 0) {
+				assertEquals(h.peek(), q.peek());
+				assertEquals(h.poll(), q.poll());
+			}
+			assertEquals(h.size(), q.size());
+			assertEquals(h.contain(e), q.contains(e));
+		}
+		assertThrows(IllegalArgumentException.class, () -> {
+			q.add(1, 0);
+			q.add(1, 0);
+		});
+		while (q.size() > 0)
+			q.poll();
+		assertThrows(NoSuchElementException.class, () -> q.poll());
+		assertThrows(NoSuchElementException.class, () -> q.changePriority(1, 0));
+	}
+
+	@Test
+	void testProducersAndConsumers() throws InterruptedException {
+		int perThread= 20000;
+		ConcurrentHeap<Integer,Integer> q= new ConcurrentHeap<Integer,Integer>(Integer::compare);
+		AtomicIntegerArray polled= new AtomicIntegerArray(THREADS * perThread);
+		AtomicInteger remaining= new AtomicInteger(THREADS * perThread);
+		List<Runnable> tasks= new ArrayList<Runnable>();
+		for (int t= 0; t < THREADS; t++) {
+			int first= t * perThread;
+			tasks.add(() -> {
+				Random r= new Random(first);
+				for (int e= first; e < first + perThread; e++)
+					q.add(e, r.nextInt(1000));
+			});
+			tasks.add(() -> {
+				while (remaining.get() > 0) {
+					try {
+						polled.incrementAndGet(q.poll());
+						remaining.decrementAndGet();
+					} catch (NoSuchElementException e) {
+						Thread.yield();
+					}
+				}
+			});
+		}
+		runAll(tasks);
+		for (int e= 0; e < polled.length(); e++)
+			assertEquals(1, polled.get(e), "times element " + e + " was polled");
+		assertEquals(0, q.size());
+	}
+
+	@Test
+	void testChangePriorityWhilePolling() throws InterruptedException {
+		int n= 50000;
+		ConcurrentHeap<Integer,Integer> q= new ConcurrentHeap<Integer,Integer>(Integer::compare);
+		for (int e= 0; e < n; e++)
+			q.add(e, e);
+		AtomicIntegerArray polled= new AtomicIntegerArray(n);
+		List<Runnable> tasks= new ArrayList<Runnable>();
+		for (int t= 0; t < THREADS; t++) {
+			int seed= t;
+			tasks.add(() -> {
+				Random r= new Random(seed);
+				for (int k= 0; k < n; k++) {
+					try {
+						q.changePriority(r.nextInt(n), r.nextInt(n));
+					} catch (NoSuchElementException e) {
+						// already polled
+					}
+				}
+			});
+			tasks.add(() -> {
+				while (true) {
+					try {
+						polled.incrementAndGet(q.poll());
+					} catch (NoSuchElementException e) {
+						return;
+					}
+				}
+			});
+		}
+		runAll(tasks);
+		while (q.size() > 0)
+			polled.incrementAndGet(q.poll());
+		for (int e= 0; e < n; e++)
+			assertEquals(1, polled.get(e), "times element " + e + " was polled");
+	}
+
+	@Test
+	void testEachPollerSeesDecreasingPriorities() throws InterruptedException {
+		int n= 50000;
+		ConcurrentHeap<Integer,Integer> q= new ConcurrentHeap<Integer,Integer>(Integer::compare);
+		for (int e= 0; e < n; e++)
+			q.add(e, (e * 7919) % n);
+		ConcurrentLinkedQueue<String> errors= new ConcurrentLinkedQueue<String>();
+		List<Runnable> tasks= new ArrayList<Runnable>();
+		for (int t= 0; t < THREADS; t++) {
+			tasks.add(() -> {
+				int last= Integer.MAX_VALUE;
+				while (true) {
+					int e;
+					try {
+						e= q.poll();
+					} catch (NoSuchElementException x) {
+						return;
+					}
+					int p= (e * 7919) % n;
+					if (p > last)
+						errors.add(p + " polled after " + last);
+					last= p;
+				}
+			});
+		}
+		runAll(tasks);
+		assertTrue(errors.isEmpty(), String.valueOf(errors.peek()));
+	}
+
+	/** Run each of tasks in its own thread, starting them together, and wait
+	 * for all of them to finish. */
+	private static void runAll(List<Runnable> tasks) throws InterruptedException {
+		CountDownLatch start= new CountDownLatch(1);
+		List<Thread> threads= new ArrayList<Thread>();
+		for (Runnable task : tasks) {
+			Thread t= new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				task.run();
+			});
+			t.start();
+			threads.add(t);
+		}
+		start.countDown();
+		for (Thread t : threads)
+			t.join();
+	}
+}
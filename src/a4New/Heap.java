@@ -1,30 +1,86 @@
 package a4New;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.NoSuchElementException;
+import java.util.function.Function;
 
-
+/**
+ * An instance is a binary max-heap of distinct elements of type E with
+ * priorities of type P, ordered by a comparator.
+ *
+ * The heap is a plain array, with priorities in a parallel array, and the
+ * position of every element is kept in a hash table, so add, poll and
+ * changePriority run in O(log n) time and contain and getPriority in O(1)
+ * expected time. Entries are moved by assignment into a hole, never by
+ * shifting the array.
+ */
 public class Heap<E,P> implements PriorityQueue<E,P> {
+	private static final int INITIAL_CAPACITY= 16;
+
+	private final Comparator<? super P> c;
+
+	/** heap-ordered elements in [0..size); priorities[i] is the priority of elements[i] */
+	private Object[] elements;
+	private Object[] priorities;
+	private int size;
+
+	/** invariant: index.get(elements[i]) == i for all i in [0..size) */
+	private final HashMap<E, Integer> index;
+
+	/** the counters this heap updates, or null if it counts nothing */
+	private HeapMetrics metrics;
 
-	private Comparator<? super P> c;
-	int size;
-	ArrayList<E> list;
-	HashMap<E, P> map;
-	
 	/**
 	 * constructor, build a empty heap
 	 * @param com the comparator of the heap
 	 */
-	public Heap(Comparator<? super P> com)
-	{
-		this.c=com;
-		size=0;
-		list=new ArrayList<E>();
-		map=new HashMap<E,P>();
-	}
-	
+	public Heap(Comparator<? super P> com) {
+		this(com, INITIAL_CAPACITY);
+	}
+
+	/** Constructor: an empty heap ordered by com with room for capacity entries */
+	private Heap(Comparator<? super P> com, int capacity) {
+		c= com;
+		elements= new Object[Math.max(1, capacity)];
+		priorities= new Object[Math.max(1, capacity)];
+		index= new HashMap<E, Integer>();
+	}
+
+	/**
+	 * Return a heap ordered by com holding the elements of es, each with
+	 * priority priority.apply(e). Builds the heap bottom-up (Floyd's method),
+	 * in O(n) time rather than the O(n log n) of n adds.
+	 *
+	 * @throws IllegalArgumentException if es contains two equal elements
+	 */
+	public static <E,P> Heap<E,P> heapify(Comparator<? super P> com,
+			Collection<? extends E> es, Function<? super E, ? extends P> priority) {
+		Heap<E,P> h= new Heap<E,P>(com, es.size());
+		for (E e : es) {
+			if (h.index.put(e, h.size) != null)
+				throw new IllegalArgumentException();
+			h.elements[h.size]= e;
+			h.priorities[h.size]= priority.apply(e);
+			h.size++;
+		}
+		h.rebuild();
+		return h;
+	}
+
+	/** Make this heap count its work in metrics from now on, or count
+	 * nothing if metrics is null. */
+	public void setMetrics(HeapMetrics metrics) {
+		this.metrics= metrics;
+	}
+
+	/** Return the counters this heap updates, or null if it counts nothing. */
+	public HeapMetrics metrics() {
+		return metrics;
+	}
+
 	@Override
 	public Comparator<? super P> comparator() {
 		return c;
@@ -35,224 +91,302 @@ public class Heap<E,P> implements PriorityQueue<E,P> {
 		return size;
 	}
 
+	/** Return true iff this heap contains no elements. Runs in O(1) time. */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Remove and return the largest element of this, according to comparator().
+	 * Uses Floyd's bottom-up method: the hole left at the root is moved down
+	 * to a leaf along larger children, one comparison per level, and the last
+	 * entry is put there and moved up, which is rarely far.
+	 */
 	@Override
 	public E poll() throws NoSuchElementException {
-		if(size==0)
+		if (size == 0)
 			throw new NoSuchElementException();
-		int x=0;
-		int i;
-		while(hasChildren(x))
-		{
-			i=findBiggestChildren(x);
-			swap(x,i);
-			x=i;
-		}
-		swap(x,size-1);
-		moveUp(x);
-		map.remove(list.get(size-1));
-		E e=list.remove(size-1);
+		E top= element(0);
+		index.remove(top);
 		size--;
-		return e;
-		
+		if (metrics != null)
+			metrics.polled();
+		if (size > 0) {
+			int hole= 0;
+			int half= size / 2;
+			while (hole < half) {
+				int child= largerChild(hole);
+				move(child, hole);
+				hole= child;
+			}
+			if (metrics != null)
+				metrics.sifted(0, hole);
+			move(size, hole);
+			siftUp(hole);
+		}
+		elements[size]= null;
+		priorities[size]= null;
+		return top;
 	}
 
 	@Override
 	public E peek() throws NoSuchElementException {
-		if(size==0)
+		if (size == 0)
 			throw new NoSuchElementException();
-		return list.get(0);
+		return element(0);
 	}
 
 	@Override
 	public void add(E e, P p) throws IllegalArgumentException {
-		if(map.containsKey(e))
-				throw new IllegalArgumentException();
-		
-		list.add(e);
+		if (index.containsKey(e))
+			throw new IllegalArgumentException();
+		if (size == elements.length) {
+			elements= Arrays.copyOf(elements, 2 * size);
+			priorities= Arrays.copyOf(priorities, 2 * size);
+		}
+		place(e, p, size);
 		size++;
-		map.put(e, p);
-		moveUp(size-1);
-		
+		if (metrics != null)
+			metrics.added(size);
+		siftUp(size - 1);
 	}
 
 	@Override
 	public void changePriority(E e, P p) throws NoSuchElementException {
-		for(int i=0;i<size;i++)
-		{
-			if(list.get(i).equals(e))
-			{
-				P prog=map.get(e);
-				map.replace(e, p);
-				if(c.compare(prog, p)>0)
-				{
-					moveDown(i);
-					return;
-				}
-				else
-				{
-					moveUp(i);
-					return;
-				}
+		Integer i= index.get(e);
+		if (i == null)
+			throw new NoSuchElementException();
+		P old= priority(i);
+		priorities[i]= p;
+		if (metrics != null)
+			metrics.priorityChanged();
+		if (compare(old, p) > 0)
+			siftDown(i);
+		else
+			siftUp(i);
+	}
+
+	/**
+	 * Move every element of other, with its priority, into this, leaving other
+	 * empty. If other is a Heap, its arrays are appended to this one's and,
+	 * unless other is small, the whole heap is rebuilt bottom-up, in O(n + m)
+	 * time; a small heap is added entry by entry, in O(m log(n + m)) time.
+	 * Other kinds of PriorityQueue are polled into this one by one.
+	 *
+	 * @throws IllegalArgumentException if other contains an element that is
+	 *                                  equal to one in this; both are then left
+	 *                                  unchanged
+	 */
+	@Override
+	public void meld(PriorityQueue<E,P> other) throws IllegalArgumentException {
+		if (!(other instanceof Heap)) {
+			PriorityQueue.super.meld(other);
+			return;
+		}
+		Heap<E,P> h= (Heap<E,P>) other;
+		if (h == this) {
+			if (size > 0)
+				throw new IllegalArgumentException();
+			return;
+		}
+		for (int i= 0; i < h.size; i++) {
+			if (index.putIfAbsent(h.element(i), size + i) != null) {
+				for (int j= 0; j < i; j++)
+					index.remove(h.element(j));
+				throw new IllegalArgumentException();
 			}
 		}
-		
-		throw new NoSuchElementException();
+		int total= size + h.size;
+		if (total > elements.length) {
+			elements= Arrays.copyOf(elements, Math.max(total, 2 * elements.length));
+			priorities= Arrays.copyOf(priorities, elements.length);
+		}
+		System.arraycopy(h.elements, 0, elements, size, h.size);
+		System.arraycopy(h.priorities, 0, priorities, size, h.size);
+		int first= size;
+		size= total;
+		// rebuilding costs about 2 total comparisons, adding about log total each
+		if (h.size > total / (32 - Integer.numberOfLeadingZeros(total)))
+			rebuild();
+		else {
+			for (int i= first; i < total; i++)
+				siftUp(i);
+		}
+		h.clear();
+	}
+
+	/** Remove every element from this heap. */
+	public void clear() {
+		Arrays.fill(elements, 0, size, null);
+		Arrays.fill(priorities, 0, size, null);
+		index.clear();
+		size= 0;
 	}
+
 	//////////////////Method I added for project5////////
-	public boolean contain(E e){
-		for(int i=0;i<size;i++) {
-			if(list.get(i).equals(e))
-				return true;
-		}
-		return false;
+	/** Same as contains(e). */
+	public boolean contain(E e) {
+		return contains(e);
+	}
+
+	/** Return true iff e is in this heap. Runs in O(1) expected time. */
+	@Override
+	public boolean contains(E e) {
+		return index.containsKey(e);
+	}
+
+	/**
+	 * Return the priority of e. Runs in O(1) expected time.
+	 * @throws NoSuchElementException if e is not in this heap.
+	 */
+	@Override
+	public P priorityOf(E e) throws NoSuchElementException {
+		Integer i= index.get(e);
+		if (i == null)
+			throw new NoSuchElementException();
+		return priority(i);
 	}
-	
-	public P getPriority(E e){
-		return map.get(e);
+
+	/** Return the priority of e, or null if e is not in this heap. */
+	public P getPriority(E e) {
+		Integer i= index.get(e);
+		return i == null ? null : priority(i);
 	}
+
 	//////////////Methods down below are all additional methods that might be useful/////////////
-	
+
 	/**
-	 * merge two heaps together
+	 * merge two heaps together, leaving h empty; same as meld(h)
 	 * @param h the another heap to merge
 	 */
-	public void merge(Heap<E,P> h)
-	{
-		for(int i=0;i<h.size();i++)
-		{
-			add(h.get(i),h.getPriority(i));
-		}
-		
-		this.size+=h.size();
+	public void merge(Heap<E,P> h) {
+		meld(h);
 	}
-	
+
 	/**
-	 * 
 	 * change the element of priority p to e
-	 * 
+	 *
 	 * @throws NoSuchElementException
 	 */
-	public void changeElement(P p,E e) throws NoSuchElementException
-	{
-		for(int i=0;i<size;i++)
-		{
-			if(getPriority(i).equals(p))
-			{
-				list.remove(i);
-				list.add(i,e);
+	public void changeElement(P p, E e) throws NoSuchElementException {
+		for (int i= 0; i < size; i++) {
+			if (priority(i).equals(p)) {
+				index.remove(element(i));
+				place(e, p, i);
 				return;
 			}
 		}
-		
 		throw new NoSuchElementException();
 	}
-	
+
 	/**
 	 * return in form of "[Element: e1, Priority: p1; Element: e2, Priority: p2...]"
 	 */
-	public String toString()
-	{
-		String s="[";
-		for(int i=0;i<size;i++)
-		{
-			s+="Element: "+get(i)+", Priority: "+getPriority(i);
-			if(i!=size-1)
-				s+="; ";
+	public String toString() {
+		StringBuilder s= new StringBuilder("[");
+		for (int i= 0; i < size; i++) {
+			s.append("Element: ").append(get(i)).append(", Priority: ").append(getPriority(i));
+			if (i != size - 1)
+				s.append("; ");
 		}
-		s+="]";
-		return s;
+		return s.append("]").toString();
+	}
+
+	public E get(int i) {
+		return element(i);
+	}
+
+	public P getPriority(int i) {
+		return priority(i);
 	}
 
 	//////////////////// Methods below are all helper methods/////////////////////
-	
-	
+
+	@SuppressWarnings("unchecked")
+	private E element(int i) {
+		return (E) elements[i];
+	}
+
+	@SuppressWarnings("unchecked")
+	private P priority(int i) {
+		return (P) priorities[i];
+	}
+
 	/**
-	 *this is a helper method
-	 * @param i the index of a element
+	 * @param i the index of a element with at least one child
 	 * @return the index of the bigger children of a element
 	 * return the right children if two are equal
 	 */
-	private int findBiggestChildren(int i)
-	{
-		if(size-1==i*2+1)
-			return i*2+1;
-		if(c.compare(map.get(list.get(i*2+1)) , map.get(list.get(i*2+2)))>0)
-			return i*2+1;
-		else
-			return i*2+2;
+	private int largerChild(int i) {
+		int left= 2 * i + 1;
+		if (left + 1 == size || compare(priority(left), priority(left + 1)) > 0)
+			return left;
+		return left + 1;
 	}
-	
-	/**
-	 * swap two element in the arraylist
-	 * 
-	 * @param a the index of a swaping element
-	 * @param b the index of another swaping element
-	 * 
-	 */
-	private void swap(int a, int b)
-	{
-		E ea=list.get(a);
-		E eb=list.get(b);
-		list.remove(a);
-		list.add(a,eb);
-		list.remove(b);
-		list.add(b, ea);
-	}
-	
-	/**
-	 * 
-	 * @param i the index to be checked
-	 * @return true if i has at least one child, false otherwise
-	 */
-	private boolean hasChildren(int i)
-	{
-		return (list.size()-1>=i*2+1);
+
+	/** Return c.compare(p, q), counting the comparison. */
+	private int compare(P p, P q) {
+		if (metrics != null)
+			metrics.compared();
+		return c.compare(p, q);
 	}
-	
-	/**
-	 * 
-	 * @param i the index to be checked
-	 * @return true if element of i is bigger than its parent
-	 */
-	private boolean isBiggerThanParent(int i)
-	{
-		if(i==0)
-			return false;
-		return c.compare(map.get(list.get(i)),map.get(list.get((i-1)/2)))>0;
+
+	/** Move the entry at index from to index to, updating the index table. */
+	private void move(int from, int to) {
+		place(elements[from], priorities[from], to);
+	}
+
+	/** Store element e with priority p at index i and record its position. */
+	@SuppressWarnings("unchecked")
+	private void place(Object e, Object p, int i) {
+		elements[i]= e;
+		priorities[i]= p;
+		index.put((E) e, i);
 	}
-	
+
+	/** Restore heap order over the whole array, bottom-up (Floyd's method). */
+	private void rebuild() {
+		for (int i= size / 2 - 1; i >= 0; i--)
+			siftDown(i);
+	}
+
 	/**
-	 * 
-	 * @param i the index to be moved
-	 * 
-	 * move the element of i up until it reach a right place (which its parent is bigger than it)
+	 * move the element of i up until it reach a right place (which its parent
+	 * is at least as big as it)
 	 */
-	private void moveUp(int i)
-	{
-		while(i>0&&isBiggerThanParent(i))
-		{
-			swap(i,(i-1)/2);
-			i=(i-1/2);
+	private void siftUp(int i) {
+		Object e= elements[i];
+		P p= priority(i);
+		int start= i;
+		while (i > 0) {
+			int parent= (i - 1) / 2;
+			if (compare(priority(parent), p) >= 0)
+				break;
+			move(parent, i);
+			i= parent;
 		}
+		if (i != start)
+			place(e, p, i);
+		if (metrics != null)
+			metrics.sifted(start, i);
 	}
-	
-	private void moveDown(int i)
-	{
-		while(hasChildren(i) && c.compare(map.get(list.get(findBiggestChildren(i))),map.get(list.get(i)))>0)
-		 {
-			int temp=findBiggestChildren(i);
-			swap(i,temp);
-			i=temp;
-		 }
-	}
-	
-	public E get(int i)
-	{
-		return list.get(i);
-	}
-	
-	public P getPriority(int i)
-	{
-		return map.get(get(i));
+
+	/** move the element of i down until neither child is bigger than it */
+	private void siftDown(int i) {
+		Object e= elements[i];
+		P p= priority(i);
+		int start= i;
+		int half= size / 2;
+		while (i < half) {
+			int child= largerChild(i);
+			if (compare(priority(child), p) <= 0)
+				break;
+			move(child, i);
+			i= child;
+		}
+		if (i != start)
+			place(e, p, i);
+		if (metrics != null)
+			metrics.sifted(start, i);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package a4New;
+
+import java.util.Arrays;
+
+/**
+ * Counters for the work a heap does: comparisons of priorities, swaps (an
+ * entry moving one level), the number of levels each sift moves an entry,
+ * adds, polls, priority changes, and the largest size reached.
+ *
+ * A heap counts only while a HeapMetrics is attached with setMetrics; with
+ * none attached (the default) each counting point costs one null check. One
+ * HeapMetrics may be attached to several heaps in turn to total their work,
+ * but it is not thread-safe.
+ */
+public class HeapMetrics {
+	/** Sifts of this many levels or more share the last histogram bucket. */
+	public static final int MAX_DEPTH= 32;
+
+	private long comparisons;
+	private long swaps;
+	private long adds;
+	private long polls;
+	private long priorityChanges;
+	private int peakSize;
+	/** sifts[d] is the number of sifts that moved an entry d levels */
+	private final long[] sifts= new long[MAX_DEPTH + 1];
+
+	/** Record one comparison of priorities. */
+	public void compared() {
+		comparisons++;
+	}
+
+	/** Record a sift that moved an entry from index from to index to of a
+	 * binary heap stored in an array (children of i at 2i+1 and 2i+2): one
+	 * swap per level moved. */
+	public void sifted(int from, int to) {
+		int levels= Math.abs(depth(from) - depth(to));
+		swaps+= levels;
+		sifts[Math.min(levels, MAX_DEPTH)]++;
+	}
+
+	/** Record an add that left the heap with size entries. */
+	public void added(int size) {
+		adds++;
+		peakSize= Math.max(peakSize, size);
+	}
+
+	/** Record a poll. */
+	public void polled() {
+		polls++;
+	}
+
+	/** Record a call of changePriority. */
+	public void priorityChanged() {
+		priorityChanges++;
+	}
+
+	/** Return the depth of index i in an array heap: 0 for the root. */
+	private static int depth(int i) {
+		return 31 - Integer.numberOfLeadingZeros(i + 1);
+	}
+
+	/** Return the number of comparisons of priorities. */
+	public long comparisons() {
+		return comparisons;
+	}
+
+	/** Return the number of swaps: levels moved by entries during sifts. */
+	public long swaps() {
+		return swaps;
+	}
+
+	/** Return the number of adds. */
+	public long adds() {
+		return adds;
+	}
+
+	/** Return the number of polls. */
+	public long polls() {
+		return polls;
+	}
+
+	/** Return the number of calls of changePriority. */
+	public long priorityChanges() {
+		return priorityChanges;
+	}
+
+	/** Return the largest size a heap reached. */
+	public int peakSize() {
+		return peakSize;
+	}
+
+	/** Return the sift depth histogram: element d is the number of sifts that
+	 * moved an entry d levels (MAX_DEPTH or more, for the last element). */
+	public long[] siftHistogram() {
+		return sifts.clone();
+	}
+
+	/** Set every counter back to 0. */
+	public void reset() {
+		comparisons= 0;
+		swaps= 0;
+		adds= 0;
+		polls= 0;
+		priorityChanges= 0;
+		peakSize= 0;
+		Arrays.fill(sifts, 0);
+	}
+
+	/** Return a few lines that report every counter, with the histogram cut
+	 * after its last nonzero bucket. */
+	public String report() {
+		int last= sifts.length - 1;
+		while (last > 0 && sifts[last] == 0)
+			last--;
+		return "adds " + adds + ", polls " + polls + ", priority changes " + priorityChanges +
+			", peak size " + peakSize + "\n" +
+			"comparisons " + comparisons + ", swaps " + swaps + "\n" +
+			"sift depths " + Arrays.toString(Arrays.copyOf(sifts, last + 1));
+	}
+
+	@Override
+	public String toString() {
+		return report();
+	}
+}
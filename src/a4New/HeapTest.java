@@ -3,7 +3,14 @@ package a4New;
 import static org.junit.Assert.assertEquals;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,7 +42,7 @@ class HeapTest {
 		assertEquals("[Element: 3, Priority: 3; Element: 1, Priority: 1; Element: 0, Priority: 0]"
 				,(h.toString()));
 		
-		assertEquals(3,h.poll());
+		assertEquals(3,(int)h.poll());
 		assertEquals("[Element: 1, Priority: 1; Element: 0, Priority: 0]",(h.toString()));
 		
 		h.add(3, 3);
@@ -44,4 +51,133 @@ class HeapTest {
 				,(h.toString()));
 	}
 
+	@Test
+	void testRandomPollOrder() {
+		Random r= new Random(2110);
+		Heap<Integer,Integer> h= new Heap<Integer,Integer>(Integer::compare);
+		Map<Integer,Integer> expected= new HashMap<Integer,Integer>();
+		for (int k= 0; k < 20000; k++) {
+			int e= r.nextInt(500);
+			int p= r.nextInt(1000);
+			int op= r.nextInt(3);
+			if (op == 0 && !expected.containsKey(e)) {
+				h.add(e, p);
+				expected.put(e, p);
+			} else if (op == 1 && expected.containsKey(e)) {
+				h.changePriority(e, p);
+				expected.put(e, p);
+			} else if (op == 2 && h.size() > 0) {
+				int max= Collections.max(expected.values());
+				assertEquals(max, (int) expected.remove(h.poll()));
+			}
+			assertEquals(expected.size(), h.size());
+			assertEquals(expected.containsKey(e), h.contain(e));
+		}
+	}
+
+	@Test
+	void testHeapify() {
+		List<Integer> es= new ArrayList<Integer>();
+		for (int k= 0; k < 1000; k++)
+			es.add(k * 7919 % 1000);
+		Heap<Integer,Integer> h= Heap.heapify(Integer::compare, es, e -> e % 100);
+		assertEquals(1000, h.size());
+		assertEquals(99, (int) h.getPriority(h.peek()));
+		int last= Integer.MAX_VALUE;
+		while (h.size() > 0) {
+			int p= h.getPriority(h.peek());
+			assertTrue(p <= last);
+			h.poll();
+			last= p;
+		}
+		es.add(es.get(0));
+		assertThrows(IllegalArgumentException.class, () -> Heap.heapify(Integer::compare, es, e -> e));
+	}
+
+	@Test
+	void testMeldAndDrainTo() {
+		for (int m : new int[] {3, 500}) {
+			Heap<Integer,Integer> h= new Heap<Integer,Integer>(Integer::compare);
+			Heap<Integer,Integer> other= new Heap<Integer,Integer>(Integer::compare);
+			for (int k= 0; k < 1000; k++)
+				h.add(k, k * 7919 % 1000);
+			for (int k= 1000; k < 1000 + m; k++)
+				other.add(k, k * 7919 % 1000);
+			h.meld(other);
+			assertEquals(1000 + m, h.size());
+			assertEquals(0, other.size());
+			List<Integer> top= new ArrayList<Integer>();
+			assertEquals(10, h.drainTo(top, 10));
+			assertEquals(10, top.size());
+			int last= Integer.MAX_VALUE;
+			for (int e : top) {
+				assertTrue(e * 7919 % 1000 <= last);
+				last= e * 7919 % 1000;
+			}
+			while (h.size() > 0) {
+				int p= h.getPriority(h.peek());
+				assertTrue(p <= last);
+				h.poll();
+				last= p;
+			}
+			assertEquals(0, h.drainTo(top, 10));
+		}
+
+		Heap<Integer,Integer> h= new Heap<Integer,Integer>(Integer::compare);
+		Heap<Integer,Integer> other= new Heap<Integer,Integer>(Integer::compare);
+		h.add(1, 1);
+		other.add(2, 2);
+		other.add(1, 5);
+		assertThrows(IllegalArgumentException.class, () -> h.meld(other));
+		assertEquals(1, h.size());
+		assertEquals(2, other.size());
+		// any other kind of queue ordered the same way is polled into h
+		PriorityQueue<Integer,Integer> p= PairingHeap.maxHeap();
+		p.add(3, 7);
+		p.add(4, 0);
+		h.meld(p);
+		assertEquals(3, h.size());
+		assertEquals(0, p.size());
+		assertEquals(3, (int) h.peek());
+		assertEquals(0, (int) h.priorityOf(4));
+		p.add(1, 2);
+		p.add(5, 9);
+		assertThrows(IllegalArgumentException.class, () -> h.meld(p));
+		assertEquals(3, h.size());
+		assertEquals(2, p.size());
+		assertEquals(2, (int) p.priorityOf(1));
+		assertEquals(9, (int) p.priorityOf(5));
+
+		Heap<Integer,Integer> empty= new Heap<Integer,Integer>(Integer::compare);
+		h.merge(empty);
+		assertEquals(3, h.size());
+		empty.merge(h);
+		assertEquals(3, empty.size());
+		assertEquals(0, h.size());
+	}
+
+	@Test
+	void testMetrics() {
+		Heap<Integer,Integer> h= new Heap<Integer,Integer>(Integer::compare);
+		HeapMetrics m= new HeapMetrics();
+		h.setMetrics(m);
+		// each add moves to the root, up its whole depth
+		for (int k= 1; k <= 7; k++)
+			h.add(k, k);
+		assertEquals(7, m.adds());
+		assertEquals(7, m.peakSize());
+		assertEquals(10, m.swaps());
+		assertEquals(10, m.comparisons());
+		assertArrayEquals(new long[] {1, 2, 4}, Arrays.copyOf(m.siftHistogram(), 3));
+		h.changePriority(7, 0);
+		h.poll();
+		assertEquals(1, m.priorityChanges());
+		assertEquals(1, m.polls());
+		assertEquals(6, h.size());
+		m.reset();
+		h.setMetrics(null);
+		h.poll();
+		assertEquals(0, m.polls());
+		assertEquals(0, m.comparisons());
+	}
 }
@@ -0,0 +1,311 @@
+package a4New;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * An instance is a binary heap of distinct elements of type E with primitive
+ * int priorities. A min heap (new IntHeap()) has the element with the
+ * smallest priority at the root; this is the shape of the frontier in
+ * Dijkstra's algorithm. A max heap (IntHeap.maxHeap()) has the largest.
+ *
+ * Priorities are kept in an int[] parallel to the element array, and every
+ * element's position is kept in an open-addressed hash table of int slots,
+ * so contains and getPriority run in O(1) expected time and changePriority
+ * runs in O(log n) time. Nothing is boxed: once the arrays have grown to the
+ * largest size the heap reaches, add, poll and changePriority allocate
+ * nothing, and clear() keeps the arrays for reuse.
+ *
+ * As a PriorityQueue, comparator() orders priorities so that poll() still
+ * removes the largest element according to comparator(): in a min heap,
+ * smaller ints are "larger".
+ */
+public class IntHeap<E> implements IntPriorityQueue<E>, PriorityQueue<E, Integer> {
+	private static final int INITIAL_CAPACITY= 16;
+
+	/** Orders Integers in reverse, so the smallest int is the largest priority. */
+	private static final Comparator<Integer> MIN_FIRST= (p, q) -> Integer.compare(q, p);
+	private static final Comparator<Integer> MAX_FIRST= (p, q) -> Integer.compare(p, q);
+
+	/** true iff the smallest priority is at the root */
+	private final boolean min;
+
+	/** heap-ordered elements in [0..size); priorities[i] is the priority of
+	 * elements[i] and slots[i] is the slot of elements[i] in keys */
+	private Object[] elements;
+	private int[] priorities;
+	private int[] slots;
+	private int size;
+
+	/** The position table, with linear probing. Its length is a power of two
+	 * at least twice elements.length. Invariant: for each i in [0..size),
+	 * keys[slots[i]] == elements[i] and positions[slots[i]] == i. Every other
+	 * entry of keys is null. */
+	private Object[] keys;
+	private int[] positions;
+
+	/** the counters this heap updates, or null if it counts nothing */
+	private HeapMetrics metrics;
+
+	/** Constructor: an empty min heap */
+	public IntHeap() {
+		this(true);
+	}
+
+	/** Return an empty max heap: poll() removes the element with the largest
+	 * priority. */
+	public static <E> IntHeap<E> maxHeap() {
+		return new IntHeap<E>(false);
+	}
+
+	/** Constructor: an empty heap, a min heap iff min */
+	private IntHeap(boolean min) {
+		this.min= min;
+		elements= new Object[INITIAL_CAPACITY];
+		priorities= new int[INITIAL_CAPACITY];
+		slots= new int[INITIAL_CAPACITY];
+		keys= new Object[2 * INITIAL_CAPACITY];
+		positions= new int[2 * INITIAL_CAPACITY];
+	}
+
+	/** Make this heap count its work in metrics from now on, or count
+	 * nothing if metrics is null. */
+	public void setMetrics(HeapMetrics metrics) {
+		this.metrics= metrics;
+	}
+
+	/** Return the counters this heap updates, or null if it counts nothing. */
+	public HeapMetrics metrics() {
+		return metrics;
+	}
+
+	@Override
+	public boolean isMinQueue() {
+		return min;
+	}
+
+	@Override
+	public Comparator<? super Integer> comparator() {
+		return min ? MIN_FIRST : MAX_FIRST;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public E poll() throws NoSuchElementException {
+		if (size == 0)
+			throw new NoSuchElementException();
+		E top= element(0);
+		unlink(slots[0]);
+		size--;
+		if (metrics != null)
+			metrics.polled();
+		if (size > 0) {
+			place(elements[size], priorities[size], slots[size], 0);
+			siftDown(0);
+		}
+		elements[size]= null;
+		return top;
+	}
+
+	@Override
+	public E peek() throws NoSuchElementException {
+		if (size == 0)
+			throw new NoSuchElementException();
+		return element(0);
+	}
+
+	@Override
+	public int peekPriority() throws NoSuchElementException {
+		if (size == 0)
+			throw new NoSuchElementException();
+		return priorities[0];
+	}
+
+	@Override
+	public void add(E e, Integer p) throws IllegalArgumentException {
+		add(e, p.intValue());
+	}
+
+	@Override
+	public void add(E e, int p) throws IllegalArgumentException {
+		if (size == elements.length)
+			grow();
+		int s= find(e);
+		if (keys[s] != null)
+			throw new IllegalArgumentException();
+		keys[s]= e;
+		place(e, p, s, size);
+		size++;
+		if (metrics != null)
+			metrics.added(size);
+		siftUp(size - 1);
+	}
+
+	@Override
+	public void changePriority(E e, Integer p) throws NoSuchElementException {
+		changePriority(e, p.intValue());
+	}
+
+	@Override
+	public void changePriority(E e, int p) throws NoSuchElementException {
+		int i= indexOf(e);
+		int old= priorities[i];
+		priorities[i]= p;
+		if (metrics != null)
+			metrics.priorityChanged();
+		if (before(p, old))
+			siftUp(i);
+		else
+			siftDown(i);
+	}
+
+	@Override
+	public boolean contains(E e) {
+		return keys[find(e)] != null;
+	}
+
+	@Override
+	public int getPriority(E e) throws NoSuchElementException {
+		return priorities[indexOf(e)];
+	}
+
+	@Override
+	public Integer priorityOf(E e) throws NoSuchElementException {
+		return getPriority(e);
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(elements, 0, size, null);
+		Arrays.fill(keys, null);
+		size= 0;
+	}
+
+	//////////////////// Helper methods /////////////////////
+
+	@SuppressWarnings("unchecked")
+	private E element(int i) {
+		return (E) elements[i];
+	}
+
+	/** Return true iff priority p belongs above priority q in this heap. */
+	private boolean before(int p, int q) {
+		if (metrics != null)
+			metrics.compared();
+		return min ? p < q : p > q;
+	}
+
+	/** Store element e with priority p, whose slot in keys is s, at index i. */
+	private void place(Object e, int p, int s, int i) {
+		elements[i]= e;
+		priorities[i]= p;
+		slots[i]= s;
+		positions[s]= i;
+	}
+
+	/** Move the entry at i up until its parent's priority does not belong below it. */
+	private void siftUp(int i) {
+		Object e= elements[i];
+		int p= priorities[i];
+		int s= slots[i];
+		int start= i;
+		while (i > 0) {
+			int parent= (i - 1) / 2;
+			if (!before(p, priorities[parent]))
+				break;
+			place(elements[parent], priorities[parent], slots[parent], i);
+			i= parent;
+		}
+		place(e, p, s, i);
+		if (metrics != null)
+			metrics.sifted(start, i);
+	}
+
+	/** Move the entry at i down until no child's priority belongs above it. */
+	private void siftDown(int i) {
+		Object e= elements[i];
+		int p= priorities[i];
+		int s= slots[i];
+		int start= i;
+		int half= size / 2;
+		while (i < half) {
+			int child= 2 * i + 1;
+			if (child + 1 < size && before(priorities[child + 1], priorities[child]))
+				child++;
+			if (!before(priorities[child], p))
+				break;
+			place(elements[child], priorities[child], slots[child], i);
+			i= child;
+		}
+		place(e, p, s, i);
+		if (metrics != null)
+			metrics.sifted(start, i);
+	}
+
+	/** Return the index in the heap of e.
+	 * @throws NoSuchElementException if this heap does not contain e. */
+	private int indexOf(E e) throws NoSuchElementException {
+		int s= find(e);
+		if (keys[s] == null)
+			throw new NoSuchElementException();
+		return positions[s];
+	}
+
+	/** Return the home slot of e in keys. */
+	private int home(Object e) {
+		int h= e.hashCode() * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & (keys.length - 1);
+	}
+
+	/** Return the slot of e in keys, or else the empty slot where it belongs. */
+	private int find(Object e) {
+		int mask= keys.length - 1;
+		int s= home(e);
+		while (keys[s] != null && !keys[s].equals(e))
+			s= (s + 1) & mask;
+		return s;
+	}
+
+	/** Empty slot s of keys, moving later entries of its probe run back so
+	 * that every key stays reachable from its home slot. */
+	private void unlink(int s) {
+		int mask= keys.length - 1;
+		int hole= s;
+		for (int t= (s + 1) & mask; keys[t] != null; t= (t + 1) & mask) {
+			// keys[t] may move to hole iff its home slot is not in (hole, t]
+			if (((t - home(keys[t])) & mask) >= ((t - hole) & mask)) {
+				keys[hole]= keys[t];
+				positions[hole]= positions[t];
+				slots[positions[hole]]= hole;
+				hole= t;
+			}
+		}
+		keys[hole]= null;
+	}
+
+	/** Double the capacity of the heap and of the position table. */
+	private void grow() {
+		int capacity= 2 * elements.length;
+		elements= Arrays.copyOf(elements, capacity);
+		priorities= Arrays.copyOf(priorities, capacity);
+		slots= Arrays.copyOf(slots, capacity);
+		keys= new Object[2 * capacity];
+		positions= new int[2 * capacity];
+		for (int i= 0; i < size; i++) {
+			int s= find(elements[i]);
+			keys[s]= elements[i];
+			positions[s]= i;
+			slots[i]= s;
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package a4New;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IntHeapTest {
+
+	@Test
+	void testPollOrder() {
+		IntHeap<String> h= new IntHeap<String>();
+		h.add("c", 30);
+		h.add("a", 10);
+		h.add("d", 40);
+		h.add("b", 20);
+		assertEquals(4, h.size());
+		assertEquals("a", h.peek());
+		assertEquals(10, h.peekPriority());
+		assertEquals("a", h.poll());
+		assertEquals("b", h.poll());
+		assertEquals("c", h.poll());
+		assertEquals("d", h.poll());
+		assertTrue(h.isEmpty());
+		assertThrows(NoSuchElementException.class, () -> h.poll());
+	}
+
+	@Test
+	void testContainsAndChangePriority() {
+		IntHeap<String> h= new IntHeap<String>();
+		h.add("x", 5);
+		h.add("y", 7);
+		h.add("z", 9);
+		assertTrue(h.contains("y"));
+		assertFalse(h.contains("w"));
+		assertThrows(IllegalArgumentException.class, () -> h.add("x", 1));
+
+		h.changePriority("z", 1);
+		assertEquals(1, h.getPriority("z"));
+		assertEquals("z", h.peek());
+		h.changePriority("z", 8);
+		assertEquals("x", h.poll());
+		assertEquals("y", h.poll());
+		assertEquals("z", h.poll());
+		assertFalse(h.contains("z"));
+		assertThrows(NoSuchElementException.class, () -> h.changePriority("z", 3));
+	}
+
+	@Test
+	void testComparatorMatchesPollOrder() {
+		IntHeap<String> h= new IntHeap<String>();
+		assertTrue(h.comparator().compare(1, 2) > 0);
+		assertTrue(h.comparator().compare(2, 1) < 0);
+		assertEquals(0, h.comparator().compare(1000, 1000));
+	}
+
+	@Test
+	void testMaxHeap() {
+		IntHeap<String> h= IntHeap.maxHeap();
+		assertFalse(h.isMinQueue());
+		h.add("c", 30);
+		h.add("a", 10);
+		h.add("d", 40);
+		h.add("b", 20);
+		assertEquals("d", h.peek());
+		assertEquals(40, h.peekPriority());
+		h.changePriority("a", 50);
+		assertEquals("a", h.poll());
+		assertEquals("d", h.poll());
+		assertEquals("c", h.poll());
+		assertEquals("b", h.poll());
+		assertTrue(h.comparator().compare(2, 1) > 0);
+	}
+
+	@Test
+	void testRandomAgainstSortedOrder() {
+		Random r= new Random(2110);
+		IntHeap<Integer> h= new IntHeap<Integer>();
+		Map<Integer, Integer> expected= new HashMap<Integer, Integer>();
+		for (int k= 0; k < 20000; k++) {
+			Integer e= r.nextInt(500);
+			int p= r.nextInt(1000) - 500;
+			int op= r.nextInt(3);
+			if (op == 0 && !expected.containsKey(e)) {
+				h.add(e, p);
+				expected.put(e, p);
+			} else if (op == 1 && expected.containsKey(e)) {
+				h.changePriority(e, p);
+				expected.put(e, p);
+			} else if (op == 2 && !h.isEmpty()) {
+				int min= Collections.min(expected.values());
+				assertEquals(min, h.peekPriority());
+				assertEquals(min, (int) expected.remove(h.poll()));
+			}
+			assertEquals(expected.size(), h.size());
+			assertEquals(expected.containsKey(e), h.contains(e));
+		}
+		for (Map.Entry<Integer, Integer> entry : expected.entrySet())
+			assertEquals((int) entry.getValue(), h.getPriority(entry.getKey()));
+		h.clear();
+		assertTrue(h.isEmpty());
+		assertFalse(h.contains(0));
+	}
+}
@@ -0,0 +1,173 @@
+package a4New;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An instance is a binary min-heap whose elements are the ints
+ * 0..capacity()-1, each with an int priority. Since elements are small ints,
+ * the position of every element is kept in a plain array rather than a hash
+ * table, and nothing is boxed: after construction, no operation allocates.
+ *
+ * This is the frontier for searches over graph.CompactGraph node ids.
+ */
+public class IntKeyHeap {
+	/** heap[0..size) holds the elements in heap order */
+	private int[] heap;
+	/** priority[u] is the priority of u, if u is in this heap */
+	private int[] priority;
+	/** pos[u] is the index of u in heap, or -1 if u is not in this heap */
+	private int[] pos;
+	private int size;
+
+	/** Constructor: an empty heap that can hold the elements 0..capacity-1 */
+	public IntKeyHeap(int capacity) {
+		heap= new int[capacity];
+		priority= new int[capacity];
+		pos= new int[capacity];
+		Arrays.fill(pos, -1);
+	}
+
+	/** Return the number of elements this heap can hold. */
+	public int capacity() {
+		return pos.length;
+	}
+
+	/** Make this heap able to hold the elements 0..capacity-1. Keeps its contents. */
+	public void ensureCapacity(int capacity) {
+		if (capacity <= pos.length)
+			return;
+		int old= pos.length;
+		heap= Arrays.copyOf(heap, capacity);
+		priority= Arrays.copyOf(priority, capacity);
+		pos= Arrays.copyOf(pos, capacity);
+		Arrays.fill(pos, old, capacity, -1);
+	}
+
+	/** Return the number of elements in this heap. */
+	public int size() {
+		return size;
+	}
+
+	/** Return true iff this heap contains no elements. */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/** Return true iff u is in this heap. */
+	public boolean contains(int u) {
+		return pos[u] >= 0;
+	}
+
+	/**
+	 * Return the priority of u.
+	 * @throws NoSuchElementException if u is not in this heap.
+	 */
+	public int getPriority(int u) {
+		if (pos[u] < 0)
+			throw new NoSuchElementException();
+		return priority[u];
+	}
+
+	/**
+	 * Return the element with the smallest priority.
+	 * @throws NoSuchElementException if this is empty.
+	 */
+	public int peek() {
+		if (size == 0)
+			throw new NoSuchElementException();
+		return heap[0];
+	}
+
+	/**
+	 * Remove and return the element with the smallest priority.
+	 * @throws NoSuchElementException if this is empty.
+	 */
+	public int poll() {
+		if (size == 0)
+			throw new NoSuchElementException();
+		int top= heap[0];
+		pos[top]= -1;
+		size--;
+		if (size > 0) {
+			heap[0]= heap[size];
+			pos[heap[0]]= 0;
+			siftDown(0);
+		}
+		return top;
+	}
+
+	/**
+	 * Add u with priority p.
+	 * @throws IllegalArgumentException if u is already in this heap
+	 */
+	public void add(int u, int p) {
+		if (pos[u] >= 0)
+			throw new IllegalArgumentException();
+		priority[u]= p;
+		heap[size]= u;
+		pos[u]= size;
+		size++;
+		siftUp(size - 1);
+	}
+
+	/**
+	 * Change the priority of u to p.
+	 * @throws NoSuchElementException if u is not in this heap.
+	 */
+	public void changePriority(int u, int p) {
+		int i= pos[u];
+		if (i < 0)
+			throw new NoSuchElementException();
+		int old= priority[u];
+		priority[u]= p;
+		if (p < old)
+			siftUp(i);
+		else
+			siftDown(i);
+	}
+
+	/** Remove every element. Takes time proportional to size(), not capacity(). */
+	public void clear() {
+		for (int i= 0; i < size; i++)
+			pos[heap[i]]= -1;
+		size= 0;
+	}
+
+	//////////////////// Helper methods /////////////////////
+
+	private void siftUp(int i) {
+		int u= heap[i];
+		int p= priority[u];
+		while (i > 0) {
+			int parent= (i - 1) / 2;
+			int v= heap[parent];
+			if (priority[v] <= p)
+				break;
+			heap[i]= v;
+			pos[v]= i;
+			i= parent;
+		}
+		heap[i]= u;
+		pos[u]= i;
+	}
+
+	private void siftDown(int i) {
+		int u= heap[i];
+		int p= priority[u];
+		int half= size / 2;
+		while (i < half) {
+			int child= 2 * i + 1;
+			if (child + 1 < size && priority[heap[child + 1]] < priority[heap[child]])
+				child++;
+			int v= heap[child];
+			if (priority[v] >= p)
+				break;
+			heap[i]= v;
+			pos[v]= i;
+			i= child;
+		}
+		heap[i]= u;
+		pos[u]= i;
+	}
+}
@@ -0,0 +1,75 @@
+package a4New;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A priority queue of distinct elements of type E with primitive int
+ * priorities. It is the int-specialized sibling of PriorityQueue: adding,
+ * polling and changing priorities box nothing.
+ *
+ * A queue either polls the element with the smallest priority first (a min
+ * queue) or the one with the largest priority first (a max queue); see
+ * isMinQueue(). As in PriorityQueue, n refers to this.size().
+ */
+public interface IntPriorityQueue<E> {
+
+	/** Return true iff poll() removes the element with the smallest priority,
+	 * false iff it removes the one with the largest. */
+	public boolean isMinQueue();
+
+	/** Return the number of elements in this. Runs in O(1) time. */
+	public int size();
+
+	/** Return true iff this contains no elements. Runs in O(1) time. */
+	public boolean isEmpty();
+
+	/**
+	 * Remove and return the first element of this: the one with the smallest
+	 * priority in a min queue, the largest in a max queue. Runs in O(log n) time.
+	 *
+	 * @throws NoSuchElementException if this is empty
+	 */
+	public E poll() throws NoSuchElementException;
+
+	/**
+	 * Return the element that poll() would remove. Runs in O(1) time.
+	 *
+	 * @throws NoSuchElementException if this is empty.
+	 */
+	public E peek() throws NoSuchElementException;
+
+	/**
+	 * Return the priority of peek(). Runs in O(1) time.
+	 *
+	 * @throws NoSuchElementException if this is empty.
+	 */
+	public int peekPriority() throws NoSuchElementException;
+
+	/**
+	 * Add the element e with priority p to this. Runs in O(log n) time.
+	 *
+	 * @throws IllegalArgumentException if this already contains an element that
+	 *                                  is equal to e (according to .equals())
+	 */
+	public void add(E e, int p) throws IllegalArgumentException;
+
+	/**
+	 * Change the priority associated with e to p. Runs in O(log n) time.
+	 *
+	 * @throws NoSuchElementException if this does not contain e.
+	 */
+	public void changePriority(E e, int p) throws NoSuchElementException;
+
+	/** Return true iff e is in this. Runs in O(1) expected time. */
+	public boolean contains(E e);
+
+	/**
+	 * Return the priority of e. Runs in O(1) expected time.
+	 *
+	 * @throws NoSuchElementException if this does not contain e.
+	 */
+	public int getPriority(E e) throws NoSuchElementException;
+
+	/** Remove every element from this. */
+	public void clear();
+}
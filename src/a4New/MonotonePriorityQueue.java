@@ -0,0 +1,17 @@
+package a4New;
+
+/**
+ * An IntPriorityQueue that only works when priorities never go below the
+ * front of the queue: every priority given to add or changePriority must be
+ * at least the priority of the element that poll, peek or peekPriority last
+ * found at the front. Such a queue is always a min queue.
+ *
+ * Dijkstra's algorithm with non-negative edge weights uses its frontier this
+ * way, since every new distance is the distance of the node just polled plus
+ * a weight.
+ */
+public interface MonotonePriorityQueue<E> extends IntPriorityQueue<E> {
+
+	/** Return the smallest priority that add and changePriority accept now. */
+	public int floor();
+}
@@ -0,0 +1,296 @@
+package a4New;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+
+/**
+ * An instance is a pairing heap of distinct elements of type E with int
+ * priorities: a min heap (new PairingHeap()) or a max heap
+ * (PairingHeap.maxHeap()).
+ *
+ * The heap is a tree in which every node's priority belongs above its
+ * children's. add and moving an element toward the front only link a tree
+ * under the root, in O(1) time; poll pairs up the root's subtrees left to
+ * right and then links the pairs right to left, in O(log n) amortized time.
+ * This suits searches that change many priorities for each element they
+ * poll.
+ *
+ * As a PriorityQueue, comparator() orders priorities so that poll() still
+ * removes the largest element according to comparator().
+ */
+public class PairingHeap<E> implements IntPriorityQueue<E>, PriorityQueue<E, Integer> {
+	private static final Comparator<Integer> MIN_FIRST= (p, q) -> Integer.compare(q, p);
+	private static final Comparator<Integer> MAX_FIRST= (p, q) -> Integer.compare(p, q);
+
+	/** A node of the tree. */
+	private static class Node<E> {
+		private final E element;
+		private int priority;
+		/** the leftmost child, or null */
+		private Node<E> child;
+		/** the next sibling to the right, or null */
+		private Node<E> next;
+		/** the previous sibling, or the parent if this is a leftmost child;
+		 * null for the root */
+		private Node<E> prev;
+
+		private Node(E element, int priority) {
+			this.element= element;
+			this.priority= priority;
+		}
+	}
+
+	/** true iff the smallest priority is at the root */
+	private final boolean min;
+
+	private Node<E> root;
+	private HashMap<E, Node<E>> index;
+
+	/** The subtrees being paired by poll; kept to avoid reallocating it. */
+	private final ArrayList<Node<E>> pairs= new ArrayList<Node<E>>();
+
+	/** Constructor: an empty min heap */
+	public PairingHeap() {
+		this(true);
+	}
+
+	/** Return an empty max heap: poll() removes the element with the largest
+	 * priority. */
+	public static <E> PairingHeap<E> maxHeap() {
+		return new PairingHeap<E>(false);
+	}
+
+	/** Constructor: an empty heap, a min heap iff min */
+	private PairingHeap(boolean min) {
+		this.min= min;
+		index= new HashMap<E, Node<E>>();
+	}
+
+	@Override
+	public boolean isMinQueue() {
+		return min;
+	}
+
+	@Override
+	public Comparator<? super Integer> comparator() {
+		return min ? MIN_FIRST : MAX_FIRST;
+	}
+
+	@Override
+	public int size() {
+		return index.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return root == null;
+	}
+
+	@Override
+	public E poll() throws NoSuchElementException {
+		if (root == null)
+			throw new NoSuchElementException();
+		Node<E> top= root;
+		index.remove(top.element);
+		root= combine(top.child);
+		return top.element;
+	}
+
+	@Override
+	public E peek() throws NoSuchElementException {
+		if (root == null)
+			throw new NoSuchElementException();
+		return root.element;
+	}
+
+	@Override
+	public int peekPriority() throws NoSuchElementException {
+		if (root == null)
+			throw new NoSuchElementException();
+		return root.priority;
+	}
+
+	@Override
+	public void add(E e, Integer p) throws IllegalArgumentException {
+		add(e, p.intValue());
+	}
+
+	@Override
+	public void add(E e, int p) throws IllegalArgumentException {
+		if (index.containsKey(e))
+			throw new IllegalArgumentException();
+		Node<E> n= new Node<E>(e, p);
+		index.put(e, n);
+		root= root == null ? n : link(root, n);
+	}
+
+	@Override
+	public void changePriority(E e, Integer p) throws NoSuchElementException {
+		changePriority(e, p.intValue());
+	}
+
+	/**
+	 * Change the priority associated with e to p. Runs in O(1) time if p
+	 * moves e toward the front, and O(log n) amortized time otherwise.
+	 * @throws NoSuchElementException if this does not contain e.
+	 */
+	@Override
+	public void changePriority(E e, int p) throws NoSuchElementException {
+		Node<E> n= index.get(e);
+		if (n == null)
+			throw new NoSuchElementException();
+		if (before(p, n.priority)) {
+			n.priority= p;
+			if (n != root) {
+				cut(n);
+				root= link(root, n);
+			}
+			return;
+		}
+		// moving back: n's children may now belong above it, so detach them
+		n.priority= p;
+		Node<E> children= combine(n.child);
+		n.child= null;
+		if (n == root) {
+			root= children == null ? n : link(n, children);
+			return;
+		}
+		cut(n);
+		root= link(root, n);
+		if (children != null)
+			root= link(root, children);
+	}
+
+	@Override
+	public boolean contains(E e) {
+		return index.containsKey(e);
+	}
+
+	@Override
+	public int getPriority(E e) throws NoSuchElementException {
+		Node<E> n= index.get(e);
+		if (n == null)
+			throw new NoSuchElementException();
+		return n.priority;
+	}
+
+	@Override
+	public Integer priorityOf(E e) throws NoSuchElementException {
+		return getPriority(e);
+	}
+
+	/**
+	 * Move every element of other, with its priority, into this, leaving other
+	 * empty. If other is a PairingHeap ordered the same way, its tree is
+	 * linked under this one's root in O(1) time, and the smaller of the two
+	 * element indexes is checked against and copied into the larger, in
+	 * O(min(n, m)) expected time, where m is other.size(). Other kinds of
+	 * PriorityQueue are polled into this one by one.
+	 *
+	 * @throws IllegalArgumentException if other contains an element that is
+	 *                                  equal to one in this; both are then left
+	 *                                  unchanged
+	 */
+	@Override
+	public void meld(PriorityQueue<E, Integer> other) throws IllegalArgumentException {
+		if (!(other instanceof PairingHeap) || ((PairingHeap<E>) other).min != min) {
+			PriorityQueue.super.meld(other);
+			return;
+		}
+		PairingHeap<E> h= (PairingHeap<E>) other;
+		if (h == this) {
+			if (root != null)
+				throw new IllegalArgumentException();
+			return;
+		}
+		HashMap<E, Node<E>> small= h.index;
+		HashMap<E, Node<E>> large= index;
+		if (small.size() > large.size()) {
+			small= index;
+			large= h.index;
+		}
+		for (E e : small.keySet()) {
+			if (large.containsKey(e))
+				throw new IllegalArgumentException();
+		}
+		large.putAll(small);
+		small.clear();
+		index= large;
+		h.index= small;
+		if (h.root != null)
+			root= root == null ? h.root : link(root, h.root);
+		h.root= null;
+	}
+
+	@Override
+	public void clear() {
+		root= null;
+		index.clear();
+	}
+
+	//////////////////// Helper methods /////////////////////
+
+	/** Return true iff priority p belongs above priority q in this heap. */
+	private boolean before(int p, int q) {
+		return min ? p < q : p > q;
+	}
+
+	/** Make the root with the later priority of roots a and b the leftmost
+	 * child of the other, and return that other. */
+	private Node<E> link(Node<E> a, Node<E> b) {
+		if (before(b.priority, a.priority)) {
+			Node<E> t= a;
+			a= b;
+			b= t;
+		}
+		b.next= a.child;
+		if (a.child != null)
+			a.child.prev= b;
+		b.prev= a;
+		a.child= b;
+		a.next= null;
+		a.prev= null;
+		return a;
+	}
+
+	/** Detach the subtree of n, which is not the root, from its parent and
+	 * siblings. */
+	private void cut(Node<E> n) {
+		if (n.prev.child == n)
+			n.prev.child= n.next;
+		else
+			n.prev.next= n.next;
+		if (n.next != null)
+			n.next.prev= n.prev;
+		n.next= null;
+		n.prev= null;
+	}
+
+	/** Link the sibling list starting at first into one tree, by pairing
+	 * left to right and then linking the pairs right to left, and return its
+	 * root (null if first is null). */
+	private Node<E> combine(Node<E> first) {
+		if (first == null)
+			return null;
+		pairs.clear();
+		for (Node<E> n= first; n != null; ) {
+			Node<E> a= n;
+			Node<E> b= a.next;
+			n= b == null ? null : b.next;
+			pairs.add(b == null ? detach(a) : link(detach(a), detach(b)));
+		}
+		Node<E> result= pairs.get(pairs.size() - 1);
+		for (int k= pairs.size() - 2; k >= 0; k--)
+			result= link(pairs.get(k), result);
+		return result;
+	}
+
+	/** Clear the sibling links of n and return n. */
+	private Node<E> detach(Node<E> n) {
+		n.next= null;
+		n.prev= null;
+		return n;
+	}
+}
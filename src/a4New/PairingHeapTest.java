@@ -0,0 +1,113 @@
+package a4New;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PairingHeapTest {
+
+	@Test
+	void testPollOrder() {
+		PairingHeap<String> h= new PairingHeap<String>();
+		h.add("c", 30);
+		h.add("a", 10);
+		h.add("d", 40);
+		h.add("b", 20);
+		assertEquals(4, h.size());
+		assertEquals("a", h.peek());
+		assertEquals(10, h.peekPriority());
+		assertEquals("a", h.poll());
+		assertEquals("b", h.poll());
+		assertEquals("c", h.poll());
+		assertEquals("d", h.poll());
+		assertTrue(h.isEmpty());
+		assertThrows(NoSuchElementException.class, () -> h.poll());
+		assertThrows(NoSuchElementException.class, () -> h.changePriority("a", 1));
+	}
+
+	@Test
+	void testMaxHeap() {
+		PairingHeap<String> h= PairingHeap.maxHeap();
+		h.add("a", 1);
+		h.add("b", 2);
+		h.add("c", 3);
+		h.changePriority("c", 0);
+		h.changePriority("a", 5);
+		assertEquals("a", h.poll());
+		assertEquals("b", h.poll());
+		assertEquals("c", h.poll());
+	}
+
+	@Test
+	void testRandomAgainstMap() {
+		for (boolean min : new boolean[] {true, false}) {
+			Random r= new Random(2110);
+			PairingHeap<Integer> h= min ? new PairingHeap<Integer>() : PairingHeap.maxHeap();
+			Map<Integer, Integer> expected= new HashMap<Integer, Integer>();
+			for (int k= 0; k < 20000; k++) {
+				Integer e= r.nextInt(300);
+				int p= r.nextInt(1000);
+				int op= r.nextInt(3);
+				if (op == 0 && !expected.containsKey(e)) {
+					h.add(e, p);
+					expected.put(e, p);
+				} else if (op == 1 && expected.containsKey(e)) {
+					h.changePriority(e, p);
+					expected.put(e, p);
+				} else if (op == 2 && !h.isEmpty()) {
+					int first= min ? Collections.min(expected.values()) : Collections.max(expected.values());
+					assertEquals(first, h.peekPriority());
+					assertEquals(first, (int) expected.remove(h.poll()));
+				}
+				assertEquals(expected.size(), h.size());
+				assertEquals(expected.containsKey(e), h.contains(e));
+			}
+		}
+	}
+
+	@Test
+	void testMeld() {
+		PairingHeap<String> h= new PairingHeap<String>();
+		PairingHeap<String> other= new PairingHeap<String>();
+		for (int k= 0; k < 10; k++)
+			h.add("e" + k, 2 * k);
+		for (int k= 10; k < 30; k++)
+			other.add("e" + k, 2 * k - 39);
+		h.meld(other);
+		assertEquals(30, h.size());
+		assertTrue(other.isEmpty());
+		assertFalse(other.contains("e10"));
+		assertEquals(-19, h.getPriority("e10"));
+		int last= Integer.MIN_VALUE;
+		for (int k= 0; k < 15; k++) {
+			assertTrue(h.peekPriority() >= last);
+			last= h.peekPriority();
+			h.poll();
+		}
+
+		// other is reusable, and a clash leaves both unchanged
+		other.add("e40", 1);
+		other.add(h.peek(), 0);
+		assertThrows(IllegalArgumentException.class, () -> h.meld(other));
+		assertEquals(15, h.size());
+		assertEquals(2, other.size());
+		assertThrows(IllegalArgumentException.class, () -> other.meld(h));
+		assertThrows(IllegalArgumentException.class, () -> h.meld(h));
+
+		// another kind of queue is polled in
+		IntHeap<String> ih= new IntHeap<String>();
+		ih.add("e50", -100);
+		ih.add("e51", -200);
+		h.meld(ih);
+		assertEquals(0, ih.size());
+		assertEquals("e51", h.poll());
+		assertEquals("e50", h.poll());
+		assertEquals(15, h.size());
+	}
+}
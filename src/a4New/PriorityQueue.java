@@ -1,5 +1,7 @@
 package a4New;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.NoSuchElementException;
 
@@ -56,4 +58,64 @@ public interface PriorityQueue<E, P> {
 	 * @throws NoSuchElementException if this does not contain e.
 	 */
 	public void changePriority(E e, P p) throws NoSuchElementException;
+
+	/** Return true iff this contains an element equal to e. */
+	public boolean contains(E e);
+
+	/**
+	 * Return the priority of e.
+	 *
+	 * @throws NoSuchElementException if this does not contain e.
+	 */
+	public P priorityOf(E e) throws NoSuchElementException;
+
+	/**
+	 * Move every element of other, with its priority, into this, leaving other
+	 * empty. other must be ordered the same way as this. This default polls
+	 * each element of other and adds it to this, in O(m log(n + m)) time,
+	 * where m is other.size(); implementations can meld their own kind faster.
+	 *
+	 * @throws IllegalArgumentException if other contains an element that is
+	 *                                  equal to one in this; both are then left
+	 *                                  with the same elements and priorities
+	 */
+	public default void meld(PriorityQueue<E, P> other) throws IllegalArgumentException {
+		if (other == this) {
+			if (size() > 0)
+				throw new IllegalArgumentException();
+			return;
+		}
+		ArrayList<E> es= new ArrayList<E>(other.size());
+		ArrayList<P> ps= new ArrayList<P>(other.size());
+		boolean clash= false;
+		while (other.size() > 0) {
+			E e= other.peek();
+			ps.add(other.priorityOf(e));
+			es.add(other.poll());
+			clash= clash || contains(e);
+		}
+		// polling raised a monotone queue's floor; clearing it lowers it again
+		if (other instanceof MonotonePriorityQueue)
+			((MonotonePriorityQueue<?>) other).clear();
+		// on a clash, the elements go back into other instead
+		PriorityQueue<E, P> to= clash ? other : this;
+		for (int i= 0; i < es.size(); i++)
+			to.add(es.get(i), ps.get(i));
+		if (clash)
+			throw new IllegalArgumentException();
+	}
+
+	/**
+	 * Remove the max largest elements of this (all of them if there are fewer)
+	 * and add them to c, largest first. Return the number removed. Runs in
+	 * O(max log n) time.
+	 */
+	public default int drainTo(Collection<? super E> c, int max) {
+		int k= 0;
+		while (k < max && size() > 0) {
+			c.add(poll());
+			k++;
+		}
+		return k;
+	}
 }
@@ -0,0 +1,284 @@
+package a4New;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+
+/**
+ * An instance is a monotone radix heap of distinct elements of type E with
+ * int priorities: a min queue whose priorities never go below its front
+ * (see MonotonePriorityQueue).
+ *
+ * Elements are kept in 33 buckets by the highest bit in which their priority
+ * differs from floor(), the priority last found at the front: bucket 0 holds
+ * priorities equal to floor(), and bucket b > 0 holds those that first
+ * differ in bit b-1. When bucket 0 runs dry, the lowest nonempty bucket is
+ * emptied into lower ones around its smallest priority, the new floor. An
+ * element moves down at most 32 times between add and poll, so poll takes
+ * O(log C) amortized time for priorities spanning C, and add and
+ * changePriority take O(1) time. No comparisons between priorities are made
+ * except when a bucket is emptied.
+ *
+ * As a PriorityQueue, comparator() orders smaller ints as "larger", so poll()
+ * still removes the largest element according to comparator().
+ */
+public class RadixHeap<E> implements MonotonePriorityQueue<E>, PriorityQueue<E, Integer> {
+	private static final Comparator<Integer> MIN_FIRST= (p, q) -> Integer.compare(q, p);
+	private static final int BUCKETS= 33;
+
+	/** An element, its priority, and where it is in the buckets. */
+	private static class Entry<E> {
+		private final E element;
+		private int priority;
+		private int bucket;
+		/** the index of this entry in buckets[bucket] */
+		private int slot;
+
+		private Entry(E element, int priority) {
+			this.element= element;
+			this.priority= priority;
+		}
+	}
+
+	/** buckets[b][0..sizes[b]) are the entries in bucket b, in no order */
+	private final Entry<E>[][] buckets;
+	private final int[] sizes;
+	private int size;
+	private int floor= Integer.MIN_VALUE;
+
+	private final HashMap<E, Entry<E>> index;
+
+	/** Constructor: an empty heap */
+	@SuppressWarnings("unchecked")
+	public RadixHeap() {
+		buckets= (Entry<E>[][]) new Entry<?>[BUCKETS][];
+		for (int b= 0; b < BUCKETS; b++)
+			buckets[b]= (Entry<E>[]) new Entry<?>[4];
+		sizes= new int[BUCKETS];
+		index= new HashMap<E, Entry<E>>();
+	}
+
+	@Override
+	public boolean isMinQueue() {
+		return true;
+	}
+
+	@Override
+	public int floor() {
+		return floor;
+	}
+
+	@Override
+	public Comparator<? super Integer> comparator() {
+		return MIN_FIRST;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public E poll() throws NoSuchElementException {
+		Entry<E> top= front();
+		remove(top);
+		index.remove(top.element);
+		size--;
+		return top.element;
+	}
+
+	@Override
+	public E peek() throws NoSuchElementException {
+		return front().element;
+	}
+
+	@Override
+	public int peekPriority() throws NoSuchElementException {
+		return front().priority;
+	}
+
+	@Override
+	public void add(E e, Integer p) throws IllegalArgumentException {
+		add(e, p.intValue());
+	}
+
+	/**
+	 * Add the element e with priority p to this. Runs in O(1) time.
+	 * @throws IllegalArgumentException if this already contains an element that
+	 *                                  is equal to e, or if p < floor()
+	 */
+	@Override
+	public void add(E e, int p) throws IllegalArgumentException {
+		if (p < floor)
+			throw new IllegalArgumentException("priority " + p + " is below the floor " + floor);
+		if (index.containsKey(e))
+			throw new IllegalArgumentException();
+		Entry<E> n= new Entry<E>(e, p);
+		index.put(e, n);
+		insert(n);
+		size++;
+	}
+
+	@Override
+	public void changePriority(E e, Integer p) throws NoSuchElementException {
+		changePriority(e, p.intValue());
+	}
+
+	/**
+	 * Change the priority associated with e to p. Runs in O(1) time.
+	 * @throws NoSuchElementException if this does not contain e.
+	 * @throws IllegalArgumentException if p < floor()
+	 */
+	@Override
+	public void changePriority(E e, int p) throws NoSuchElementException {
+		Entry<E> n= index.get(e);
+		if (n == null)
+			throw new NoSuchElementException();
+		if (p < floor)
+			throw new IllegalArgumentException("priority " + p + " is below the floor " + floor);
+		remove(n);
+		n.priority= p;
+		insert(n);
+	}
+
+	@Override
+	public boolean contains(E e) {
+		return index.containsKey(e);
+	}
+
+	@Override
+	public int getPriority(E e) throws NoSuchElementException {
+		Entry<E> n= index.get(e);
+		if (n == null)
+			throw new NoSuchElementException();
+		return n.priority;
+	}
+
+	@Override
+	public Integer priorityOf(E e) throws NoSuchElementException {
+		return getPriority(e);
+	}
+
+	/**
+	 * Move every element of other, with its priority, into this, leaving other
+	 * empty. Every priority in other must be at least floor(). If other is a
+	 * RadixHeap, its entries are checked and then moved into this one's
+	 * buckets without polling, in O(m) expected time, where m is
+	 * other.size(). Other kinds of PriorityQueue are first polled into an
+	 * empty RadixHeap.
+	 *
+	 * @throws IllegalArgumentException if other contains an element that is
+	 *                                  equal to one in this, or a priority
+	 *                                  below floor(); both are then left with
+	 *                                  the same elements and priorities
+	 */
+	@Override
+	public void meld(PriorityQueue<E, Integer> other) throws IllegalArgumentException {
+		if (other == this) {
+			if (size > 0)
+				throw new IllegalArgumentException();
+			return;
+		}
+		if (!(other instanceof RadixHeap)) {
+			// t's floor is Integer.MIN_VALUE, so it accepts every element
+			RadixHeap<E> t= new RadixHeap<E>();
+			while (other.size() > 0) {
+				E e= other.peek();
+				t.add(e, other.priorityOf(e));
+				other.poll();
+			}
+			try {
+				meld(t);
+			} catch (IllegalArgumentException x) {
+				other.meld(t);
+				throw x;
+			}
+			return;
+		}
+		RadixHeap<E> h= (RadixHeap<E>) other;
+		for (Entry<E> n : h.index.values()) {
+			if (n.priority < floor)
+				throw new IllegalArgumentException("priority " + n.priority + " is below the floor " + floor);
+			if (index.containsKey(n.element))
+				throw new IllegalArgumentException();
+		}
+		for (Entry<E> n : h.index.values()) {
+			index.put(n.element, n);
+			insert(n);
+		}
+		size= size + h.size;
+		h.clear();
+	}
+
+	/** Remove every element from this, and lower floor() to Integer.MIN_VALUE. */
+	@Override
+	public void clear() {
+		for (int b= 0; b < BUCKETS; b++) {
+			Arrays.fill(buckets[b], 0, sizes[b], null);
+			sizes[b]= 0;
+		}
+		index.clear();
+		size= 0;
+		floor= Integer.MIN_VALUE;
+	}
+
+	//////////////////// Helper methods /////////////////////
+
+	/** Return the bucket for priority p: 0 if p == floor, else one more than
+	 * the highest bit in which p and floor differ. */
+	private int bucketOf(int p) {
+		return 32 - Integer.numberOfLeadingZeros(p ^ floor);
+	}
+
+	/** Return an entry with the smallest priority, first raising floor to
+	 * that priority and refilling bucket 0 if it is empty.
+	 * @throws NoSuchElementException if this is empty. */
+	private Entry<E> front() throws NoSuchElementException {
+		if (size == 0)
+			throw new NoSuchElementException();
+		if (sizes[0] == 0) {
+			int b= 1;
+			while (sizes[b] == 0)
+				b++;
+			Entry<E>[] bucket= buckets[b];
+			int n= sizes[b];
+			int least= bucket[0].priority;
+			for (int k= 1; k < n; k++)
+				least= Math.min(least, bucket[k].priority);
+			floor= least;
+			// every entry of bucket b agrees with least above bit b-1, so it
+			// lands in a lower bucket
+			sizes[b]= 0;
+			for (int k= 0; k < n; k++) {
+				insert(bucket[k]);
+				bucket[k]= null;
+			}
+		}
+		return buckets[0][sizes[0] - 1];
+	}
+
+	/** Put n in the bucket for its priority. */
+	private void insert(Entry<E> n) {
+		int b= bucketOf(n.priority);
+		if (sizes[b] == buckets[b].length)
+			buckets[b]= Arrays.copyOf(buckets[b], 2 * sizes[b]);
+		n.bucket= b;
+		n.slot= sizes[b];
+		buckets[b][sizes[b]++]= n;
+	}
+
+	/** Take n out of its bucket, moving the bucket's last entry into its place. */
+	private void remove(Entry<E> n) {
+		Entry<E>[] bucket= buckets[n.bucket];
+		int last= --sizes[n.bucket];
+		bucket[n.slot]= bucket[last];
+		bucket[n.slot].slot= n.slot;
+		bucket[last]= null;
+	}
+}
@@ -0,0 +1,127 @@
+package a4New;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class RadixHeapTest {
+
+	@Test
+	void testPollOrderAndFloor() {
+		RadixHeap<String> h= new RadixHeap<String>();
+		h.add("c", 30);
+		h.add("a", -10);
+		h.add("d", 40);
+		h.add("b", 20);
+		assertEquals("a", h.peek());
+		assertEquals(-10, h.floor());
+		assertEquals("a", h.poll());
+		assertThrows(IllegalArgumentException.class, () -> h.add("e", -11));
+		assertThrows(IllegalArgumentException.class, () -> h.changePriority("b", -20));
+		h.changePriority("d", 5);
+		assertEquals("d", h.poll());
+		assertEquals("b", h.poll());
+		assertEquals("c", h.poll());
+		assertTrue(h.isEmpty());
+		assertThrows(NoSuchElementException.class, () -> h.peek());
+		h.clear();
+		assertEquals(Integer.MIN_VALUE, h.floor());
+	}
+
+	@Test
+	void testRandomMonotoneAgainstMap() {
+		Random r= new Random(2110);
+		RadixHeap<Integer> h= new RadixHeap<Integer>();
+		Map<Integer, Integer> expected= new HashMap<Integer, Integer>();
+		int floor= 0;
+		for (int k= 0; k < 20000; k++) {
+			Integer e= r.nextInt(300);
+			int p= floor + r.nextInt(1 << r.nextInt(20));
+			int op= r.nextInt(3);
+			if (op == 0 && !expected.containsKey(e)) {
+				h.add(e, p);
+				expected.put(e, p);
+			} else if (op == 1 && expected.containsKey(e)) {
+				h.changePriority(e, p);
+				expected.put(e, p);
+			} else if (op == 2 && !h.isEmpty()) {
+				floor= Collections.min(expected.values());
+				assertEquals(floor, h.peekPriority());
+				assertEquals(floor, (int) expected.remove(h.poll()));
+			}
+			assertEquals(expected.size(), h.size());
+			assertEquals(expected.containsKey(e), h.contains(e));
+		}
+	}
+
+	@Test
+	void testMeld() {
+		RadixHeap<String> h= new RadixHeap<String>();
+		h.add("a", 1);
+		h.add("b", 5);
+		assertEquals("a", h.poll());
+		assertEquals(1, h.floor());
+		RadixHeap<String> other= new RadixHeap<String>();
+		other.add("c", 3);
+		other.add("d", 8);
+		assertEquals("c", other.peek());
+		h.meld(other);
+		assertEquals(3, h.size());
+		assertTrue(other.isEmpty());
+		assertEquals(Integer.MIN_VALUE, other.floor());
+		assertEquals(1, h.floor());
+		assertEquals("c", h.poll());
+		assertEquals("b", h.poll());
+		assertEquals(5, h.floor());
+
+		// a priority below the floor or a clash leaves both unchanged
+		other.add("c", 2);
+		other.add("e", 7);
+		assertEquals("c", other.peek());
+		assertThrows(IllegalArgumentException.class, () -> h.meld(other));
+		assertEquals(1, h.size());
+		assertEquals(2, other.size());
+		assertEquals(2, other.floor());
+		assertEquals("c", other.poll());
+		assertEquals("e", other.peek());
+		other.add("d", 9);
+		assertThrows(IllegalArgumentException.class, () -> h.meld(other));
+		assertEquals(1, h.size());
+		assertEquals(8, h.getPriority("d"));
+		assertEquals(2, other.size());
+		assertEquals(7, other.floor());
+		assertEquals(9, other.getPriority("d"));
+
+		// other kinds of queue are checked in the same way
+		IntHeap<String> ih= new IntHeap<String>();
+		ih.add("f", 6);
+		ih.add("g", 4);
+		assertThrows(IllegalArgumentException.class, () -> h.meld(ih));
+		assertEquals(1, h.size());
+		assertEquals(2, ih.size());
+		assertEquals(4, ih.getPriority("g"));
+		assertEquals(6, ih.getPriority("f"));
+		ih.changePriority("g", 5);
+		h.meld(ih);
+		assertEquals(0, ih.size());
+		assertEquals("g", h.poll());
+		assertEquals("f", h.poll());
+		assertEquals("d", h.poll());
+		assertTrue(h.isEmpty());
+
+		// as other, a drained RadixHeap takes its elements back on a clash
+		IntHeap<String> x= new IntHeap<String>();
+		x.add("e", 1);
+		assertThrows(IllegalArgumentException.class, () -> x.meld(other));
+		assertEquals(1, x.size());
+		assertEquals(2, other.size());
+		assertEquals(7, other.getPriority("e"));
+		assertEquals(9, other.getPriority("d"));
+	}
+}
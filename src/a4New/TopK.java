@@ -0,0 +1,180 @@
+package a4New;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An instance keeps the k best elements offered to it, with int priorities:
+ * those with the largest priorities (TopK.largest(k)) or the smallest
+ * (TopK.smallest(k)). It selects from a stream of any length in O(k) space.
+ *
+ * The kept entries form a binary heap with the worst of them at the root, so
+ * an offer that is no better than the root is rejected in O(1) time, and any
+ * other offer takes O(log k) time. Once the arrays are full, offers allocate
+ * nothing. Elements need not be distinct. An offer whose priority only ties
+ * the worst kept priority is rejected.
+ */
+public class TopK<E> {
+	/** true iff the entries with the largest priorities are kept */
+	private final boolean largest;
+
+	/** the kept entries in [0..size), heap-ordered worst first; priorities[i]
+	 * is the priority of elements[i] */
+	private final Object[] elements;
+	private final int[] priorities;
+	private int size;
+
+	/** Return an empty TopK that keeps the k elements with the largest
+	 * priorities. Precondition: k > 0. */
+	public static <E> TopK<E> largest(int k) {
+		return new TopK<E>(k, true);
+	}
+
+	/** Return an empty TopK that keeps the k elements with the smallest
+	 * priorities. Precondition: k > 0. */
+	public static <E> TopK<E> smallest(int k) {
+		return new TopK<E>(k, false);
+	}
+
+	private TopK(int k, boolean largest) {
+		if (k <= 0)
+			throw new IllegalArgumentException("k must be positive");
+		this.largest= largest;
+		elements= new Object[k];
+		priorities= new int[k];
+	}
+
+	/** Return k: the most elements this keeps. */
+	public int capacity() {
+		return elements.length;
+	}
+
+	/** Return the number of elements kept: the number offered, up to k. */
+	public int size() {
+		return size;
+	}
+
+	/** Return true iff no element has been kept. */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/** Return true iff an offer with priority p would be kept. Runs in O(1) time. */
+	public boolean accepts(int p) {
+		return size < elements.length || better(p, priorities[0]);
+	}
+
+	/**
+	 * Offer e with priority p. If fewer than k elements are kept, or p is
+	 * better than the worst kept priority, keep e (dropping the worst if k are
+	 * kept) and return true; otherwise return false.
+	 */
+	public boolean offer(E e, int p) {
+		if (size < elements.length) {
+			siftUp(e, p, size++);
+			return true;
+		}
+		if (!better(p, priorities[0]))
+			return false;
+		siftDown(e, p, 0, size);
+		return true;
+	}
+
+	/** Return the worst priority kept: the one an offer must beat once k
+	 * elements are kept.
+	 * @throws IllegalStateException if nothing is kept. */
+	public int threshold() {
+		if (size == 0)
+			throw new IllegalStateException("nothing kept");
+		return priorities[0];
+	}
+
+	/** Return the kept elements, best first. This is not changed. Runs in
+	 * O(k log k) time. */
+	public List<E> sorted() {
+		Object[] es= new Object[size];
+		sortInto(es, new int[size]);
+		List<E> result= new ArrayList<E>(size);
+		for (Object e : es)
+			result.add(element(e));
+		return result;
+	}
+
+	/** Return the kept priorities, best first, in the order of sorted(). */
+	public int[] sortedPriorities() {
+		int[] ps= new int[size];
+		sortInto(new Object[size], ps);
+		return ps;
+	}
+
+	/** Forget every element kept. */
+	public void clear() {
+		Arrays.fill(elements, 0, size, null);
+		size= 0;
+	}
+
+	//////////////////// Helper methods /////////////////////
+
+	@SuppressWarnings("unchecked")
+	private static <E> E element(Object e) {
+		return (E) e;
+	}
+
+	/** Return true iff priority p is better than priority q. */
+	private boolean better(int p, int q) {
+		return largest ? p > q : p < q;
+	}
+
+	/** Put the kept entries into es and ps, best first, by heapsort on a copy. */
+	private void sortInto(Object[] es, int[] ps) {
+		Object[] he= Arrays.copyOf(elements, size);
+		int[] hp= Arrays.copyOf(priorities, size);
+		// each round moves the worst remaining entry to the end
+		for (int n= size; n > 0; n--) {
+			es[n - 1]= he[0];
+			ps[n - 1]= hp[0];
+			if (n > 1)
+				siftDown(he, hp, he[n - 1], hp[n - 1], 0, n - 1);
+		}
+	}
+
+	/** Put entry (e, p) at index i of the heap and move it up until its parent
+	 * is no better. */
+	private void siftUp(Object e, int p, int i) {
+		while (i > 0) {
+			int parent= (i - 1) / 2;
+			if (!better(priorities[parent], p))
+				break;
+			elements[i]= elements[parent];
+			priorities[i]= priorities[parent];
+			i= parent;
+		}
+		elements[i]= e;
+		priorities[i]= p;
+	}
+
+	/** Put entry (e, p) at index i of the heap of n entries and move it down
+	 * until no child is worse. */
+	private void siftDown(Object e, int p, int i, int n) {
+		siftDown(elements, priorities, e, p, i, n);
+	}
+
+	/** Put entry (e, p) at index i of the heap es[0..n), ps[0..n) and move it
+	 * down until no child is worse. */
+	private void siftDown(Object[] es, int[] ps, Object e, int p, int i, int n) {
+		int half= n / 2;
+		while (i < half) {
+			int child= 2 * i + 1;
+			if (child + 1 < n && better(ps[child], ps[child + 1]))
+				child++;
+			if (!better(p, ps[child]))
+				break;
+			es[i]= es[child];
+			ps[i]= ps[child];
+			i= child;
+		}
+		es[i]= e;
+		ps[i]= p;
+	}
+}
@@ -0,0 +1,50 @@
+package a4New;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TopKTest {
+
+	@Test
+	void testLargest() {
+		TopK<String> t= TopK.largest(3);
+		assertTrue(t.isEmpty());
+		assertThrows(IllegalStateException.class, () -> t.threshold());
+		assertTrue(t.offer("a", 5));
+		assertTrue(t.offer("b", 1));
+		assertTrue(t.offer("c", 9));
+		assertEquals(1, t.threshold());
+		assertFalse(t.accepts(1));
+		assertFalse(t.offer("d", 0));
+		assertTrue(t.offer("e", 7));
+		assertEquals(3, t.size());
+		assertEquals(Arrays.asList("c", "e", "a"), t.sorted());
+		assertArrayEquals(new int[] {9, 7, 5}, t.sortedPriorities());
+		assertEquals(Arrays.asList("c", "e", "a"), t.sorted());
+		t.clear();
+		assertTrue(t.accepts(Integer.MIN_VALUE));
+	}
+
+	@Test
+	void testSmallestAgainstSorting() {
+		Random r= new Random(2110);
+		for (int k : new int[] {1, 10, 100}) {
+			TopK<Integer> t= TopK.smallest(k);
+			List<Integer> all= new ArrayList<Integer>();
+			for (int i= 0; i < 5000; i++) {
+				int p= r.nextInt(100000);
+				all.add(p);
+				t.offer(p, p);
+			}
+			all.sort(null);
+			assertEquals(all.subList(0, k), t.sorted());
+		}
+		assertThrows(IllegalArgumentException.class, () -> TopK.smallest(0));
+	}
+}
@@ -0,0 +1,195 @@
+package a5;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import graph.CompactGraph;
+import graph.Graph;
+import graph.LabeledEdge;
+import graph.Node;
+
+/**
+ * The lengths of the shortest paths between every pair of nodes of a graph,
+ * together with a next-hop matrix from which the paths themselves can be read.
+ *
+ * On sparse graphs (every map we generate) the matrices are filled by running
+ * Dijkstra's algorithm from every node, with the sources spread over the
+ * threads of a ForkJoinPool. On dense graphs the Floyd-Warshall algorithm is
+ * used instead, with the rows of each pass spread over the pool.
+ *
+ * @param <N> the type of nodes in the graph
+ */
+public class AllPairsShortestPaths<N> {
+	/** The distance recorded between two nodes with no path between them. */
+	public static final int UNREACHABLE= -1;
+
+	/** Graphs with at least this fraction of all possible edges are dense. */
+	private static final double DENSE= 0.25;
+
+	/** Sources (or rows) handled by one task before it stops splitting. */
+	private static final int ROWS_PER_TASK= 4;
+
+	private final CompactGraph<N> g;
+
+	/** dist[u][v] is the length of a shortest path from u to v, or UNREACHABLE */
+	private final int[][] dist;
+
+	/** next[u][v] is the node after u on a shortest path from u to v (v itself
+	 * if u == v), or -1 if there is no such path */
+	private final int[][] next;
+
+	private AllPairsShortestPaths(CompactGraph<N> g, int[][] dist, int[][] next) {
+		this.g= g;
+		this.dist= dist;
+		this.next= next;
+	}
+
+	/** Return the shortest paths of g, whose weights are given by e.label(),
+	 * computed on the common ForkJoinPool. */
+	public static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
+	AllPairsShortestPaths<N> of(Graph<N,E> g) {
+		return of(CompactGraph.of(g));
+	}
+
+	/** Return the shortest paths of g, computed on the common ForkJoinPool with
+	 * whichever algorithm suits the density of g. */
+	public static <N> AllPairsShortestPaths<N> of(CompactGraph<N> g) {
+		long n= g.nodeCount();
+		if (n > 1 && g.edgeCount() >= DENSE * n * (n - 1))
+			return floydWarshall(g, ForkJoinPool.commonPool());
+		return dijkstra(g, ForkJoinPool.commonPool());
+	}
+
+	/** Return the shortest paths of g, running Dijkstra's algorithm from each
+	 * node in parallel on pool. Takes O(V E log V) work. */
+	public static <N> AllPairsShortestPaths<N> dijkstra(CompactGraph<N> g, ForkJoinPool pool) {
+		int n= g.nodeCount();
+		int[][] dist= new int[n][n];
+		int[][] next= new int[n][n];
+		Rows.forEach(pool, n, ROWS_PER_TASK, () -> {
+			CompactSearch search= new CompactSearch(n);
+			return s -> search.distancesFrom(g, s, dist[s], next[s], UNREACHABLE);
+		});
+		return new AllPairsShortestPaths<N>(g, dist, next);
+	}
+
+	/** Return the shortest paths of g, using the Floyd-Warshall algorithm with
+	 * the rows of each pass computed in parallel on pool. Takes O(V^3) work. */
+	public static <N> AllPairsShortestPaths<N> floydWarshall(CompactGraph<N> g, ForkJoinPool pool) {
+		int n= g.nodeCount();
+		int[][] dist= new int[n][n];
+		int[][] next= new int[n][n];
+		for (int u= 0; u < n; u++) {
+			Arrays.fill(dist[u], UNREACHABLE);
+			Arrays.fill(next[u], -1);
+			dist[u][u]= 0;
+			next[u][u]= u;
+			for (int i= g.edgeStart(u); i < g.edgeEnd(u); i++) {
+				int v= g.target(i);
+				if (v != u && (dist[u][v] == UNREACHABLE || g.weight(i) < dist[u][v])) {
+					dist[u][v]= g.weight(i);
+					next[u][v]= v;
+				}
+			}
+		}
+		for (int k= 0; k < n; k++) {
+			// row k does not change during pass k, so the other rows can be
+			// updated independently
+			int[] distK= dist[k];
+			int pass= k;
+			Rows.forEach(pool, n, ROWS_PER_TASK, () -> u -> {
+				int[] distU= dist[u];
+				int viaK= distU[pass];
+				if (u == pass || viaK == UNREACHABLE)
+					return;
+				int[] nextU= next[u];
+				for (int v= 0; v < n; v++) {
+					if (distK[v] != UNREACHABLE) {
+						int d= viaK + distK[v];
+						if (distU[v] == UNREACHABLE || d < distU[v]) {
+							distU[v]= d;
+							nextU[v]= nextU[pass];
+						}
+					}
+				}
+			});
+		}
+		return new AllPairsShortestPaths<N>(g, dist, next);
+	}
+
+	/** Return the graph these paths are in. */
+	public CompactGraph<N> graph() {
+		return g;
+	}
+
+	/** Return the length of a shortest path from u to v, or UNREACHABLE. */
+	public int distance(N u, N v) {
+		return dist[id(u)][id(v)];
+	}
+
+	/** Return the nodes of a shortest path from u to v, inclusive, or the empty
+	 * list if there is none. Takes time proportional to the length of the path. */
+	public List<N> path(N u, N v) {
+		int s= id(u);
+		int t= id(v);
+		List<N> result= new ArrayList<N>();
+		if (next[s][t] < 0)
+			return result;
+		result.add(u);
+		while (s != t) {
+			s= next[s][t];
+			result.add(g.node(s));
+		}
+		return result;
+	}
+
+	/** Return the matrix of distances, indexed by the ids of g. This is the
+	 * matrix itself, not a copy; do not modify it. */
+	public int[][] distances() {
+		return dist;
+	}
+
+	/**
+	 * Write the distances between the nodes in order to out, in the format of
+	 * the info/Maps/*distances.txt files read by a5.testing.PathData: the
+	 * number of nodes, then their names (toString()) in double quotes, then one
+	 * row of distances per node.
+	 */
+	public void write(Writer out, List<? extends N> order) throws IOException {
+		int[] ids= new int[order.size()];
+		for (int k= 0; k < ids.length; k++)
+			ids[k]= id(order.get(k));
+
+		out.write(ids.length + "\n");
+		for (N n : order)
+			out.write("\"" + n + "\" ");
+		out.write("\n");
+		for (int r= 0; r < ids.length; r++) {
+			StringBuilder row= new StringBuilder();
+			for (int c= 0; c < ids.length; c++)
+				row.append(dist[ids[r]][ids[c]]).append(' ');
+			out.write(row.append('\n').toString());
+		}
+	}
+
+	/** Write the distances between the nodes in order to the file named file,
+	 * in the format described at write(Writer, List). */
+	public void write(String file, List<? extends N> order) throws IOException {
+		try (Writer out= new FileWriter(file)) {
+			write(out, order);
+		}
+	}
+
+	/** Return the id of n in g. */
+	private int id(N n) {
+		int id= g.id(n);
+		if (id < 0)
+			throw new IllegalArgumentException(n + " is not in this graph");
+		return id;
+	}
+}
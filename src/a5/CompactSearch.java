@@ -0,0 +1,225 @@
+package a5;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+import a4New.IntKeyHeap;
+import graph.CompactGraph;
+
+/**
+ * Reusable working storage for Dijkstra's algorithm over a graph.CompactGraph.
+ *
+ * Distances and parents live in int arrays indexed by node id. Rather than
+ * clearing those arrays before every search, each search bumps an epoch
+ * counter and an entry is valid only if its stamp equals the current epoch.
+ * Once the arrays are big enough for the graph, a search allocates nothing
+ * but its result.
+ *
+ * An instance is not thread-safe; use one per thread (see
+ * GraphAlgorithms.shortestPath(CompactGraph, int, int)).
+ */
+public class CompactSearch {
+	private int[] dist;
+	private int[] parent;
+	/** dist[u] and parent[u] are meaningful iff stamp[u] == epoch */
+	private int[] stamp;
+	private int epoch;
+	/** marked[u] == epoch iff u is a target of the current distancesTo */
+	private int[] marked;
+	private final IntKeyHeap frontier;
+	/** number of nodes settled by the most recent search */
+	private int settled;
+
+	/** The heuristic of Dijkstra's algorithm: no information. */
+	private static final IntUnaryOperator NONE= v -> 0;
+
+	/** Constructor: storage for graphs with up to capacity nodes (it grows as needed) */
+	public CompactSearch(int capacity) {
+		dist= new int[capacity];
+		parent= new int[capacity];
+		stamp= new int[capacity];
+		marked= new int[capacity];
+		frontier= new IntKeyHeap(capacity);
+	}
+
+	/**
+	 * Return the ids of the nodes on a shortest path from start to end in g,
+	 * inclusive, or an empty array if end is not reachable from start. Stops as
+	 * soon as end is settled.
+	 */
+	public int[] shortestPath(CompactGraph<?> g, int start, int end) {
+		return search(g, start, end, NONE) ? pathTo(end) : new int[0];
+	}
+
+	/**
+	 * Same as shortestPath(g, start, end), but as an A* search: the frontier
+	 * is ordered by distance from start plus heuristic.applyAsInt(v), which
+	 * must be a lower bound on the length of every path from v to end (it
+	 * must never overestimate). Nodes whose distance improves after they were
+	 * settled are searched again, so the heuristic need not be consistent.
+	 */
+	public int[] shortestPath(CompactGraph<?> g, int start, int end, IntUnaryOperator heuristic) {
+		return search(g, start, end, heuristic) ? pathTo(end) : new int[0];
+	}
+
+	/** Return the number of nodes the most recent search took off its
+	 * frontier (including nodes searched again by A*). */
+	public int settledCount() {
+		return settled;
+	}
+
+	/** Return the length of a shortest path from start to end in g, or -1 if
+	 * end is not reachable from start. Allocates nothing. */
+	public int distance(CompactGraph<?> g, int start, int end) {
+		return search(g, start, end, NONE) ? dist[end] : -1;
+	}
+
+	/**
+	 * Run Dijkstra's algorithm from start over all of g. Set dist[v] to the
+	 * length of a shortest path from start to v, and firstHop[v] to the node
+	 * after start on such a path (start itself if v == start); for nodes v
+	 * that are not reachable, set dist[v] to unreachable and firstHop[v] to -1.
+	 * Both arrays must have at least g.nodeCount() entries.
+	 */
+	public void distancesFrom(CompactGraph<?> g, int start, int[] dist, int[] firstHop,
+			int unreachable) {
+		int n= g.nodeCount();
+		Arrays.fill(dist, 0, n, unreachable);
+		Arrays.fill(firstHop, 0, n, -1);
+		search(g, start, -1, NONE);
+		for (int v= 0; v < n; v++) {
+			if (stamp[v] == epoch)
+				dist[v]= this.dist[v];
+		}
+		// parents are settled before their children, so a node's first hop is
+		// known once its parent's is; walk up to the first node with one
+		firstHop[start]= start;
+		for (int v= 0; v < n; v++) {
+			if (stamp[v] == epoch && firstHop[v] < 0)
+				firstHop[v]= firstHopOf(v, start, firstHop);
+		}
+	}
+
+	/**
+	 * Run Dijkstra's algorithm from start until every node in targets is
+	 * settled (over all of g if some are not reachable). Set dist[k] to the
+	 * length of a shortest path from start to targets[k], or to unreachable.
+	 * Set parent[v] to the node before v on the shortest path found to v, or to
+	 * -1 if v is start or was not reached; the paths to the targets can be read
+	 * from it. dist needs targets.length entries, parent g.nodeCount().
+	 */
+	public void distancesTo(CompactGraph<?> g, int start, int[] targets, int[] dist,
+			int[] parent, int unreachable) {
+		int n= g.nodeCount();
+		begin(n);
+		int remaining= 0;
+		for (int t : targets) {
+			if (marked[t] != epoch) {
+				marked[t]= epoch;
+				remaining++;
+			}
+		}
+		reach(start, 0, -1);
+		frontier.add(start, 0);
+		while (remaining > 0 && !frontier.isEmpty()) {
+			int u= frontier.poll();
+			settled++;
+			if (marked[u] == epoch && --remaining == 0)
+				break;
+			relax(g, u, NONE);
+		}
+		for (int k= 0; k < targets.length; k++)
+			dist[k]= stamp[targets[k]] == epoch ? this.dist[targets[k]] : unreachable;
+		for (int v= 0; v < n; v++)
+			parent[v]= stamp[v] == epoch ? this.parent[v] : -1;
+	}
+
+	/** Return the node after start on the parent path from start to v, and
+	 * record it for every node on the way. */
+	private int firstHopOf(int v, int start, int[] firstHop) {
+		int u= v;
+		while (parent[u] != start && firstHop[parent[u]] < 0)
+			u= parent[u];
+		int hop= parent[u] == start ? u : firstHop[parent[u]];
+		for (int w= v; w != parent[u]; w= parent[w])
+			firstHop[w]= hop;
+		return hop;
+	}
+
+	/** Run A* with heuristic h (Dijkstra's algorithm if h is NONE) from start
+	 * until end is settled, or over the whole graph if end is -1. Return true
+	 * iff end is reachable. */
+	private boolean search(CompactGraph<?> g, int start, int end, IntUnaryOperator h) {
+		begin(g.nodeCount());
+		reach(start, 0, -1);
+		frontier.add(start, h.applyAsInt(start));
+		while (!frontier.isEmpty()) {
+			int u= frontier.poll();
+			settled++;
+			if (u == end)
+				return true;
+			relax(g, u, h);
+		}
+		return false;
+	}
+
+	/** Start a new search over a graph of n nodes. */
+	private void begin(int n) {
+		if (n > stamp.length) {
+			dist= Arrays.copyOf(dist, n);
+			parent= Arrays.copyOf(parent, n);
+			stamp= Arrays.copyOf(stamp, n);
+			marked= Arrays.copyOf(marked, n);
+			frontier.ensureCapacity(n);
+		}
+		frontier.clear();
+		settled= 0;
+		epoch++;
+		if (epoch == 0) {
+			// stamps wrapped around; forget every old stamp
+			Arrays.fill(stamp, 0);
+			Arrays.fill(marked, 0);
+			epoch= 1;
+		}
+	}
+
+	/** Record that u is reached at distance d through p. */
+	private void reach(int u, int d, int p) {
+		stamp[u]= epoch;
+		dist[u]= d;
+		parent[u]= p;
+	}
+
+	/** Relax all edges leaving the just-settled node u. A settled node can
+	 * only improve if h is inconsistent; it then goes back on the frontier. */
+	private void relax(CompactGraph<?> g, int u, IntUnaryOperator h) {
+		int du= dist[u];
+		for (int i= g.edgeStart(u), end= g.edgeEnd(u); i < end; i++) {
+			int v= g.target(i);
+			int dv= du + g.weight(i);
+			if (stamp[v] != epoch) {
+				reach(v, dv, u);
+				frontier.add(v, dv + h.applyAsInt(v));
+			} else if (dv < dist[v]) {
+				int key= dv + h.applyAsInt(v);
+				dist[v]= dv;
+				parent[v]= u;
+				if (frontier.contains(v))
+					frontier.changePriority(v, key);
+				else
+					frontier.add(v, key);
+			}
+		}
+	}
+
+	/** Return the path from the search root to u, following parent. */
+	private int[] pathTo(int u) {
+		int length= 0;
+		for (int v= u; v != -1; v= parent[v])
+			length++;
+		int[] path= new int[length];
+		for (int v= u; v != -1; v= parent[v])
+			path[--length]= v;
+		return path;
+	}
+}
@@ -0,0 +1,674 @@
+package a5;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StreamTokenizer;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import a4New.IntKeyHeap;
+import graph.CompactGraph;
+import graph.Graph;
+import graph.LabeledEdge;
+import graph.Node;
+
+/**
+ * A contraction hierarchy: a preprocessed form of a static graph that answers
+ * shortest path queries by searching only a small part of it.
+ *
+ * Preprocessing contracts the nodes one at a time, least important first. To
+ * contract v, every path u -> v -> x between nodes not yet contracted is
+ * replaced by a shortcut edge u -> x with the same length, unless a search
+ * that avoids v (a witness search) finds a path from u to x that is no
+ * longer. Importance is the edge difference (shortcuts added minus edges
+ * removed) plus the number of neighbors already contracted, and is updated
+ * lazily as contraction goes on. A node's rank is its position in this order.
+ *
+ * A shortest path then always exists that climbs in rank and then descends,
+ * so a query runs Dijkstra's algorithm forwards from the start over upward
+ * edges only and backwards from the end over upward edges only, and takes the
+ * best meeting point. Shortcuts remember the node they bypass, so paths are
+ * unpacked into edges of the original graph.
+ *
+ * A hierarchy can be written to a file and read back for the same graph (see
+ * write and read); nodes are identified by their toString() there.
+ *
+ * @param <N> the type of nodes in the graph
+ */
+public class ContractionHierarchy<N> {
+	/** Nodes settled by one witness search before it gives up (and the
+	 * shortcut is added, which is always safe). */
+	private static final int WITNESS_LIMIT= 500;
+
+	private final CompactGraph<N> g;
+	/** rank[v] is the position of v in the contraction order */
+	private final int[] rank;
+
+	/** All edges, original and shortcut: from[e] -> to[e] with weight[e],
+	 * bypassing node middle[e] (-1 for an original edge). */
+	private final int[] from;
+	private final int[] to;
+	private final int[] weight;
+	private final int[] middle;
+
+	/** Upward edges by their lower end: for edge e with rank[from[e]] <
+	 * rank[to[e]], e is in up[upStart[from[e]]..upStart[from[e]+1]); otherwise
+	 * it is in down[downStart[to[e]]..downStart[to[e]+1]). */
+	private final int[] upStart;
+	private final int[] up;
+	private final int[] downStart;
+	private final int[] down;
+
+	/** working storage for queries, one per thread */
+	private final ThreadLocal<Query> queries= ThreadLocal.withInitial(Query::new);
+
+	/** Return a hierarchy for g, whose weights are given by e.label(). */
+	public static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
+	ContractionHierarchy<N> of(Graph<N,E> g) {
+		return build(CompactGraph.of(g));
+	}
+
+	/** Return a hierarchy for g. Preprocessing takes time roughly proportional
+	 * to the number of shortcuts times the cost of a witness search. */
+	public static <N> ContractionHierarchy<N> build(CompactGraph<N> g) {
+		Contraction c= new Contraction(g);
+		c.run();
+		return new ContractionHierarchy<N>(g, c.rank,
+			Arrays.copyOf(c.from, c.m), Arrays.copyOf(c.to, c.m),
+			Arrays.copyOf(c.weight, c.m), Arrays.copyOf(c.middle, c.m));
+	}
+
+	private ContractionHierarchy(CompactGraph<N> g, int[] rank,
+			int[] from, int[] to, int[] weight, int[] middle) {
+		this.g= g;
+		this.rank= rank;
+		this.from= from;
+		this.to= to;
+		this.weight= weight;
+		this.middle= middle;
+		int n= g.nodeCount();
+		upStart= new int[n + 1];
+		downStart= new int[n + 1];
+		for (int e= 0; e < from.length; e++) {
+			if (rank[from[e]] < rank[to[e]])
+				upStart[from[e] + 1]++;
+			else
+				downStart[to[e] + 1]++;
+		}
+		for (int v= 0; v < n; v++) {
+			upStart[v + 1]+= upStart[v];
+			downStart[v + 1]+= downStart[v];
+		}
+		up= new int[upStart[n]];
+		down= new int[downStart[n]];
+		int[] nextUp= Arrays.copyOf(upStart, n);
+		int[] nextDown= Arrays.copyOf(downStart, n);
+		for (int e= 0; e < from.length; e++) {
+			if (rank[from[e]] < rank[to[e]])
+				up[nextUp[from[e]]++]= e;
+			else
+				down[nextDown[to[e]]++]= e;
+		}
+	}
+
+	/** Return the graph this hierarchy was built for. */
+	public CompactGraph<N> graph() {
+		return g;
+	}
+
+	/** Return the number of shortcut edges added by preprocessing. */
+	public int shortcutCount() {
+		int count= 0;
+		for (int m : middle) {
+			if (m >= 0)
+				count++;
+		}
+		return count;
+	}
+
+	/** Return the length of a shortest path from s to t, or -1 if there is none. */
+	public int distance(N s, N t) {
+		return queries.get().run(id(s), id(t));
+	}
+
+	/** Return the nodes of a shortest path from s to t, inclusive, or the
+	 * empty list if there is none. */
+	public List<N> path(N s, N t) {
+		return g.nodes(path(id(s), id(t)));
+	}
+
+	/** Return the length of a shortest path from node id s to node id t, or -1
+	 * if there is none. */
+	public int distance(int s, int t) {
+		return queries.get().run(s, t);
+	}
+
+	/** Return the ids of the nodes of a shortest path from node id s to node
+	 * id t, inclusive, or an empty array if there is none. */
+	public int[] path(int s, int t) {
+		Query q= queries.get();
+		return q.run(s, t) < 0 ? new int[0] : q.path(s, t);
+	}
+
+	/** Return the number of nodes the most recent query of this thread took
+	 * off its frontiers. */
+	public int settledCount() {
+		return queries.get().settled;
+	}
+
+	/**
+	 * Write this hierarchy to out: the number of nodes, their names
+	 * (toString()) in double quotes, their ranks, the number of edges, and
+	 * one line "from to weight middle" per edge, with nodes given by their
+	 * position in the list of names and middle -1 for original edges.
+	 */
+	public void write(Writer out) throws IOException {
+		int n= g.nodeCount();
+		out.write(n + "\n");
+		StringBuilder line= new StringBuilder();
+		for (int v= 0; v < n; v++)
+			line.append('"').append(g.node(v)).append("\" ");
+		out.write(line.append('\n').toString());
+		line.setLength(0);
+		for (int v= 0; v < n; v++)
+			line.append(rank[v]).append(' ');
+		out.write(line.append('\n').toString());
+		out.write(from.length + "\n");
+		for (int e= 0; e < from.length; e++)
+			out.write(from[e] + " " + to[e] + " " + weight[e] + " " + middle[e] + "\n");
+	}
+
+	/** Write this hierarchy to the file named file, in the format described
+	 * at write(Writer). */
+	public void write(String file) throws IOException {
+		try (Writer out= new FileWriter(file)) {
+			write(out);
+		}
+	}
+
+	/**
+	 * Return the hierarchy for g written by write(Writer) to in. The file is
+	 * checked against g: every edge of g must be in it, every original edge
+	 * in it must be an edge of g with the same (least) weight, and every
+	 * shortcut must be the sum of the two edges it bypasses, through a node
+	 * of lower rank. So a file written before g changed is rejected.
+	 * @throws IOException if in cannot be read, is not in that format, names
+	 *         a node that is not in g, or does not match g
+	 */
+	public static <N> ContractionHierarchy<N> read(Reader in, CompactGraph<N> g) throws IOException {
+		Map<String, Integer> ids= new HashMap<String, Integer>();
+		for (int v= 0; v < g.nodeCount(); v++)
+			ids.put(g.node(v).toString(), v);
+
+		StreamTokenizer tokens= new StreamTokenizer(in);
+		tokens.resetSyntax();
+		tokens.whitespaceChars(0, ' ');
+		tokens.wordChars('-', '-');
+		tokens.wordChars('0', '9');
+		tokens.quoteChar('"');
+		int n= readInt(tokens);
+		if (n != g.nodeCount())
+			throw new IOException("hierarchy has " + n + " nodes, graph has " + g.nodeCount());
+		// position k in the file is node file[k] of g
+		int[] file= new int[n];
+		for (int k= 0; k < n; k++) {
+			if (tokens.nextToken() != '"' || !ids.containsKey(tokens.sval))
+				throw new IOException("unknown node at line " + tokens.lineno());
+			file[k]= ids.get(tokens.sval);
+		}
+		int[] rank= new int[n];
+		boolean[] ranked= new boolean[n];
+		for (int k= 0; k < n; k++) {
+			int r= readIndex(tokens, n);
+			if (ranked[r])
+				throw new IOException("rank " + r + " repeated at line " + tokens.lineno());
+			ranked[r]= true;
+			rank[file[k]]= r;
+		}
+		int m= readInt(tokens);
+		if (m < 0)
+			throw new IOException("negative edge count at line " + tokens.lineno());
+		int[] from= new int[m];
+		int[] to= new int[m];
+		int[] weight= new int[m];
+		int[] middle= new int[m];
+		for (int e= 0; e < m; e++) {
+			from[e]= file[readIndex(tokens, n)];
+			to[e]= file[readIndex(tokens, n)];
+			weight[e]= readInt(tokens);
+			int mid= readInt(tokens);
+			if (mid < -1 || mid >= n)
+				throw new IOException("node index " + mid + " out of range at line " + tokens.lineno());
+			middle[e]= mid < 0 ? -1 : file[mid];
+		}
+		check(g, rank, from, to, weight, middle);
+		return new ContractionHierarchy<N>(g, rank, from, to, weight, middle);
+	}
+
+	/**
+	 * Check that the edges of a hierarchy read from a file match g (see
+	 * read(Reader, CompactGraph)).
+	 * @throws IOException if they do not
+	 */
+	private static void check(CompactGraph<?> g, int[] rank,
+			int[] from, int[] to, int[] weight, int[] middle) throws IOException {
+		int n= g.nodeCount();
+		// each edge of the hierarchy by its ends
+		Map<Long, Integer> edge= new HashMap<Long, Integer>();
+		for (int e= 0; e < from.length; e++) {
+			if (from[e] == to[e] || edge.put((long) from[e] * n + to[e], e) != null)
+				throw new IOException("edge " + e + " is a loop or repeated");
+		}
+		// the least weight of each edge of g, by its ends
+		Map<Long, Integer> least= new HashMap<Long, Integer>();
+		for (int u= 0; u < n; u++) {
+			for (int i= g.edgeStart(u); i < g.edgeEnd(u); i++) {
+				if (g.target(i) != u)
+					least.merge((long) u * n + g.target(i), g.weight(i), Math::min);
+			}
+		}
+		for (Map.Entry<Long, Integer> en : least.entrySet()) {
+			Integer e= edge.get(en.getKey());
+			if (e == null || weight[e] > en.getValue())
+				throw new IOException("an edge of the graph is missing from the hierarchy");
+		}
+		for (int e= 0; e < from.length; e++) {
+			if (middle[e] < 0) {
+				Integer w= least.get((long) from[e] * n + to[e]);
+				if (w == null || w != weight[e])
+					throw new IOException("edge " + e + " is not an edge of the graph");
+			} else {
+				int v= middle[e];
+				Integer in= edge.get((long) from[e] * n + v);
+				Integer out= edge.get((long) v * n + to[e]);
+				if (rank[v] >= rank[from[e]] || rank[v] >= rank[to[e]] || in == null || out == null
+						|| weight[in] + weight[out] != weight[e])
+					throw new IOException("shortcut " + e + " does not match the edges it bypasses");
+			}
+		}
+	}
+
+	/** Return the hierarchy for g written to the file named file. */
+	public static <N> ContractionHierarchy<N> read(String file, CompactGraph<N> g) throws IOException {
+		try (Reader in= new BufferedReader(new FileReader(file))) {
+			return read(in, g);
+		}
+	}
+
+	/** Read the next token of tokens as an int in [0..n). */
+	private static int readIndex(StreamTokenizer tokens, int n) throws IOException {
+		int k= readInt(tokens);
+		if (k < 0 || k >= n)
+			throw new IOException("index " + k + " out of range at line " + tokens.lineno());
+		return k;
+	}
+
+	/** Read the next token of tokens as an int. */
+	private static int readInt(StreamTokenizer tokens) throws IOException {
+		if (tokens.nextToken() != StreamTokenizer.TT_WORD)
+			throw new IOException("number expected at line " + tokens.lineno());
+		try {
+			return Integer.parseInt(tokens.sval);
+		} catch (NumberFormatException e) {
+			throw new IOException("number expected at line " + tokens.lineno());
+		}
+	}
+
+	/** Return the id of n in g. */
+	private int id(N n) {
+		int id= g.id(n);
+		if (id < 0)
+			throw new IllegalArgumentException(n + " is not in this graph");
+		return id;
+	}
+
+	/** Return the edge from a to b that is stored at the lower of the two,
+	 * m (m == a or m == b). */
+	private int edgeAt(int m, int a, int b) {
+		if (m == a) {
+			for (int i= upStart[a]; i < upStart[a + 1]; i++) {
+				if (to[up[i]] == b)
+					return up[i];
+			}
+		} else {
+			for (int i= downStart[b]; i < downStart[b + 1]; i++) {
+				if (from[down[i]] == a)
+					return down[i];
+			}
+		}
+		throw new IllegalStateException("missing edge " + a + " -> " + b);
+	}
+
+	/** Working storage for one query at a time. A bidirectional search with
+	 * epoch stamps, as in CompactSearch. */
+	private class Query {
+		private final int[] dist= new int[2 * g.nodeCount()];
+		/** via[i] is the edge by which the search reached slot i */
+		private final int[] via= new int[2 * g.nodeCount()];
+		private final int[] stamp= new int[2 * g.nodeCount()];
+		private int epoch;
+		/** forward and backward frontiers; the backward search uses slots
+		 * n..2n-1 of the arrays above */
+		private final IntKeyHeap forward= new IntKeyHeap(g.nodeCount());
+		private final IntKeyHeap backward= new IntKeyHeap(g.nodeCount());
+		private int meet;
+		private int settled;
+
+		/** Search from s to t and return the distance, or -1. Leaves the
+		 * meeting node in meet. */
+		int run(int s, int t) {
+			int n= g.nodeCount();
+			epoch++;
+			if (epoch == 0) {
+				Arrays.fill(stamp, 0);
+				epoch= 1;
+			}
+			forward.clear();
+			backward.clear();
+			settled= 0;
+			reach(s, 0, -1, forward, s);
+			reach(n + t, 0, -1, backward, t);
+			int best= Integer.MAX_VALUE;
+			meet= -1;
+			// each direction stops once its frontier cannot improve best
+			while (true) {
+				boolean f= !forward.isEmpty() && forward.getPriority(forward.peek()) < best;
+				boolean b= !backward.isEmpty() && backward.getPriority(backward.peek()) < best;
+				if (!f && !b)
+					break;
+				if (f) {
+					int u= forward.poll();
+					settled++;
+					if (stamp[n + u] == epoch && dist[u] + dist[n + u] < best) {
+						best= dist[u] + dist[n + u];
+						meet= u;
+					}
+					for (int i= upStart[u]; i < upStart[u + 1]; i++) {
+						int e= up[i];
+						relax(to[e], dist[u] + weight[e], e, forward, 0);
+					}
+				}
+				if (b) {
+					int u= backward.poll();
+					settled++;
+					if (stamp[u] == epoch && dist[u] + dist[n + u] < best) {
+						best= dist[u] + dist[n + u];
+						meet= u;
+					}
+					for (int i= downStart[u]; i < downStart[u + 1]; i++) {
+						int e= down[i];
+						relax(from[e], dist[n + u] + weight[e], e, backward, n);
+					}
+				}
+			}
+			return meet < 0 ? -1 : best;
+		}
+
+		/** Reach node v (slot offset + v) at distance d by edge e. */
+		private void relax(int v, int d, int e, IntKeyHeap frontier, int offset) {
+			int slot= offset + v;
+			if (stamp[slot] != epoch) {
+				reach(slot, d, e, frontier, v);
+			} else if (d < dist[slot]) {
+				dist[slot]= d;
+				via[slot]= e;
+				if (frontier.contains(v))
+					frontier.changePriority(v, d);
+				else
+					frontier.add(v, d);
+			}
+		}
+
+		private void reach(int slot, int d, int e, IntKeyHeap frontier, int v) {
+			stamp[slot]= epoch;
+			dist[slot]= d;
+			via[slot]= e;
+			frontier.add(v, d);
+		}
+
+		/** Return the path of the last run from s to t, unpacked. */
+		int[] path(int s, int t) {
+			int n= g.nodeCount();
+			IntList nodes= new IntList();
+			nodes.add(s);
+			// edges from s up to meet, found backwards from meet
+			IntList upEdges= new IntList();
+			for (int v= meet; v != s; v= from[via[v]])
+				upEdges.add(via[v]);
+			for (int k= upEdges.size - 1; k >= 0; k--)
+				unpack(upEdges.data[k], nodes);
+			for (int v= meet; v != t; v= to[via[n + v]])
+				unpack(via[n + v], nodes);
+			return nodes.toArray();
+		}
+	}
+
+	/** Append the original path of edge e, except its first node, to nodes. */
+	private void unpack(int e, IntList nodes) {
+		int m= middle[e];
+		if (m < 0) {
+			nodes.add(to[e]);
+			return;
+		}
+		unpack(edgeAt(m, from[e], m), nodes);
+		unpack(edgeAt(m, m, to[e]), nodes);
+	}
+
+	/** A growable array of ints. */
+	private static class IntList {
+		int[] data= new int[16];
+		int size;
+
+		void add(int x) {
+			if (size == data.length)
+				data= Arrays.copyOf(data, 2 * size);
+			data[size++]= x;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(data, size);
+		}
+	}
+
+	/**
+	 * The contraction itself: a graph that shrinks as nodes are contracted,
+	 * kept as a growing list of edges with, for each node, the ids of the
+	 * edges leaving and entering it. Edges to contracted nodes stay in these
+	 * lists and are skipped.
+	 */
+	private static class Contraction {
+		final int n;
+		int[] from= new int[16];
+		int[] to= new int[16];
+		int[] weight= new int[16];
+		int[] middle= new int[16];
+		int m;
+		final IntList[] out;
+		final IntList[] in;
+
+		final boolean[] contracted;
+		/** number of contracted neighbors of each node */
+		final int[] contractedNeighbors;
+		final int[] rank;
+
+		/** witness search storage, with epoch stamps */
+		final int[] dist;
+		final int[] stamp;
+		int epoch;
+		final IntKeyHeap frontier;
+
+		Contraction(CompactGraph<?> g) {
+			n= g.nodeCount();
+			out= new IntList[n];
+			in= new IntList[n];
+			for (int v= 0; v < n; v++) {
+				out[v]= new IntList();
+				in[v]= new IntList();
+			}
+			for (int u= 0; u < n; u++) {
+				for (int i= g.edgeStart(u); i < g.edgeEnd(u); i++) {
+					if (g.target(i) != u)
+						addEdge(u, g.target(i), g.weight(i), -1);
+				}
+			}
+			contracted= new boolean[n];
+			contractedNeighbors= new int[n];
+			rank= new int[n];
+			dist= new int[n];
+			stamp= new int[n];
+			frontier= new IntKeyHeap(n);
+		}
+
+		/** Add edge u -> x with weight w bypassing mid, or lower the weight of
+		 * the edge u -> x if there is one and w is smaller. */
+		void addEdge(int u, int x, int w, int mid) {
+			IntList edges= out[u];
+			for (int i= 0; i < edges.size; i++) {
+				int e= edges.data[i];
+				if (to[e] == x) {
+					if (w < weight[e]) {
+						weight[e]= w;
+						middle[e]= mid;
+					}
+					return;
+				}
+			}
+			if (m == from.length) {
+				from= Arrays.copyOf(from, 2 * m);
+				to= Arrays.copyOf(to, 2 * m);
+				weight= Arrays.copyOf(weight, 2 * m);
+				middle= Arrays.copyOf(middle, 2 * m);
+			}
+			from[m]= u;
+			to[m]= x;
+			weight[m]= w;
+			middle[m]= mid;
+			out[u].add(m);
+			in[x].add(m);
+			m++;
+		}
+
+		/** Contract every node, in order of importance. */
+		void run() {
+			// lazy updates: a node's priority is recomputed when it reaches the
+			// top, and it is contracted only if it is still the least important
+			IntKeyHeap order= new IntKeyHeap(n);
+			for (int v= 0; v < n; v++)
+				order.add(v, importance(v));
+			for (int r= 0; r < n; r++) {
+				int v= order.poll();
+				int p= importance(v);
+				while (!order.isEmpty() && p > order.getPriority(order.peek())) {
+					order.add(v, p);
+					v= order.poll();
+					p= importance(v);
+				}
+				contract(v, true);
+				contracted[v]= true;
+				rank[v]= r;
+			}
+		}
+
+		/** Return the priority of v: edge difference plus contracted neighbors. */
+		int importance(int v) {
+			int removed= 0;
+			for (int i= 0; i < in[v].size; i++) {
+				if (!contracted[from[in[v].data[i]]])
+					removed++;
+			}
+			for (int i= 0; i < out[v].size; i++) {
+				if (!contracted[to[out[v].data[i]]])
+					removed++;
+			}
+			return contract(v, false) - removed + contractedNeighbors[v];
+		}
+
+		/** Find the shortcuts needed to contract v, add them if add, and
+		 * return how many there are. */
+		int contract(int v, boolean add) {
+			int shortcuts= 0;
+			int maxOut= 0;
+			for (int j= 0; j < out[v].size; j++) {
+				int e= out[v].data[j];
+				if (!contracted[to[e]])
+					maxOut= Math.max(maxOut, weight[e]);
+			}
+			for (int i= 0; i < in[v].size; i++) {
+				int ein= in[v].data[i];
+				int u= from[ein];
+				if (contracted[u])
+					continue;
+				if (add)
+					contractedNeighbors[u]++;
+				witnessSearch(u, v, weight[ein] + maxOut);
+				for (int j= 0; j < out[v].size; j++) {
+					int eout= out[v].data[j];
+					int x= to[eout];
+					if (contracted[x] || x == u)
+						continue;
+					int via= weight[ein] + weight[eout];
+					if (stamp[x] != epoch || dist[x] > via) {
+						shortcuts++;
+						if (add)
+							addEdge(u, x, via, v);
+					}
+				}
+			}
+			if (add) {
+				for (int j= 0; j < out[v].size; j++) {
+					int x= to[out[v].data[j]];
+					if (!contracted[x])
+						contractedNeighbors[x]++;
+				}
+			}
+			return shortcuts;
+		}
+
+		/** Run Dijkstra's algorithm from u among uncontracted nodes other than
+		 * v, settling nodes no farther than limit (and at most WITNESS_LIMIT
+		 * nodes). Afterwards a node x has stamp[x] == epoch and dist[x] <= d
+		 * only if there is a path from u to x of length at most d avoiding v. */
+		void witnessSearch(int u, int v, int limit) {
+			epoch++;
+			if (epoch == 0) {
+				Arrays.fill(stamp, 0);
+				epoch= 1;
+			}
+			frontier.clear();
+			stamp[u]= epoch;
+			dist[u]= 0;
+			frontier.add(u, 0);
+			int settled= 0;
+			while (!frontier.isEmpty() && settled < WITNESS_LIMIT) {
+				int w= frontier.poll();
+				settled++;
+				if (dist[w] > limit)
+					break;
+				for (int i= 0; i < out[w].size; i++) {
+					int e= out[w].data[i];
+					int x= to[e];
+					if (x == v || contracted[x])
+						continue;
+					int d= dist[w] + weight[e];
+					if (stamp[x] != epoch) {
+						stamp[x]= epoch;
+						dist[x]= d;
+						frontier.add(x, d);
+					} else if (d < dist[x]) {
+						dist[x]= d;
+						if (frontier.contains(x))
+							frontier.changePriority(x, d);
+						else
+							frontier.add(x, d);
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,250 @@
+package a5;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import graph.CompactGraph;
+import graph.Graph;
+import graph.LabeledEdge;
+import graph.Node;
+
+/**
+ * Single-source shortest path lengths by delta-stepping (Meyer and Sanders),
+ * with the relaxations of each step spread over the threads of a ForkJoinPool.
+ *
+ * Nodes are kept in buckets of width delta by tentative distance. The lowest
+ * nonempty bucket is emptied in rounds: all its nodes relax their light edges
+ * (weight at most delta) in parallel, and nodes whose distance drops into the
+ * same bucket form the next round. Once the bucket stays empty its nodes are
+ * settled, and they relax their heavy edges in parallel, once. Distances are
+ * lowered with compare-and-set, so relaxations need no locks.
+ *
+ * A small delta does little wasted work but has many buckets with little
+ * parallelism each; a large delta the reverse. The default, delta(g), is the
+ * largest weight divided by the mean out-degree, but at least the smallest
+ * weight.
+ */
+public class DeltaStepping {
+	/** The distance recorded for a node with no path to it. */
+	public static final int UNREACHABLE= -1;
+
+	/** Tentative distance of a node not reached yet. */
+	private static final int INFINITY= Integer.MAX_VALUE;
+
+	/** Frontier nodes relaxed by one task, and the largest frontier relaxed
+	 * without the pool. */
+	private static final int GRAIN= 256;
+
+	private final CompactGraph<?> g;
+	private final int delta;
+	private final ForkJoinPool pool;
+	private final AtomicIntegerArray dist;
+
+	/** buckets[b % buckets.length] holds the nodes with tentative distance in
+	 * [b*delta, (b+1)*delta), plus stale entries for nodes that have since
+	 * moved to a lower bucket. No edge spans more than buckets.length - 1
+	 * buckets, so the array is used cyclically. */
+	private final IntBuffer[] buckets;
+	private int pending;
+
+	/** queued[u] == round iff u is in the frontier of the current round;
+	 * settled[u] == bucket + 1 iff u is settled in the current bucket */
+	private final int[] queued;
+	private final int[] settled;
+	private int round;
+
+	/** Return the lengths of the shortest paths in g, whose weights are given
+	 * by e.label(), from source to every node, or UNREACHABLE. Uses the common
+	 * ForkJoinPool and delta(g). */
+	public static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
+	Map<N, Integer> distances(Graph<N,E> g, N source) {
+		CompactGraph<N> cg= CompactGraph.of(g);
+		int s= cg.id(source);
+		if (s < 0)
+			throw new IllegalArgumentException(source + " is not in this graph");
+		int[] dist= distances(cg, s, delta(cg), ForkJoinPool.commonPool());
+		Map<N, Integer> result= new HashMap<N, Integer>();
+		for (int v= 0; v < dist.length; v++)
+			result.put(cg.node(v), dist[v]);
+		return result;
+	}
+
+	/** Return the array of lengths of the shortest paths in g from node source
+	 * to each node (UNREACHABLE if none), computed on pool with delta(g). */
+	public static int[] distances(CompactGraph<?> g, int source, ForkJoinPool pool) {
+		return distances(g, source, delta(g), pool);
+	}
+
+	/** Return the array of lengths of the shortest paths in g from node source
+	 * to each node (UNREACHABLE if none), computed on pool with buckets of
+	 * width delta. Precondition: delta > 0 and no weight of g is negative. */
+	public static int[] distances(CompactGraph<?> g, int source, int delta, ForkJoinPool pool) {
+		if (delta <= 0)
+			throw new IllegalArgumentException("delta must be positive");
+		if (g.nodeCount() > 0 && g.minWeight() < 0)
+			throw new IllegalArgumentException("negative edge weight");
+		DeltaStepping run= new DeltaStepping(g, delta, pool);
+		run.run(source);
+		int[] result= new int[g.nodeCount()];
+		for (int v= 0; v < result.length; v++) {
+			int d= run.dist.get(v);
+			result[v]= d == INFINITY ? UNREACHABLE : d;
+		}
+		return result;
+	}
+
+	/** Return the bucket width used for g by default. */
+	public static int delta(CompactGraph<?> g) {
+		if (g.edgeCount() == 0)
+			return 1;
+		double degree= g.edgeCount() / (double) g.nodeCount();
+		int d= (int) (g.maxWeight() / Math.max(1, degree));
+		return Math.max(1, Math.max(g.minWeight(), d));
+	}
+
+	private DeltaStepping(CompactGraph<?> g, int delta, ForkJoinPool pool) {
+		this.g= g;
+		this.delta= delta;
+		this.pool= pool;
+		int n= g.nodeCount();
+		dist= new AtomicIntegerArray(n);
+		for (int v= 0; v < n; v++)
+			dist.set(v, INFINITY);
+		buckets= new IntBuffer[g.maxWeight() / delta + 2];
+		for (int b= 0; b < buckets.length; b++)
+			buckets[b]= new IntBuffer();
+		queued= new int[n];
+		settled= new int[n];
+	}
+
+	/** Compute the distances from source into dist. */
+	private void run(int source) {
+		dist.set(source, 0);
+		buckets[0].add(source);
+		pending= 1;
+		for (int b= 0; pending > 0; b++) {
+			IntBuffer bucket= buckets[b % buckets.length];
+			if (bucket.size == 0)
+				continue;
+			int[] frontier= take(bucket, b);
+			IntBuffer done= new IntBuffer();
+			while (frontier.length > 0) {
+				for (int u : frontier) {
+					if (settled[u] != b + 1) {
+						settled[u]= b + 1;
+						done.add(u);
+					}
+				}
+				frontier= place(relax(frontier, true), b);
+			}
+			place(relax(done.toArray(), false), b);
+		}
+	}
+
+	/** Empty bucket, which is bucket b, and return the nodes in it that really
+	 * are in bucket b, without duplicates. */
+	private int[] take(IntBuffer bucket, int b) {
+		int[] nodes= bucket.toArray();
+		pending= pending - nodes.length;
+		bucket.size= 0;
+		round++;
+		int k= 0;
+		for (int u : nodes) {
+			if (dist.get(u) / delta == b && queued[u] != round) {
+				queued[u]= round;
+				nodes[k++]= u;
+			}
+		}
+		return Arrays.copyOf(nodes, k);
+	}
+
+	/** Put the nodes whose distances were just lowered into their buckets,
+	 * except those in bucket b. Return those, without duplicates: the next
+	 * frontier. */
+	private int[] place(List<IntBuffer> lowered, int b) {
+		round++;
+		IntBuffer next= new IntBuffer();
+		for (IntBuffer out : lowered) {
+			for (int i= 0; i < out.size; i++) {
+				int v= out.data[i];
+				int bv= dist.get(v) / delta;
+				if (bv != b) {
+					buckets[bv % buckets.length].add(v);
+					pending++;
+				} else if (queued[v] != round) {
+					queued[v]= round;
+					next.add(v);
+				}
+			}
+		}
+		return next.toArray();
+	}
+
+	/** Relax the light edges (if light) or else the heavy edges of the nodes
+	 * of frontier, in parallel, and return the nodes whose distances were
+	 * lowered (possibly with duplicates), in one buffer per task. */
+	private List<IntBuffer> relax(int[] frontier, boolean light) {
+		List<IntBuffer> lowered= Collections.synchronizedList(new ArrayList<IntBuffer>());
+		if (frontier.length <= GRAIN) {
+			IntBuffer out= new IntBuffer();
+			lowered.add(out);
+			for (int u : frontier)
+				relax(u, light, out);
+			return lowered;
+		}
+		Rows.forEach(pool, frontier.length, GRAIN, () -> {
+			IntBuffer out= new IntBuffer();
+			lowered.add(out);
+			return k -> relax(frontier[k], light, out);
+		});
+		return lowered;
+	}
+
+	/** Relax the light or heavy edges of u, adding to out each node whose
+	 * distance is lowered. */
+	private void relax(int u, boolean light, IntBuffer out) {
+		int du= dist.get(u);
+		for (int i= g.edgeStart(u), end= g.edgeEnd(u); i < end; i++) {
+			int w= g.weight(i);
+			if ((w <= delta) == light) {
+				int v= g.target(i);
+				if (lower(v, du + w))
+					out.add(v);
+			}
+		}
+	}
+
+	/** Lower the tentative distance of v to d, if d is smaller. Return true
+	 * iff it was lowered. */
+	private boolean lower(int v, int d) {
+		while (true) {
+			int old= dist.get(v);
+			if (d >= old)
+				return false;
+			if (dist.compareAndSet(v, old, d))
+				return true;
+		}
+	}
+
+	/** A growable array of ints. */
+	private static class IntBuffer {
+		private int[] data= new int[16];
+		private int size;
+
+		void add(int x) {
+			if (size == data.length)
+				data= Arrays.copyOf(data, 2 * size);
+			data[size++]= x;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(data, size);
+		}
+	}
+}
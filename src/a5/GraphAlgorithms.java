@@ -6,11 +6,15 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
 
-import a4.Heap;
+import a4New.IntHeap;
+import a4New.IntPriorityQueue;
 import common.NotImplementedError;
+import graph.CompactGraph;
 import graph.Edge;
 import graph.LabeledEdge;
 import graph.Node;
@@ -18,28 +22,13 @@ import graph.Node;
 /** We've provided depth-first search as an example; you need to implement Dijkstra's algorithm.
  */
 public class GraphAlgorithms  {
-	/** Return the Nodes reachable from start in depth-first-search order */
+	/** Return the Nodes reachable from start in depth-first-search order.
+	 * See Traversals.dfs for a lazy version that can stop early. */
 	public static <N extends Node<N,E>, E extends Edge<N,E>>
 	List<N> dfs(N start) {
-		
-		Stack<N> worklist = new Stack<N>();
-		worklist.add(start);
-		
-		Set<N>   visited  = new HashSet<N>();
-		List<N>  result   = new ArrayList<N>();
-		while (!worklist.isEmpty()) {
-			// invariants:
-			//    - everything in visited has a path from start to it
-			//    - everything in worklist has a path from start to it
-			//      that only traverses visited nodes
-			//    - nothing in the worklist is visited
-			N next = worklist.pop();
-			visited.add(next);
-			result.add(next);
-			for (N neighbor : next.outgoing().keySet())
-				if (!visited.contains(neighbor))
-					worklist.add(neighbor);
-		}
+		List<N> result = new ArrayList<N>();
+		for (N n : Traversals.dfs(start))
+			result.add(n);
 		return result;
 	}
 	
@@ -52,53 +41,276 @@ public class GraphAlgorithms  {
 	 * @param <E> The type of edges in the graph; the weights are given by e.label()
 	 * @param start The node to search from
 	 * @param end   The node to find
+	 * @return the nodes of a shortest path from start to end, inclusive, or the
+	 *         empty list if end is not reachable from start
 	 */
 	public static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
 	List<N> shortestPath(N start, N end) {
-		Heap<N, Integer> frontier=new Heap<N, Integer>(new NodeComparator());
-		Heap<N, Integer> settled=new Heap<N, Integer>(new NodeComparator());
-		HashMap<N, N> finalPath= new HashMap<N, N>(); // the second N is the last Node before get to the first Node
-		List<N> finalResult=new LinkedList<N>();
-		
-		if(!dfs(start).contains(end))
-			return finalResult;
+		return shortestPath(start, end, new IntHeap<N>());
+	}
+	
+	/**
+	 * Same as shortestPath(start, end), but with frontier, which must be an
+	 * empty min queue, holding the nodes whose distances are not settled yet.
+	 * Any IntPriorityQueue will do: an IntHeap, a PairingHeap (cheaper when
+	 * priorities change often), or a MonotonePriorityQueue such as RadixHeap,
+	 * which suffices since edge weights are not negative. On return frontier
+	 * may still hold nodes; clear it before using it again.
+	 */
+	public static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
+	List<N> shortestPath(N start, N end, IntPriorityQueue<N> frontier) {
+		if (!frontier.isMinQueue() || !frontier.isEmpty())
+			throw new IllegalArgumentException("frontier must be an empty min queue");
+		// If end is unreachable the frontier runs dry and we return the empty
+		// list; no separate reachability pass is needed.
+		//
+		// invariants:
+		//    - settled nodes have their shortest distance from start
+		//    - frontier.getPriority(w) is the length of the shortest path to w
+		//      that only traverses settled nodes (besides w)
+		//    - parent maps every node seen so far to its predecessor on that path
+		Set<N>     settled = new HashSet<N>();
+		Map<N, N>  parent  = new HashMap<N, N>();
 		frontier.add(start, 0);
-		finalPath.put(start, start);
-		N f=start;
-		int d=0;
-		while(!settled.contain(end)) {
-			d=frontier.getPriority(frontier.peek());
-			f=frontier.poll();
-			settled.add(f, d);
-			//finalResult.add(f);
-			for (N wNode : f.outgoing().keySet()) {
-				if(settled.contain(wNode) ) {
-					if(d+f.outgoing().get(wNode).label() < settled.getPriority(wNode)) {
-						settled.changePriority(wNode,d+f.outgoing().get(wNode).label());
-						finalPath.replace(wNode, f);
-					}
-				}else if(frontier.contain(wNode)) {
-					if(d+f.outgoing().get(wNode).label() < frontier.getPriority(wNode)) {
-						frontier.changePriority(wNode, d+f.outgoing().get(wNode).label());
-						finalPath.replace(wNode, f);
-					}
-				}else{
-					frontier.add(wNode, d+f.outgoing().get(wNode).label());
-					finalPath.put(wNode, f);
+		parent.put(start, null);
+		while(!frontier.isEmpty()) {
+			int d= frontier.peekPriority();
+			N f= frontier.poll();
+			settled.add(f);
+			if(f.equals(end))
+				return pathTo(parent, end);
+			for (Map.Entry<N, ? extends E> out : f.outgoing().entrySet()) {
+				N w= out.getKey();
+				if(settled.contains(w))
+					continue;
+				int dw= d + out.getValue().label();
+				if(!frontier.contains(w)) {
+					frontier.add(w, dw);
+					parent.put(w, f);
+				} else if(dw < frontier.getPriority(w)) {
+					frontier.changePriority(w, dw);
+					parent.put(w, f);
+				}
+			}
+		}
+		return new LinkedList<N>();
+	}
+	
+	/**
+	 * Return the tree of shortest paths from start to every node reachable from
+	 * it. This is shortestPath without the early exit: it settles every
+	 * reachable node, after which a path to any of them can be read off the
+	 * tree without searching again (see ShortestPathCache).
+	 * 
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph; the weights are given by e.label()
+	 * @param start The root of the tree
+	 */
+	public static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
+	ShortestPathTree<N> shortestPathTree(N start) {
+		IntHeap<N>      frontier= new IntHeap<N>();
+		Map<N, Integer> dist    = new HashMap<N, Integer>();
+		Map<N, N>       parent  = new HashMap<N, N>();
+		frontier.add(start, 0);
+		parent.put(start, null);
+		while(!frontier.isEmpty()) {
+			int d= frontier.peekPriority();
+			N f= frontier.poll();
+			dist.put(f, d);
+			for (Map.Entry<N, ? extends E> out : f.outgoing().entrySet()) {
+				N w= out.getKey();
+				if(dist.containsKey(w))
+					continue;
+				int dw= d + out.getValue().label();
+				if(!frontier.contains(w)) {
+					frontier.add(w, dw);
+					parent.put(w, f);
+				} else if(dw < frontier.getPriority(w)) {
+					frontier.changePriority(w, dw);
+					parent.put(w, f);
+				}
+			}
+		}
+		return new ShortestPathTree<N>(start, dist, parent);
+	}
+	
+	/**
+	 * Return a minimal path from start to end, or the empty list if end is not
+	 * reachable from start. Same result as shortestPath, but searches forward
+	 * from start (along outgoing edges) and backward from end (along incoming
+	 * edges) in alternation, and stops once the two smallest frontier
+	 * distances add up to at least the best path found where the searches
+	 * meet. Each side explores a ball of about half the radius, so on large
+	 * maps this settles roughly half as many nodes.
+	 * 
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph; the weights are given by e.label()
+	 * @param start The node to search from
+	 * @param end   The node to find
+	 */
+	public static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
+	List<N> shortestPathBidirectional(N start, N end) {
+		if(start.equals(end)) {
+			List<N> path= new LinkedList<N>();
+			path.add(start);
+			return path;
+		}
+		
+		Search<N> forward = new Search<N>(start);
+		Search<N> backward= new Search<N>(end);
+		// invariant: best is the length of the shortest path found so far that
+		// goes through meet, or Integer.MAX_VALUE if none has been found
+		int best= Integer.MAX_VALUE;
+		N   meet= null;
+		boolean forwardTurn= true;
+		while(!forward.frontier.isEmpty() && !backward.frontier.isEmpty()) {
+			if((long) forward.frontier.peekPriority() + backward.frontier.peekPriority() >= best)
+				break;
+			Search<N> side = forwardTurn ? forward : backward;
+			Search<N> other= forwardTurn ? backward : forward;
+			int d= side.frontier.peekPriority();
+			N f= side.frontier.poll();
+			side.settled.add(f);
+			Map<N, ? extends E> edges= forwardTurn ? f.outgoing() : f.incoming();
+			for (Map.Entry<N, ? extends E> e : edges.entrySet()) {
+				N w= e.getKey();
+				int dw= d + e.getValue().label();
+				Integer ow= other.dist.get(w);
+				if(ow != null && (long) dw + ow < best) {
+					best= dw + ow;
+					meet= w;
 				}
+				side.reach(w, dw, f);
 			}
+			forwardTurn= !forwardTurn;
 		}
+		if(meet == null)
+			return new LinkedList<N>();
 		
-		//finalPath.put(end, f);
-		N temp=end;
-		while(!temp.equals(start)) {
-			finalResult.add(0,temp);
-			temp=finalPath.get(temp);
+		LinkedList<N> path= pathTo(forward.parent, meet);
+		for (N n= backward.parent.get(meet); n != null; n= backward.parent.get(n))
+			path.addLast(n);
+		return path;
+	}
+	
+	/**
+	 * Return a minimal path from start to end, or the empty list if end is not
+	 * reachable from start, using A* search: the frontier is ordered by the
+	 * distance from start plus heuristic.applyAsInt(n).
+	 * 
+	 * The heuristic must be admissible: heuristic(n) must never exceed the
+	 * length of a shortest path from n to end. The better it estimates that
+	 * length, the fewer nodes are searched; the constant 0 gives Dijkstra's
+	 * algorithm. A node whose distance improves after it was taken off the
+	 * frontier is put back, so the heuristic need not be consistent.
+	 * 
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph; the weights are given by e.label()
+	 * @param start The node to search from
+	 * @param end   The node to find
+	 * @param heuristic A lower bound on the distance from a node to end
+	 */
+	public static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
+	List<N> shortestPathAStar(N start, N end, ToIntFunction<? super N> heuristic) {
+		// invariants:
+		//    - dist.get(w) is the length of the shortest path to w found so far,
+		//      and parent maps w to its predecessor on that path
+		//    - frontier holds the nodes whose outgoing edges have not been
+		//      relaxed since dist.get(w) last changed, with priority
+		//      dist.get(w) + heuristic(w)
+		IntHeap<N>      frontier= new IntHeap<N>();
+		Map<N, Integer> dist    = new HashMap<N, Integer>();
+		Map<N, N>       parent  = new HashMap<N, N>();
+		frontier.add(start, heuristic.applyAsInt(start));
+		dist.put(start, 0);
+		parent.put(start, null);
+		while(!frontier.isEmpty()) {
+			N f= frontier.poll();
+			if(f.equals(end))
+				return pathTo(parent, end);
+			int d= dist.get(f);
+			for (Map.Entry<N, ? extends E> out : f.outgoing().entrySet()) {
+				N w= out.getKey();
+				int dw= d + out.getValue().label();
+				Integer old= dist.get(w);
+				if(old != null && dw >= old)
+					continue;
+				dist.put(w, dw);
+				parent.put(w, f);
+				int key= dw + heuristic.applyAsInt(w);
+				if(frontier.contains(w))
+					frontier.changePriority(w, key);
+				else
+					frontier.add(w, key);
+			}
 		}
-		finalResult.add(0,start);
-		System.out.println(finalResult);
-		return finalResult;
+		return new LinkedList<N>();
+	}
+	
+	/** One direction of a bidirectional search. */
+	private static class Search<N> {
+		final IntHeap<N>      frontier= new IntHeap<N>();
+		final Set<N>          settled = new HashSet<N>();
+		/** best known distance from the root to every node reached so far */
+		final Map<N, Integer> dist    = new HashMap<N, Integer>();
+		final Map<N, N>       parent  = new HashMap<N, N>();
 		
+		Search(N root) {
+			frontier.add(root, 0);
+			dist.put(root, 0);
+			parent.put(root, null);
+		}
+		
+		/** Record that w can be reached at distance d through p, if that is an
+		 * improvement and w is not settled. */
+		void reach(N w, int d, N p) {
+			if(settled.contains(w))
+				return;
+			Integer old= dist.get(w);
+			if(old == null) {
+				frontier.add(w, d);
+			} else if(d < old) {
+				frontier.changePriority(w, d);
+			} else {
+				return;
+			}
+			dist.put(w, d);
+			parent.put(w, p);
+		}
+	}
+	
+	/** Per-thread search storage for the CompactGraph variant of shortestPath. */
+	private static final ThreadLocal<CompactSearch> compactSearch=
+		ThreadLocal.withInitial(() -> new CompactSearch(64));
+	
+	/**
+	 * Return a minimal path from node start to node end of g, as node ids
+	 * (see CompactGraph.nodes(int[]) to get the nodes back), or an empty array
+	 * if end is not reachable from start.
+	 * 
+	 * This is the same algorithm as shortestPath(N, N), but it runs on int
+	 * arrays with storage that is reused across calls on the same thread, so a
+	 * query allocates nothing except the returned array.
+	 */
+	public static int[] shortestPath(CompactGraph<?> g, int start, int end) {
+		return compactSearch.get().shortestPath(g, start, end);
+	}
+	
+	/**
+	 * Same as shortestPath(CompactGraph, int, int), but as an A* search with
+	 * the given admissible heuristic over node ids (see shortestPathAStar).
+	 */
+	public static int[] shortestPath(CompactGraph<?> g, int start, int end, IntUnaryOperator heuristic) {
+		return compactSearch.get().shortestPath(g, start, end, heuristic);
+	}
+	
+	/** Return the path from the root of parent to end, where parent maps each
+	 * node to its predecessor and the root to null. */
+	static <N> LinkedList<N> pathTo(Map<N, N> parent, N end) {
+		LinkedList<N> path= new LinkedList<N>();
+		for (N n= end; n != null; n= parent.get(n))
+			path.addFirst(n);
+		return path;
 	}
 	
 	
@@ -110,9 +322,7 @@ public class GraphAlgorithms  {
 		
 		@Override
 		public int compare(Integer o1, Integer o2) {
-			if(o1==o2)
-				return 0;
-			return o1<o2?1:-1;
+			return Integer.compare(o2, o1);
 		}
 	}
 	
@@ -0,0 +1,132 @@
+package a5;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+import graph.CompactGraph;
+import graph.Graph;
+import graph.LabeledEdge;
+import graph.Node;
+
+/**
+ * Precomputed distances to and from a few landmark nodes, giving an A*
+ * heuristic (the "ALT" heuristic: A*, landmarks, triangle inequality).
+ *
+ * For a landmark L, the triangle inequality gives, for every node v and
+ * target t, d(v,t) >= d(L,t) - d(L,v) and d(v,t) >= d(v,L) - d(t,L). The
+ * heuristic is the largest of these bounds over all landmarks. It is
+ * admissible and consistent and needs no coordinates, so it works on any
+ * graph; landmarks far from each other (chosen here by repeatedly taking the
+ * node farthest from the landmarks so far) give the tightest bounds.
+ *
+ * @param <N> the type of nodes in the graph
+ */
+public class Landmarks<N> {
+	/** Recorded distance between nodes with no path between them. */
+	private static final int UNREACHABLE= Integer.MAX_VALUE;
+
+	private final CompactGraph<N> g;
+	private final int[] landmarks;
+	/** from[k][v] is d(landmarks[k], v), or UNREACHABLE */
+	private final int[][] from;
+	/** to[k][v] is d(v, landmarks[k]), or UNREACHABLE */
+	private final int[][] to;
+
+	/** Return count landmarks for g, whose weights are given by e.label(). */
+	public static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
+	Landmarks<N> of(Graph<N,E> g, int count) {
+		return new Landmarks<N>(CompactGraph.of(g), count);
+	}
+
+	/** Constructor: choose min(count, g.nodeCount()) landmarks of g and compute
+	 * the distances to and from them. Takes O(count E log V) time. */
+	public Landmarks(CompactGraph<N> g, int count) {
+		this.g= g;
+		int n= g.nodeCount();
+		count= Math.min(count, n);
+		landmarks= new int[count];
+		from= new int[count][n];
+		to= new int[count][n];
+
+		CompactGraph<N> reverse= g.reverse();
+		CompactSearch search= new CompactSearch(n);
+		int[] hops= new int[n];
+		// closest[v] is the distance to v from the nearest landmark so far
+		int[] closest= new int[n];
+		Arrays.fill(closest, UNREACHABLE);
+		int next= farthest(search, hops, 0);
+		for (int k= 0; k < count; k++) {
+			landmarks[k]= next;
+			search.distancesFrom(g, next, from[k], hops, UNREACHABLE);
+			search.distancesFrom(reverse, next, to[k], hops, UNREACHABLE);
+			next= 0;
+			for (int v= 0; v < n; v++) {
+				closest[v]= Math.min(closest[v], from[k][v]);
+				if (closest[v] > closest[next])
+					next= v;
+			}
+		}
+	}
+
+	/** Return the node farthest from start (start itself if it reaches nothing). */
+	private int farthest(CompactSearch search, int[] hops, int start) {
+		int n= g.nodeCount();
+		if (n == 0)
+			return -1;
+		int[] dist= new int[n];
+		search.distancesFrom(g, start, dist, hops, -1);
+		int best= start;
+		for (int v= 0; v < n; v++) {
+			if (dist[v] > dist[best])
+				best= v;
+		}
+		return best;
+	}
+
+	/** Return the landmark nodes. */
+	public List<N> landmarks() {
+		List<N> result= new ArrayList<N>();
+		for (int l : landmarks)
+			result.add(g.node(l));
+		return result;
+	}
+
+	/** Return a lower bound on the length of a shortest path from node v to
+	 * node t (both ids of the graph these landmarks were computed for). */
+	public int lowerBound(int v, int t) {
+		int best= 0;
+		for (int k= 0; k < landmarks.length; k++) {
+			int[] f= from[k];
+			if (f[t] != UNREACHABLE && f[v] != UNREACHABLE)
+				best= Math.max(best, f[t] - f[v]);
+			int[] b= to[k];
+			if (b[v] != UNREACHABLE && b[t] != UNREACHABLE)
+				best= Math.max(best, b[v] - b[t]);
+		}
+		return best;
+	}
+
+	/** Return the A* heuristic for paths to node id t, for
+	 * GraphAlgorithms.shortestPath(CompactGraph, int, int, IntUnaryOperator). */
+	public IntUnaryOperator heuristic(int t) {
+		return v -> lowerBound(v, t);
+	}
+
+	/** Return the A* heuristic for paths to target, for
+	 * GraphAlgorithms.shortestPathAStar. */
+	public ToIntFunction<N> heuristic(N target) {
+		int t= id(target);
+		return n -> lowerBound(id(n), t);
+	}
+
+	/** Return the id of n in the graph. */
+	private int id(N n) {
+		int id= g.id(n);
+		if (id < 0)
+			throw new IllegalArgumentException(n + " is not in this graph");
+		return id;
+	}
+}
@@ -0,0 +1,160 @@
+package a5;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import graph.CompactGraph;
+import graph.Graph;
+import graph.LabeledEdge;
+import graph.Node;
+
+/**
+ * The lengths of the shortest paths from each of a set of sources to each of
+ * a set of targets, e.g. from a few depots to many cities.
+ *
+ * One search runs per source and stops as soon as every target is settled,
+ * so the work is that of |sources| searches rather than |sources| x |targets|.
+ * The searches run in parallel on a ForkJoinPool. Only the distance table is
+ * filled in eagerly; a path is read off the search's parent pointers when it
+ * is asked for.
+ *
+ * @param <N> the type of nodes in the graph
+ */
+public class ManyToManyPaths<N> {
+	/** The distance recorded between two nodes with no path between them. */
+	public static final int UNREACHABLE= -1;
+
+	private final CompactGraph<N> g;
+	/** ids of the sources and targets, without duplicates */
+	private final int[] sources;
+	private final int[] targets;
+	/** row[v] is the index of v in sources, col[v] its index in targets (-1 if none) */
+	private final int[] row;
+	private final int[] col;
+
+	/** dist[r][c] is the length of a shortest path from sources[r] to targets[c] */
+	private final int[][] dist;
+	/** parent[r][v] is the node before v on a shortest path from sources[r], or -1 */
+	private final int[][] parent;
+
+	/** Return the shortest paths in g, whose weights are given by e.label(),
+	 * from every node of sources to every node of targets, computed on the
+	 * common ForkJoinPool. */
+	public static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
+	ManyToManyPaths<N> of(Graph<N,E> g, Collection<? extends N> sources,
+			Collection<? extends N> targets) {
+		return of(CompactGraph.of(g), sources, targets, ForkJoinPool.commonPool());
+	}
+
+	/** Return the shortest paths in g from every node of sources to every node
+	 * of targets, with the sources searched in parallel on pool. */
+	public static <N> ManyToManyPaths<N> of(CompactGraph<N> g, Collection<? extends N> sources,
+			Collection<? extends N> targets, ForkJoinPool pool) {
+		ManyToManyPaths<N> paths= new ManyToManyPaths<N>(g, sources, targets);
+		int n= g.nodeCount();
+		Rows.forEach(pool, paths.sources.length, 1, () -> {
+			CompactSearch search= new CompactSearch(n);
+			return r -> search.distancesTo(g, paths.sources[r], paths.targets,
+				paths.dist[r], paths.parent[r], UNREACHABLE);
+		});
+		return paths;
+	}
+
+	private ManyToManyPaths(CompactGraph<N> g, Collection<? extends N> sources,
+			Collection<? extends N> targets) {
+		this.g= g;
+		row= new int[g.nodeCount()];
+		col= new int[g.nodeCount()];
+		this.sources= ids(sources, row);
+		this.targets= ids(targets, col);
+		dist= new int[this.sources.length][this.targets.length];
+		parent= new int[this.sources.length][g.nodeCount()];
+	}
+
+	/** Return the ids of nodes without duplicates, in order, and set index[v]
+	 * to the position of v in the result (-1 for nodes not in it). */
+	private int[] ids(Collection<? extends N> nodes, int[] index) {
+		Arrays.fill(index, -1);
+		int[] result= new int[nodes.size()];
+		int k= 0;
+		for (N n : nodes) {
+			int v= id(n);
+			if (index[v] < 0) {
+				index[v]= k;
+				result[k++]= v;
+			}
+		}
+		return Arrays.copyOf(result, k);
+	}
+
+	/** Return the graph these paths are in. */
+	public CompactGraph<N> graph() {
+		return g;
+	}
+
+	/** Return the sources, without duplicates: the rows of distances(). */
+	public List<N> sources() {
+		return g.nodes(sources);
+	}
+
+	/** Return the targets, without duplicates: the columns of distances(). */
+	public List<N> targets() {
+		return g.nodes(targets);
+	}
+
+	/** Return the length of a shortest path from source u to target v, or
+	 * UNREACHABLE. */
+	public int distance(N u, N v) {
+		return dist[index(row, u)][index(col, v)];
+	}
+
+	/** Return the nodes of a shortest path from source u to target v,
+	 * inclusive, or the empty list if there is none. Takes time proportional
+	 * to the length of the path. */
+	public List<N> path(N u, N v) {
+		int r= index(row, u);
+		int t= targets[index(col, v)];
+		LinkedList<N> result= new LinkedList<N>();
+		if (dist[r][index(col, v)] == UNREACHABLE)
+			return result;
+		for (int w= t; w != -1; w= parent[r][w])
+			result.addFirst(g.node(w));
+		return result;
+	}
+
+	/** Return the table of distances: distances()[r][c] is the length of a
+	 * shortest path from sources().get(r) to targets().get(c), or UNREACHABLE.
+	 * This is the table itself, not a copy; do not modify it. */
+	public int[][] distances() {
+		return dist;
+	}
+
+	/** Return the paths from source u to every target, in the order of
+	 * targets() (empty lists for unreachable targets). */
+	public List<List<N>> pathsFrom(N u) {
+		List<List<N>> result= new ArrayList<>(targets.length);
+		for (int t : targets)
+			result.add(path(u, g.node(t)));
+		return result;
+	}
+
+	/** Return index[id of n]. */
+	private int index(int[] index, N n) {
+		int k= index[id(n)];
+		if (k < 0)
+			throw new IllegalArgumentException(n + (index == row ? " is not a source" : " is not a target"));
+		return k;
+	}
+
+	/** Return the id of n in g. */
+	private int id(N n) {
+		int id= g.id(n);
+		if (id < 0)
+			throw new IllegalArgumentException(n + " is not in this graph");
+		return id;
+	}
+}
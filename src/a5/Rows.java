@@ -0,0 +1,47 @@
+package a5;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/** Runs a body once for every row of a table, with the rows spread over the
+ * threads of a ForkJoinPool. */
+final class Rows {
+	private Rows() {}
+
+	/** Call the consumer made by perTask with every u in [0..n), in parallel
+	 * on pool, in tasks of at most grain rows. Each task calls perTask.get()
+	 * once, so it can set up storage for the rows it does. */
+	static void forEach(ForkJoinPool pool, int n, int grain, Supplier<IntConsumer> perTask) {
+		pool.invoke(new RowTask(perTask, grain, 0, n));
+	}
+
+	/** Splits a range of rows in half until it is small, then does the rows. */
+	private static class RowTask extends RecursiveAction {
+		private static final long serialVersionUID= 1L;
+		private final Supplier<IntConsumer> perTask;
+		private final int grain;
+		private final int lo;
+		private final int hi;
+
+		RowTask(Supplier<IntConsumer> perTask, int grain, int lo, int hi) {
+			this.perTask= perTask;
+			this.grain= grain;
+			this.lo= lo;
+			this.hi= hi;
+		}
+
+		@Override
+		protected void compute() {
+			if (hi - lo <= grain) {
+				IntConsumer body= perTask.get();
+				for (int u= lo; u < hi; u++)
+					body.accept(u);
+				return;
+			}
+			int mid= (lo + hi) >>> 1;
+			invokeAll(new RowTask(perTask, grain, lo, mid), new RowTask(perTask, grain, mid, hi));
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package a5;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import graph.LabeledEdge;
+import graph.Node;
+
+/**
+ * A bounded cache of shortest-path trees, keyed by their root. The first
+ * query from a source computes the whole tree of shortest paths from it
+ * (GraphAlgorithms.shortestPathTree); later queries from the same source, to
+ * any target, just walk parent pointers in that tree.
+ *
+ * When the cache is full, the tree used least recently is evicted. The cache
+ * cannot see changes to the graph: whoever changes the graph must call
+ * invalidate() (gui.Graph does this whenever the exits of a node change).
+ *
+ * All methods are thread-safe.
+ *
+ * @param <N> The type of nodes in the graph
+ * @param <E> The type of edges in the graph; the weights are given by e.label()
+ */
+public class ShortestPathCache<N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>> {
+	private final int capacity;
+
+	/** the cached trees by root, least recently used first */
+	private final LinkedHashMap<N, ShortestPathTree<N>> trees;
+
+	/** the number of calls of invalidate() so far; guarded by trees. A tree
+	 * is cached only if no invalidate() ran while it was being computed. */
+	private long generation;
+
+	/** Constructor: an empty cache that holds at most capacity trees. */
+	public ShortestPathCache(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("capacity must be positive");
+		this.capacity= capacity;
+		this.trees= new LinkedHashMap<N, ShortestPathTree<N>>(16, 0.75f, true) {
+			private static final long serialVersionUID= 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<N, ShortestPathTree<N>> eldest) {
+				return size() > ShortestPathCache.this.capacity;
+			}
+		};
+	}
+
+	/** Return a minimal path from start to end, or the empty list if end is
+	 * not reachable from start (see GraphAlgorithms.shortestPath). */
+	public List<N> shortestPath(N start, N end) {
+		return tree(start).pathTo(end);
+	}
+
+	/** Return the length of a shortest path from start to end, or -1 if end is
+	 * not reachable from start. */
+	public int distance(N start, N end) {
+		return tree(start).distance(end);
+	}
+
+	/** Return the tree of shortest paths from start, computing it if it is not
+	 * cached. */
+	public ShortestPathTree<N> tree(N start) {
+		long before;
+		synchronized (trees) {
+			ShortestPathTree<N> t= trees.get(start);
+			if (t != null)
+				return t;
+			before= generation;
+		}
+		// search without holding the lock; if two threads miss on the same
+		// source at once, both compute the same tree and one copy is kept
+		ShortestPathTree<N> t= GraphAlgorithms.shortestPathTree(start);
+		synchronized (trees) {
+			// a tree searched while the graph changed may be stale: don't keep it
+			if (generation == before)
+				trees.put(start, t);
+		}
+		return t;
+	}
+
+	/** Return true iff the tree rooted at start is cached. */
+	public boolean isCached(N start) {
+		synchronized (trees) {
+			return trees.containsKey(start);
+		}
+	}
+
+	/** Return the number of cached trees. */
+	public int size() {
+		synchronized (trees) {
+			return trees.size();
+		}
+	}
+
+	/** Return the largest number of trees this cache holds. */
+	public int capacity() {
+		return capacity;
+	}
+
+	/** Discard every cached tree. Call this whenever the graph changes. */
+	public void invalidate() {
+		synchronized (trees) {
+			generation++;
+			trees.clear();
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package a5;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The shortest paths from one root node to every node reachable from it:
+ * for each such node, its distance from the root and its parent on a
+ * shortest path. Built by GraphAlgorithms.shortestPathTree.
+ *
+ * @param <N> the type of nodes in the graph
+ */
+public class ShortestPathTree<N> {
+	private final N root;
+	/** dist.get(n) is the length of a shortest path from root to n */
+	private final Map<N, Integer> dist;
+	/** parent.get(n) is the node before n on that path (null for root) */
+	private final Map<N, N> parent;
+
+	ShortestPathTree(N root, Map<N, Integer> dist, Map<N, N> parent) {
+		this.root= root;
+		this.dist= dist;
+		this.parent= parent;
+	}
+
+	/** Return the node the paths start from. */
+	public N root() {
+		return root;
+	}
+
+	/** Return true iff n is reachable from the root. */
+	public boolean reaches(N n) {
+		return dist.containsKey(n);
+	}
+
+	/** Return the length of a shortest path from the root to n, or -1 if n is
+	 * not reachable from the root. */
+	public int distance(N n) {
+		Integer d= dist.get(n);
+		return d == null ? -1 : d;
+	}
+
+	/** Return the nodes of a shortest path from the root to n, inclusive, or
+	 * the empty list if n is not reachable. Takes time proportional to the
+	 * length of the path. */
+	public List<N> pathTo(N n) {
+		if (!dist.containsKey(n))
+			return new LinkedList<N>();
+		return GraphAlgorithms.pathTo(parent, n);
+	}
+
+	/** Return the nodes reachable from the root. */
+	public Set<N> nodes() {
+		return Collections.unmodifiableSet(dist.keySet());
+	}
+}
@@ -0,0 +1,165 @@
+package a5;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import a4New.IntHeap;
+import graph.CompactGraph;
+import graph.Edge;
+import graph.Graph;
+import graph.LabeledEdge;
+import graph.Node;
+
+/**
+ * Connected components and minimum spanning trees. All of these ignore the
+ * direction of edges: two nodes are connected if there is a path between
+ * them along edges taken either way. On a graph that is not connected, the
+ * spanning tree methods return a minimum spanning forest: one tree per
+ * component. Each runs in O(E log V) time.
+ */
+public class SpanningTrees {
+	private SpanningTrees() {}
+
+	/** Return the connected components of g, each as a list of its nodes.
+	 * Components appear in the order of their first node in g.nodes(), and
+	 * so do the nodes of each component. */
+	public static <N extends Node<N,E>, E extends Edge<N,E>>
+	List<List<N>> components(Graph<N,E> g) {
+		List<N> nodes= new ArrayList<N>(g.nodes());
+		UnionFind sets= unionAll(g, nodes);
+		// lists.get(r) is the component whose representative is r
+		Map<Integer, List<N>> lists= new HashMap<Integer, List<N>>();
+		List<List<N>> result= new ArrayList<List<N>>();
+		for (int k= 0; k < nodes.size(); k++) {
+			List<N> component= lists.get(sets.find(k));
+			if (component == null) {
+				component= new ArrayList<N>();
+				lists.put(sets.find(k), component);
+				result.add(component);
+			}
+			component.add(nodes.get(k));
+		}
+		return result;
+	}
+
+	/** Return true iff every node of g is connected to every other. An empty
+	 * graph is connected. */
+	public static <N extends Node<N,E>, E extends Edge<N,E>>
+	boolean isConnected(Graph<N,E> g) {
+		return unionAll(g, new ArrayList<N>(g.nodes())).sets() <= 1;
+	}
+
+	/** Return the connected components of g, as the sets of a UnionFind over
+	 * the node ids of g. Allocates nothing but the result. */
+	public static UnionFind components(CompactGraph<?> g) {
+		UnionFind sets= new UnionFind(g.nodeCount());
+		for (int u= 0; u < g.nodeCount(); u++) {
+			for (int i= g.edgeStart(u), end= g.edgeEnd(u); i < end; i++)
+				sets.union(u, g.target(i));
+		}
+		return sets;
+	}
+
+	/** Return true iff every node of g is connected to every other. */
+	public static boolean isConnected(CompactGraph<?> g) {
+		return components(g).sets() <= 1;
+	}
+
+	/** Return the edges of a minimum spanning forest of g, whose weights are
+	 * given by e.label(), using Kruskal's algorithm: edges are taken in order
+	 * of weight, skipping those whose ends are already connected. */
+	public static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
+	List<E> kruskal(Graph<N,E> g) {
+		Map<N, Integer> ids= ids(g.nodes());
+		List<E> edges= new ArrayList<E>(g.edges());
+		edges.sort((e1, e2) -> Integer.compare(e1.label(), e2.label()));
+		UnionFind sets= new UnionFind(ids.size());
+		List<E> result= new ArrayList<E>();
+		for (E e : edges) {
+			if (result.size() == ids.size() - 1)
+				break;
+			if (sets.union(ids.get(e.source()), ids.get(e.target())))
+				result.add(e);
+		}
+		return result;
+	}
+
+	/** Return the edges of a minimum spanning forest of g, whose weights are
+	 * given by e.label(), using Prim's algorithm: each tree grows from one
+	 * node by repeatedly adding the lightest edge leaving it. The candidate
+	 * nodes are kept in an IntHeap keyed by the weight of that edge. */
+	public static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
+	List<E> prim(Graph<N,E> g) {
+		Set<N>     inTree  = new HashSet<N>();
+		IntHeap<N> frontier= new IntHeap<N>();
+		// best.get(w) is the lightest edge between the tree and frontier node w
+		Map<N, E>  best    = new HashMap<N, E>();
+		List<E>    result  = new ArrayList<E>();
+		for (N root : g.nodes()) {
+			if (inTree.contains(root))
+				continue;
+			frontier.add(root, 0);
+			while (!frontier.isEmpty()) {
+				N u= frontier.poll();
+				inTree.add(u);
+				E via= best.remove(u);
+				if (via != null)
+					result.add(via);
+				grow(u.outgoing(), inTree, frontier, best);
+				grow(u.incoming(), inTree, frontier, best);
+			}
+		}
+		return result;
+	}
+
+	/** Offer edges of a node just added to the tree, keyed by their other
+	 * end, to the frontier. */
+	private static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
+	void grow(Map<N, ? extends E> edges, Set<N> inTree, IntHeap<N> frontier, Map<N, E> best) {
+		for (Map.Entry<N, ? extends E> entry : edges.entrySet()) {
+			N w= entry.getKey();
+			int weight= entry.getValue().label();
+			if (inTree.contains(w))
+				continue;
+			if (!frontier.contains(w)) {
+				frontier.add(w, weight);
+				best.put(w, entry.getValue());
+			} else if (weight < frontier.getPriority(w)) {
+				frontier.changePriority(w, weight);
+				best.put(w, entry.getValue());
+			}
+		}
+	}
+
+	/** Return the sum of the weights of edges. */
+	public static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
+	int weight(Collection<? extends E> edges) {
+		int sum= 0;
+		for (E e : edges)
+			sum= sum + e.label();
+		return sum;
+	}
+
+	/** Return the sets of connected nodes of g, over the indexes of nodes. */
+	private static <N extends Node<N,E>, E extends Edge<N,E>>
+	UnionFind unionAll(Graph<N,E> g, List<N> nodes) {
+		Map<N, Integer> ids= ids(nodes);
+		UnionFind sets= new UnionFind(nodes.size());
+		for (E e : g.edges())
+			sets.union(ids.get(e.source()), ids.get(e.target()));
+		return sets;
+	}
+
+	/** Return a map from each node of nodes to its index. */
+	private static <N> Map<N, Integer> ids(Collection<? extends N> nodes) {
+		Map<N, Integer> ids= new HashMap<N, Integer>();
+		for (N n : nodes)
+			ids.put(n, ids.size());
+		return ids;
+	}
+}
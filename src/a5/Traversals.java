@@ -0,0 +1,182 @@
+package a5;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import graph.Edge;
+import graph.Node;
+
+/**
+ * Lazy traversals of the nodes reachable from a start node.
+ *
+ * Each traversal is an Iterable whose iterator discovers nodes only as they
+ * are asked for, so a consumer that stops early (see reaches) stops the
+ * search too. Worklists are ArrayDeques and every node enters the worklist at
+ * most once, so their size is bounded by the number of nodes, not edges.
+ *
+ * Visited nodes are tracked by identity (IdentityHashMap), which takes much
+ * less memory than a HashSet and never calls equals or hashCode. This needs
+ * node objects to be canonical: outgoing() must return the same object for
+ * the same node every time. AdjacencyListGraph and gui.Adapter both do.
+ */
+public class Traversals {
+	private Traversals() {}
+
+	/** Return the nodes reachable from start in depth-first (preorder) order,
+	 * start first. The neighbors of a node are explored in the order of
+	 * outgoing().keySet(). */
+	public static <N extends Node<N,E>, E extends Edge<N,E>>
+	Iterable<N> dfs(N start) {
+		return () -> new DepthFirst<N,E>(start);
+	}
+
+	/** Return the nodes reachable from start in breadth-first order, start
+	 * first: nodes with fewer edges on their shortest path from start come
+	 * earlier. */
+	public static <N extends Node<N,E>, E extends Edge<N,E>>
+	Iterable<N> bfs(N start) {
+		return () -> new BreadthFirst<N,E>(start);
+	}
+
+	/** Return the nodes reachable from start in a topological order: for every
+	 * edge (u, v) between them, u comes before v. The iterator first makes one
+	 * pass over the reachable edges to count in-degrees and then yields nodes
+	 * lazily (Kahn's algorithm). Its hasNext() throws an IllegalStateException
+	 * if the nodes that remain lie on or after a cycle. */
+	public static <N extends Node<N,E>, E extends Edge<N,E>>
+	Iterable<N> topologicalOrder(N start) {
+		return () -> new Topological<N,E>(start);
+	}
+
+	/** Return true iff there is a path from start to target. The search stops
+	 * as soon as target is found. */
+	public static <N extends Node<N,E>, E extends Edge<N,E>>
+	boolean reaches(N start, N target) {
+		for (N n : bfs(start)) {
+			if (n == target)
+				return true;
+		}
+		return false;
+	}
+
+	/** Return a new empty set of nodes compared by identity. */
+	private static <N> Set<N> identitySet() {
+		return Collections.newSetFromMap(new IdentityHashMap<N, Boolean>());
+	}
+
+	/** Depth-first iterator. The stack holds, for each node on the current
+	 * path from start, an iterator over its remaining neighbors. */
+	private static class DepthFirst<N extends Node<N,E>, E extends Edge<N,E>> implements Iterator<N> {
+		private final Set<N> visited= identitySet();
+		private final ArrayDeque<Iterator<N>> stack= new ArrayDeque<>();
+		/** the next node to return, or null if the traversal is over */
+		private N next;
+
+		DepthFirst(N start) {
+			next= start;
+			visited.add(start);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public N next() {
+			if (next == null)
+				throw new NoSuchElementException();
+			N result= next;
+			stack.push(result.outgoing().keySet().iterator());
+			next= null;
+			// invariant: every node on the stack's iterators that is not
+			// visited has a path from start through visited nodes
+			while (next == null && !stack.isEmpty()) {
+				Iterator<N> top= stack.peek();
+				if (!top.hasNext()) {
+					stack.pop();
+				} else {
+					N n= top.next();
+					if (visited.add(n))
+						next= n;
+				}
+			}
+			return result;
+		}
+	}
+
+	/** Breadth-first iterator. A node is marked visited when it is queued, so
+	 * it is queued at most once. */
+	private static class BreadthFirst<N extends Node<N,E>, E extends Edge<N,E>> implements Iterator<N> {
+		private final Set<N> visited= identitySet();
+		private final ArrayDeque<N> queue= new ArrayDeque<>();
+
+		BreadthFirst(N start) {
+			visited.add(start);
+			queue.add(start);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !queue.isEmpty();
+		}
+
+		@Override
+		public N next() {
+			N n= queue.poll();
+			if (n == null)
+				throw new NoSuchElementException();
+			for (N w : n.outgoing().keySet()) {
+				if (visited.add(w))
+					queue.add(w);
+			}
+			return n;
+		}
+	}
+
+	/** Topological iterator (Kahn's algorithm). indegree maps each node not
+	 * yet returned to its number of incoming edges from such nodes. */
+	private static class Topological<N extends Node<N,E>, E extends Edge<N,E>> implements Iterator<N> {
+		private final Map<N, Integer> indegree= new IdentityHashMap<>();
+		/** nodes not yet returned whose in-degree is 0 */
+		private final ArrayDeque<N> ready= new ArrayDeque<>();
+
+		Topological(N start) {
+			for (N n : bfs(start))
+				indegree.putIfAbsent(n, 0);
+			for (N n : indegree.keySet()) {
+				for (N w : n.outgoing().keySet())
+					indegree.merge(w, 1, Integer::sum);
+			}
+			for (Map.Entry<N, Integer> e : indegree.entrySet()) {
+				if (e.getValue() == 0)
+					ready.add(e.getKey());
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (ready.isEmpty() && !indegree.isEmpty())
+				throw new IllegalStateException("cycle through " + indegree.keySet().iterator().next());
+			return !ready.isEmpty();
+		}
+
+		@Override
+		public N next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			N n= ready.poll();
+			indegree.remove(n);
+			for (N w : n.outgoing().keySet()) {
+				if (indegree.merge(w, -1, Integer::sum) == 0)
+					ready.add(w);
+			}
+			return n;
+		}
+	}
+}
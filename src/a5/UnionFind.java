@@ -0,0 +1,73 @@
+package a5;
+
+/**
+ * Disjoint sets of the ints 0..size()-1 (a union-find structure). Each set
+ * is a tree of parent links, joined by size, and find halves the paths it
+ * walks, so any sequence of m operations takes O(m alpha(n)) time.
+ */
+public class UnionFind {
+	/** parent[x] is the parent of x in its tree, or x if x is a root */
+	private final int[] parent;
+	/** size[r] is the number of elements in the tree of root r */
+	private final int[] size;
+	private int sets;
+
+	/** Constructor: n sets, {0}, {1}, ..., {n-1}. */
+	public UnionFind(int n) {
+		parent= new int[n];
+		size= new int[n];
+		for (int x= 0; x < n; x++) {
+			parent[x]= x;
+			size[x]= 1;
+		}
+		sets= n;
+	}
+
+	/** Return the number of elements. */
+	public int size() {
+		return parent.length;
+	}
+
+	/** Return the number of disjoint sets. */
+	public int sets() {
+		return sets;
+	}
+
+	/** Return the representative of the set containing x. Two elements are in
+	 * the same set iff they have the same representative. */
+	public int find(int x) {
+		while (parent[x] != x) {
+			parent[x]= parent[parent[x]];
+			x= parent[x];
+		}
+		return x;
+	}
+
+	/** Return true iff x and y are in the same set. */
+	public boolean connected(int x, int y) {
+		return find(x) == find(y);
+	}
+
+	/** Merge the sets containing x and y. Return false if they were already
+	 * the same set. */
+	public boolean union(int x, int y) {
+		int rx= find(x);
+		int ry= find(y);
+		if (rx == ry)
+			return false;
+		if (size[rx] < size[ry]) {
+			int t= rx;
+			rx= ry;
+			ry= t;
+		}
+		parent[ry]= rx;
+		size[rx]+= size[ry];
+		sets--;
+		return true;
+	}
+
+	/** Return the number of elements in the set containing x. */
+	public int sizeOf(int x) {
+		return size[find(x)];
+	}
+}
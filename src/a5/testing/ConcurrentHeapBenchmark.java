@@ -0,0 +1,123 @@
+package a5.testing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import a4New.ConcurrentHeap;
+import a4New.Heap;
+import a4New.PriorityQueue;
+
+/** Measures the throughput of a ConcurrentHeap against a Heap whose methods
+ * are all synchronized, with 1, 2, 4, 8 and 16 threads. Each thread adds its
+ * own elements and polls, in a 1:1 mix, so the queue stays about the same
+ * size. The optional argument is the number of operations per thread,
+ * 200000 by default. */
+public class ConcurrentHeapBenchmark {
+	private static final int PREFILL= 10000;
+
+	/** Print the operations per second of each queue for each thread count. */
+	public static void main(String[] args) throws InterruptedException {
+		int ops= args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		System.out.println(Runtime.getRuntime().availableProcessors() + " processors, "
+			+ ops + " operations per thread");
+		for (int threads= 1; threads <= 16; threads= 2 * threads) {
+			// one warmup run each, then the timed run
+			run(new SynchronizedQueue<>(new Heap<>(Integer::compare)), threads, ops);
+			run(new ConcurrentHeap<>(Integer::compare), threads, ops);
+			double sync= run(new SynchronizedQueue<>(new Heap<>(Integer::compare)), threads, ops);
+			double conc= run(new ConcurrentHeap<>(Integer::compare), threads, ops);
+			System.out.printf("%2d threads: synchronized Heap %6.2f Mops/s, ConcurrentHeap %6.2f Mops/s%n",
+				threads, sync, conc);
+		}
+	}
+
+	/** Run ops operations on each of threads threads against q, and return
+	 * the millions of operations per second. */
+	private static double run(PriorityQueue<Integer, Integer> q, int threads, int ops)
+			throws InterruptedException {
+		Random r= new Random(2110);
+		for (int e= 0; e < PREFILL; e= e + 1)
+			q.add(-1 - e, r.nextInt(1 << 20));
+		CountDownLatch start= new CountDownLatch(1);
+		List<Thread> workers= new ArrayList<>();
+		for (int t= 0; t < threads; t= t + 1) {
+			int first= t * ops;
+			Thread w= new Thread(() -> {
+				Random rt= new Random(first);
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int k= 0; k < ops; k= k + 2) {
+					q.add(first + k, rt.nextInt(1 << 20));
+					try {
+						q.poll();
+					} catch (NoSuchElementException e) {
+						// another thread emptied the queue
+					}
+				}
+			});
+			w.start();
+			workers.add(w);
+		}
+		long t0= System.nanoTime();
+		start.countDown();
+		for (Thread w : workers)
+			w.join();
+		return (double) threads * ops / ((System.nanoTime() - t0) / 1e3);
+	}
+
+	/** A PriorityQueue that delegates to another under one lock. */
+	private static class SynchronizedQueue<E, P> implements PriorityQueue<E, P> {
+		private final PriorityQueue<E, P> q;
+
+		SynchronizedQueue(PriorityQueue<E, P> q) {
+			this.q= q;
+		}
+
+		@Override
+		public synchronized Comparator<? super P> comparator() {
+			return q.comparator();
+		}
+
+		@Override
+		public synchronized int size() {
+			return q.size();
+		}
+
+		@Override
+		public synchronized E poll() {
+			return q.poll();
+		}
+
+		@Override
+		public synchronized E peek() {
+			return q.peek();
+		}
+
+		@Override
+		public synchronized void add(E e, P p) {
+			q.add(e, p);
+		}
+
+		@Override
+		public synchronized void changePriority(E e, P p) {
+			q.changePriority(e, p);
+		}
+
+		@Override
+		public synchronized boolean contains(E e) {
+			return q.contains(e);
+		}
+
+		@Override
+		public synchronized P priorityOf(E e) {
+			return q.priorityOf(e);
+		}
+	}
+}
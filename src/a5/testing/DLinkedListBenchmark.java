@@ -0,0 +1,56 @@
+package a5.testing;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import a2.DLinkedList;
+
+/** Times a sequential indexed loop, get(i) then set(i, ...) for each i, over
+ * a DLinkedList and a java.util.LinkedList of 2500 to 40000 elements. The
+ * DLinkedList starts each walk from the node it reached last, so its time per
+ * step stays flat as the list grows; LinkedList walks from an end every time,
+ * so its time per step grows with the size. */
+public class DLinkedListBenchmark {
+	private static final int WARMUP_ROUNDS= 3;
+	private static final int ROUNDS= 3;
+
+	/** Print the mean time per step of each list for each size. */
+	public static void main(String[] args) {
+		// let the JIT compile the loop before any timing
+		List<Integer> warm= fill(new DLinkedList<>(), 40000);
+		for (int k= 0; k < 20; k= k + 1)
+			run(warm);
+		for (int n= 2500; n <= 40000; n= 2 * n) {
+			List<Integer> d= fill(new DLinkedList<>(), n);
+			List<Integer> l= fill(new LinkedList<>(), n);
+			for (int k= 0; k < WARMUP_ROUNDS; k= k + 1) {
+				run(d);
+				run(l);
+			}
+			double dns= 0;
+			double lns= 0;
+			for (int k= 0; k < ROUNDS; k= k + 1) {
+				dns= dns + run(d);
+				lns= lns + run(l);
+			}
+			System.out.printf("%6d elements: DLinkedList %8.1f ns/step, LinkedList %8.1f ns/step%n",
+				n, dns / ROUNDS, lns / ROUNDS);
+		}
+	}
+
+	/** Add 0..n-1 to list and return it. */
+	private static List<Integer> fill(List<Integer> list, int n) {
+		for (int i= 0; i < n; i= i + 1)
+			list.add(i);
+		return list;
+	}
+
+	/** Increment every element of list by index, and return the mean
+	 * nanoseconds per element. */
+	private static double run(List<Integer> list) {
+		long t0= System.nanoTime();
+		for (int i= 0; i < list.size(); i= i + 1)
+			list.set(i, list.get(i) + 1);
+		return (System.nanoTime() - t0) / (double) list.size();
+	}
+}
@@ -0,0 +1,58 @@
+package a5.testing;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import a5.CompactSearch;
+import a5.DeltaStepping;
+import graph.CompactGraph;
+
+/** Times single-source delta-stepping on a random graph with pools of 1, 2,
+ * 4, ... threads (up to the number of processors), against Dijkstra's
+ * algorithm. The optional arguments are the number of nodes (200000 by
+ * default) and the mean out-degree (4). */
+public class DeltaSteppingBenchmark {
+	private static final int WARMUP_ROUNDS= 5;
+	private static final int TIMED_ROUNDS= 10;
+
+	/** Print the mean time of one single-source run for each pool size. */
+	public static void main(String[] args) {
+		int n= args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		int degree= args.length > 1 ? Integer.parseInt(args[1]) : 4;
+		CompactGraph<Integer> g= randomGraph(new Random(2110), n, degree);
+		System.out.println(n + " nodes, " + g.edgeCount() + " edges, delta " + DeltaStepping.delta(g));
+
+		CompactSearch search= new CompactSearch(n);
+		int[] dist= new int[n];
+		int[] hops= new int[n];
+		for (int k= 0; k < WARMUP_ROUNDS; k= k + 1)
+			search.distancesFrom(g, 0, dist, hops, DeltaStepping.UNREACHABLE);
+		long t0= System.nanoTime();
+		for (int k= 0; k < TIMED_ROUNDS; k= k + 1)
+			search.distancesFrom(g, 0, dist, hops, DeltaStepping.UNREACHABLE);
+		System.out.printf("dijkstra:           %8.1f ms%n", (System.nanoTime() - t0) / 1e6 / TIMED_ROUNDS);
+
+		int processors= Runtime.getRuntime().availableProcessors();
+		for (int threads= 1; threads <= processors; threads= 2 * threads) {
+			ForkJoinPool pool= new ForkJoinPool(threads);
+			for (int k= 0; k < WARMUP_ROUNDS; k= k + 1)
+				DeltaStepping.distances(g, 0, pool);
+			long t1= System.nanoTime();
+			for (int k= 0; k < TIMED_ROUNDS; k= k + 1)
+				DeltaStepping.distances(g, 0, pool);
+			System.out.printf("delta-stepping, %2d: %8.1f ms%n", threads,
+				(System.nanoTime() - t1) / 1e6 / TIMED_ROUNDS);
+			pool.shutdown();
+		}
+	}
+
+	/** Return a graph of n nodes with degree * n random edges of weight 1..1000. */
+	private static CompactGraph<Integer> randomGraph(Random r, int n, int degree) {
+		CompactGraph.Builder<Integer> b= new CompactGraph.Builder<>();
+		for (int u= 0; u < n; u= u + 1)
+			b.addNode(u);
+		for (int k= 0; k < degree * n; k= k + 1)
+			b.addEdge(r.nextInt(n), r.nextInt(n), 1 + r.nextInt(1000));
+		return b.build();
+	}
+}
@@ -0,0 +1,96 @@
+package a5.testing;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.json.JSONObject;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import a5.AllPairsShortestPaths;
+import a5.CompactSearch;
+import a5.DeltaStepping;
+import graph.AdjacencyListGraph;
+import graph.CompactGraph;
+import gui.Graph;
+import gui.NodeData;
+import gui.TextIO;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DeltaSteppingTester {
+
+	@Test
+	/** Distances from every node of every fixture match the fixture. */
+	public void test10Fixtures() {
+		String[] maps= { "TestBoard1", "Seed16", "Board3", "TestBoard2", "seed128" };
+		ForkJoinPool pool= new ForkJoinPool(4);
+		for (String m : maps) {
+			Graph g= getGraph("info/Maps/" + m + ".txt");
+			PathData pd= new PathData("info/Maps/" + m + "distances.txt", g);
+			CompactGraph<NodeData> cg= g.compact();
+			for (int r= 0; r < pd.size; r= r + 1) {
+				int[] dist= DeltaStepping.distances(cg, cg.id(pd.nodes[r]), pool);
+				for (int c= 0; c < pd.size; c= c + 1)
+					assertEquals(pd.dist[r][c], dist[cg.id(pd.nodes[c])]);
+			}
+		}
+		pool.shutdown();
+	}
+
+	@Test
+	/** On random directed graphs, with several bucket widths, distances match <br>
+	 * those of Dijkstra's algorithm, including unreachable nodes. */
+	public void test20RandomGraphs() {
+		Random r= new Random(2110);
+		ForkJoinPool pool= new ForkJoinPool(4);
+		for (int t= 0; t < 50; t= t + 1) {
+			int n= 2 + r.nextInt(2000);
+			CompactGraph.Builder<Integer> b= new CompactGraph.Builder<>();
+			for (int u= 0; u < n; u= u + 1)
+				b.addNode(u);
+			for (int k= r.nextInt(4 * n); k > 0; k= k - 1)
+				b.addEdge(r.nextInt(n), r.nextInt(n), r.nextInt(100));
+			CompactGraph<Integer> g= b.build();
+			int[] expected= new int[n];
+			new CompactSearch(n).distancesFrom(g, 0, expected, new int[n], DeltaStepping.UNREACHABLE);
+			for (int delta : new int[] { 1, 10, 1000, DeltaStepping.delta(g) })
+				assertArrayEquals(expected, DeltaStepping.distances(g, 0, delta, pool));
+		}
+		pool.shutdown();
+	}
+
+	@Test
+	/** The graph.Graph version agrees with the all-pairs engine. */
+	public void test30AdjacencyListGraph() {
+		AdjacencyListGraph<String, Integer> g= new AdjacencyListGraph<>();
+		AdjacencyListGraph<String, Integer>.Node a= g.addNode("a");
+		AdjacencyListGraph<String, Integer>.Node b= g.addNode("b");
+		AdjacencyListGraph<String, Integer>.Node c= g.addNode("c");
+		AdjacencyListGraph<String, Integer>.Node d= g.addNode("d");
+		g.addEdge(a, b, 5);
+		g.addEdge(b, c, 5);
+		g.addEdge(a, c, 12);
+		Map<AdjacencyListGraph<String, Integer>.Node, Integer> dist= DeltaStepping.distances(g, a);
+		AllPairsShortestPaths<AdjacencyListGraph<String, Integer>.Node> ap= AllPairsShortestPaths.of(g);
+		for (AdjacencyListGraph<String, Integer>.Node v : g.nodes())
+			assertEquals(ap.distance(a, v), (int) dist.get(v));
+		assertEquals(10, (int) dist.get(c));
+		assertEquals(DeltaStepping.UNREACHABLE, (int) dist.get(d));
+	}
+
+	/** Return a graph for file named s in the info. */
+	private Graph getGraph(String s) {
+		try {
+			return Graph.getJsonGraph(new JSONObject(TextIO.read(new File(s))));
+		} catch (IOException e) {
+			throw new RuntimeException("IO Exception reading in graph " + s);
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package a5.testing;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.json.JSONObject;
+
+import a5.AllPairsShortestPaths;
+import gui.Graph;
+import gui.NodeData;
+import gui.TextIO;
+
+/** Regenerates distance fixtures (the info/Maps/*distances.txt files) from
+ * maps using AllPairsShortestPaths.
+ *
+ * Usage: DistanceFixtures map [out]. The distances of info/Maps/X.txt are
+ * written to out, by default info/Maps/Xdistances.txt. If out already exists,
+ * its order of node names is kept, so a regenerated fixture can be diffed
+ * against the old one; otherwise nodes are listed by name. */
+public class DistanceFixtures {
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("usage: DistanceFixtures map [out]");
+			return;
+		}
+		String map= args[0];
+		String out= args.length > 1 ? args[1] : map.replaceFirst("\\.txt$", "") + "distances.txt";
+
+		Graph g= Graph.getJsonGraph(new JSONObject(TextIO.read(new File(map))));
+		long t0= System.nanoTime();
+		AllPairsShortestPaths<NodeData> ap= AllPairsShortestPaths.of(g.compact());
+		long t1= System.nanoTime();
+
+		List<NodeData> order= new ArrayList<>();
+		if (new File(out).exists()) {
+			PathData old= new PathData(out, g);
+			Collections.addAll(order, old.nodes);
+		}
+		if (order.size() != g.getNodesSize() || order.contains(null)) {
+			order.clear();
+			order.addAll(g.getNodes());
+			order.sort((n1, n2) -> n1.name.compareTo(n2.name));
+		}
+		ap.write(out, order);
+		System.out.printf("%s: %d nodes in %.2f ms%n", out, order.size(), (t1 - t0) / 1e6);
+	}
+}
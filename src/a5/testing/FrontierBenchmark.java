@@ -0,0 +1,85 @@
+package a5.testing;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import a4New.IntHeap;
+import a4New.IntPriorityQueue;
+import a4New.PairingHeap;
+import a4New.RadixHeap;
+import graph.CompactGraph;
+
+/** Times Dijkstra's algorithm with each frontier (IntHeap, PairingHeap,
+ * RadixHeap) on two random graphs with edge lengths 5..60, as made by
+ * GraphGeneration: a sparse one (mean out-degree 4) and a dense one (32),
+ * where most relaxations change a priority. The optional argument is the
+ * number of nodes, 100000 by default. */
+public class FrontierBenchmark {
+	private static final int WARMUP_ROUNDS= 5;
+	private static final int TIMED_ROUNDS= 10;
+
+	private static final List<String> NAMES= Arrays.asList("IntHeap", "PairingHeap", "RadixHeap");
+	private static final List<Supplier<IntPriorityQueue<Integer>>> FRONTIERS= Arrays.asList(
+		IntHeap::new, PairingHeap::new, RadixHeap::new);
+
+	/** Print the mean time of one single-source run for each frontier and graph. */
+	public static void main(String[] args) {
+		int n= args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		for (int degree : new int[] {4, 32}) {
+			CompactGraph<Integer> g= randomGraph(new Random(2110), n, degree);
+			int[] dist= new int[n];
+			int changes= run(g, dist, new IntHeap<Integer>());
+			System.out.println(n + " nodes, " + g.edgeCount() + " edges, " + changes + " priority changes");
+			for (int k= 0; k < FRONTIERS.size(); k= k + 1) {
+				IntPriorityQueue<Integer> frontier= FRONTIERS.get(k).get();
+				for (int r= 0; r < WARMUP_ROUNDS; r= r + 1)
+					run(g, dist, frontier);
+				long t0= System.nanoTime();
+				for (int r= 0; r < TIMED_ROUNDS; r= r + 1)
+					run(g, dist, frontier);
+				System.out.printf("  %-12s %8.1f ms%n", NAMES.get(k),
+					(System.nanoTime() - t0) / 1e6 / TIMED_ROUNDS);
+			}
+		}
+	}
+
+	/** Run Dijkstra from node 0 with frontier, which is cleared first, storing
+	 * distances in dist (-1 if unreachable). Return the number of priority
+	 * changes. */
+	private static int run(CompactGraph<Integer> g, int[] dist, IntPriorityQueue<Integer> frontier) {
+		frontier.clear();
+		Arrays.fill(dist, -1);
+		int changes= 0;
+		frontier.add(g.node(0), 0);
+		while (!frontier.isEmpty()) {
+			int d= frontier.peekPriority();
+			int u= frontier.poll();
+			dist[u]= d;
+			for (int i= g.edgeStart(u), end= g.edgeEnd(u); i < end; i= i + 1) {
+				Integer v= g.node(g.target(i));
+				int dv= d + g.weight(i);
+				if (dist[v] >= 0)
+					continue;
+				if (!frontier.contains(v)) {
+					frontier.add(v, dv);
+				} else if (dv < frontier.getPriority(v)) {
+					frontier.changePriority(v, dv);
+					changes= changes + 1;
+				}
+			}
+		}
+		return changes;
+	}
+
+	/** Return a graph of n nodes with degree * n random edges of weight 5..60. */
+	private static CompactGraph<Integer> randomGraph(Random r, int n, int degree) {
+		CompactGraph.Builder<Integer> b= new CompactGraph.Builder<>();
+		for (int u= 0; u < n; u= u + 1)
+			b.addNode(u);
+		for (int k= 0; k < degree * n; k= k + 1)
+			b.addEdge(r.nextInt(n), r.nextInt(n), 5 + r.nextInt(56));
+		return b.build();
+	}
+}
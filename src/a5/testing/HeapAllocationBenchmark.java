@@ -0,0 +1,125 @@
+package a5.testing;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import a4New.Heap;
+import a4New.IntHeap;
+import a5.GraphAlgorithms;
+import graph.CompactGraph;
+
+/** Times Dijkstra's algorithm on a random graph with two frontiers, an
+ * Heap of boxed Integer priorities and a reused IntHeap, and reports
+ * the bytes each allocates per settled node. Nothing but the frontier
+ * allocates: nodes are the Integers stored in the graph, and distances are
+ * kept in an int[]. Needs a JVM whose ThreadMXBean measures allocation
+ * (HotSpot does). The optional arguments are the number of nodes (100000 by
+ * default) and the mean out-degree (4). */
+public class HeapAllocationBenchmark {
+	private static final int WARMUP_ROUNDS= 10;
+	private static final int TIMED_ROUNDS= 20;
+
+	/** Print the mean time of one single-source run and the bytes allocated
+	 * per settled node, for each frontier. */
+	public static void main(String[] args) {
+		int n= args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int degree= args.length > 1 ? Integer.parseInt(args[1]) : 4;
+		CompactGraph<Integer> g= randomGraph(new Random(2110), n, degree);
+		int[] dist= new int[n];
+		System.out.println(n + " nodes, " + g.edgeCount() + " edges");
+
+		IntHeap<Integer> reused= new IntHeap<>();
+		for (int k= 0; k < WARMUP_ROUNDS; k= k + 1) {
+			runBoxed(g, k, dist);
+			runInt(g, k, dist, reused);
+		}
+
+		long b0= allocated();
+		long t0= System.nanoTime();
+		int settled= 0;
+		for (int k= 0; k < TIMED_ROUNDS; k= k + 1)
+			settled= settled + runBoxed(g, k, dist);
+		long t1= System.nanoTime();
+		long b1= allocated();
+		System.out.printf("Heap<Integer>:        %8.1f ms, %6.1f bytes/node%n",
+			(t1 - t0) / 1e6 / TIMED_ROUNDS, (b1 - b0) / (double) settled);
+
+		long b2= allocated();
+		long t2= System.nanoTime();
+		settled= 0;
+		for (int k= 0; k < TIMED_ROUNDS; k= k + 1)
+			settled= settled + runInt(g, k, dist, reused);
+		long t3= System.nanoTime();
+		long b3= allocated();
+		System.out.printf("IntHeap, reused:      %8.1f ms, %6.1f bytes/node%n",
+			(t3 - t2) / 1e6 / TIMED_ROUNDS, (b3 - b2) / (double) settled);
+	}
+
+	/** Run Dijkstra from node source with a Heap frontier, storing
+	 * distances in dist (-1 if unreachable). Return the number of nodes settled. */
+	private static int runBoxed(CompactGraph<Integer> g, int source, int[] dist) {
+		Heap<Integer, Integer> frontier= new Heap<>(new GraphAlgorithms.NodeComparator());
+		Arrays.fill(dist, -1);
+		int settled= 0;
+		frontier.add(g.node(source), 0);
+		while (!frontier.isEmpty()) {
+			int d= frontier.getPriority(frontier.peek());
+			int u= frontier.poll();
+			dist[u]= d;
+			settled= settled + 1;
+			for (int i= g.edgeStart(u), end= g.edgeEnd(u); i < end; i= i + 1) {
+				Integer v= g.node(g.target(i));
+				int dv= d + g.weight(i);
+				if (dist[v] >= 0)
+					continue;
+				if (!frontier.contain(v))
+					frontier.add(v, dv);
+				else if (dv < frontier.getPriority(v))
+					frontier.changePriority(v, dv);
+			}
+		}
+		return settled;
+	}
+
+	/** Same as runBoxed, but with frontier, which is cleared first. */
+	private static int runInt(CompactGraph<Integer> g, int source, int[] dist, IntHeap<Integer> frontier) {
+		frontier.clear();
+		Arrays.fill(dist, -1);
+		int settled= 0;
+		frontier.add(g.node(source), 0);
+		while (!frontier.isEmpty()) {
+			int d= frontier.peekPriority();
+			int u= frontier.poll();
+			dist[u]= d;
+			settled= settled + 1;
+			for (int i= g.edgeStart(u), end= g.edgeEnd(u); i < end; i= i + 1) {
+				Integer v= g.node(g.target(i));
+				int dv= d + g.weight(i);
+				if (dist[v] >= 0)
+					continue;
+				if (!frontier.contains(v))
+					frontier.add(v, dv);
+				else if (dv < frontier.getPriority(v))
+					frontier.changePriority(v, dv);
+			}
+		}
+		return settled;
+	}
+
+	/** Return the number of bytes allocated so far by this thread. */
+	private static long allocated() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+			.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/** Return a graph of n nodes with degree * n random edges of weight 1..1000. */
+	private static CompactGraph<Integer> randomGraph(Random r, int n, int degree) {
+		CompactGraph.Builder<Integer> b= new CompactGraph.Builder<>();
+		for (int u= 0; u < n; u= u + 1)
+			b.addNode(u);
+		for (int k= 0; k < degree * n; k= k + 1)
+			b.addEdge(r.nextInt(n), r.nextInt(n), 1 + r.nextInt(1000));
+		return b.build();
+	}
+}
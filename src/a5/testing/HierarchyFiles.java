@@ -0,0 +1,36 @@
+package a5.testing;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.json.JSONObject;
+
+import a5.ContractionHierarchy;
+import gui.Graph;
+import gui.NodeData;
+import gui.TextIO;
+
+/** Writes contraction hierarchies for maps, to be loaded later with
+ * Graph.loadHierarchy instead of being built again.
+ *
+ * Usage: HierarchyFiles map [out]. The hierarchy of info/Maps/X.txt is
+ * written to out, by default info/Maps/Xhierarchy.txt. */
+public class HierarchyFiles {
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("usage: HierarchyFiles map [out]");
+			return;
+		}
+		String map= args[0];
+		String out= args.length > 1 ? args[1] : map.replaceFirst("\\.txt$", "") + "hierarchy.txt";
+
+		Graph g= Graph.getJsonGraph(new JSONObject(TextIO.read(new File(map))));
+		long t0= System.nanoTime();
+		ContractionHierarchy<NodeData> ch= ContractionHierarchy.build(g.compact());
+		long t1= System.nanoTime();
+		ch.write(out);
+		System.out.printf("%s: %d nodes, %d shortcuts in %.2f ms%n", out,
+			g.getNodesSize(), ch.shortcutCount(), (t1 - t0) / 1e6);
+	}
+}
@@ -0,0 +1,119 @@
+package a5.testing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import a5.GraphAlgorithms;
+import graph.AdjacencyListGraph;
+import graph.IndexedGraph;
+import graph.LabeledEdge;
+import graph.Node;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class IndexedGraphTester {
+
+	@Test
+	/** Adding, looking up and removing edges, and the errors for duplicate <br>
+	 * edges and for using removed nodes and edges. */
+	public void test10Semantics() {
+		IndexedGraph<String, Integer> g= new IndexedGraph<>();
+		assertTrue(g.isEmpty());
+		IndexedGraph<String, Integer>.Node a= g.addNode("a");
+		IndexedGraph<String, Integer>.Node b= g.addNode("b");
+		IndexedGraph<String, Integer>.Node c= g.addNode("c");
+		IndexedGraph<String, Integer>.Edge ab= g.addEdge(a, b, 1);
+		g.addEdge(b, c, 2);
+		g.addEdge(c, a, 3);
+		assertEquals(3, g.nodes().size());
+		assertEquals(3, g.edges().size());
+		assertEquals(ab, a.outgoing().get(b));
+		assertEquals(ab, b.incoming().get(a));
+		assertSame(b, ab.target());
+		assertNull(a.outgoing().get(c));
+		assertEquals(Integer.valueOf(1), ab.label());
+
+		try {
+			g.addEdge(a, b, 4);
+			throw new AssertionError("expected a duplicate edge");
+		} catch (IllegalStateException expected) {}
+
+		assertEquals(Integer.valueOf(1), ab.remove());
+		assertFalse(a.outgoing().containsKey(b));
+		assertEquals(2, g.edges().size());
+		try {
+			ab.label();
+			throw new AssertionError("expected a removed edge");
+		} catch (IllegalStateException expected) {}
+		g.addEdge(a, b, 5);
+
+		assertEquals("c", c.remove());
+		assertEquals(2, g.nodes().size());
+		assertEquals(1, g.edges().size());
+		assertTrue(b.outgoing().isEmpty());
+		assertFalse(g.nodes().contains(c));
+		try {
+			c.outgoing();
+			throw new AssertionError("expected a removed node");
+		} catch (IllegalStateException expected) {}
+	}
+
+	@Test
+	/** On random graphs with edges removed, shortest paths are the same as <br>
+	 * in an AdjacencyListGraph with the same edges. */
+	public void test20SameAsAdjacencyList() {
+		Random r= new Random(2110);
+		for (int t= 0; t < 100; t= t + 1) {
+			int n= 2 + r.nextInt(30);
+			AdjacencyListGraph<Integer, Integer> ag= new AdjacencyListGraph<>();
+			IndexedGraph<Integer, Integer> ig= new IndexedGraph<>();
+			List<AdjacencyListGraph<Integer, Integer>.Node> an= new ArrayList<>();
+			List<IndexedGraph<Integer, Integer>.Node> in= new ArrayList<>();
+			for (int k= 0; k < n; k= k + 1) {
+				an.add(ag.addNode(k));
+				in.add(ig.addNode(k));
+			}
+			List<IndexedGraph<Integer, Integer>.Edge> edges= new ArrayList<>();
+			for (int k= 0; k < 4 * n; k= k + 1) {
+				int u= r.nextInt(n);
+				int v= r.nextInt(n);
+				if (u != v && !an.get(u).outgoing().containsKey(an.get(v))) {
+					int w= 1 + r.nextInt(20);
+					ag.addEdge(an.get(u), an.get(v), w);
+					edges.add(ig.addEdge(in.get(u), in.get(v), w));
+				}
+			}
+			for (IndexedGraph<Integer, Integer>.Edge e : edges) {
+				if (r.nextInt(3) == 0) {
+					an.get(e.source().getData()).outgoing().get(an.get(e.target().getData())).remove();
+					e.remove();
+				}
+			}
+			assertEquals(ag.edges().size(), ig.edges().size());
+			for (int u= 0; u < n; u= u + 1) {
+				for (int v= 0; v < n; v= v + 1) {
+					assertEquals(weight(GraphAlgorithms.shortestPath(an.get(u), an.get(v))),
+						weight(GraphAlgorithms.shortestPath(in.get(u), in.get(v))));
+				}
+			}
+		}
+	}
+
+	/** Return the sum of the weights of the edges on path, or -1 if it is empty. */
+	private static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>> int weight(List<N> path) {
+		int sum= 0;
+		for (int k= 0; k + 1 < path.size(); k= k + 1)
+			sum= sum + path.get(k).outgoing().get(path.get(k + 1)).label();
+		return path.isEmpty() ? -1 : sum;
+	}
+}
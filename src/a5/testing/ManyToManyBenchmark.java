@@ -0,0 +1,83 @@
+package a5.testing;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONObject;
+
+import a5.GraphAlgorithms;
+import a5.ManyToManyPaths;
+import gui.Adapter;
+import gui.Graph;
+import gui.NodeData;
+import gui.TextIO;
+
+/** Times distances from a few sources to every node of a map: one
+ * shortestPath call per pair against one ManyToManyPaths batch. Run main from
+ * the project directory (so that info/ is found); the optional arguments are
+ * the map file, info/Maps/seed128.txt by default, and the number of sources,
+ * 5 by default. */
+public class ManyToManyBenchmark {
+	private static final int WARMUP_ROUNDS= 20;
+	private static final int TIMED_ROUNDS= 50;
+
+	/** Print the mean time of one batch for each variant. */
+	public static void main(String[] args) {
+		String map= args.length > 0 ? args[0] : "info/Maps/seed128.txt";
+		int count= args.length > 1 ? Integer.parseInt(args[1]) : 5;
+		Graph g= getGraph(map);
+		List<NodeData> targets= new ArrayList<>(g.getNodes());
+		List<NodeData> sources= targets.subList(0, Math.min(count, targets.size()));
+
+		for (int k= 0; k < WARMUP_ROUNDS; k= k + 1) {
+			runPairs(g, sources, targets);
+			runBatch(g, sources, targets);
+		}
+
+		long t0= System.nanoTime();
+		for (int k= 0; k < TIMED_ROUNDS; k= k + 1)
+			runPairs(g, sources, targets);
+		long t1= System.nanoTime();
+		for (int k= 0; k < TIMED_ROUNDS; k= k + 1)
+			runBatch(g, sources, targets);
+		long t2= System.nanoTime();
+
+		System.out.println(map + ": " + sources.size() + " sources x " + targets.size() + " targets");
+		System.out.printf("shortestPath per pair: %10.1f us/batch%n", (t1 - t0) / 1e3 / TIMED_ROUNDS);
+		System.out.printf("ManyToManyPaths:       %10.1f us/batch%n", (t2 - t1) / 1e3 / TIMED_ROUNDS);
+	}
+
+	/** Find every path with its own search, as Adapter.shortest does. */
+	private static int runPairs(Graph g, List<NodeData> sources, List<NodeData> targets) {
+		int total= 0;
+		for (NodeData s : sources) {
+			for (NodeData t : targets) {
+				Adapter a= new Adapter(g);
+				total= total + GraphAlgorithms.shortestPath(a.wrap(s), a.wrap(t)).size();
+			}
+		}
+		return total;
+	}
+
+	/** Find every distance with one batch, and every path from it. */
+	private static int runBatch(Graph g, List<NodeData> sources, List<NodeData> targets) {
+		ManyToManyPaths<NodeData> paths= Adapter.shortestMany(g, sources, targets);
+		int total= 0;
+		for (NodeData s : sources) {
+			for (List<NodeData> path : paths.pathsFrom(s))
+				total= total + path.size();
+		}
+		return total;
+	}
+
+	/** Return a graph for file named s in the info. */
+	private static Graph getGraph(String s) {
+		try {
+			return Graph.getJsonGraph(new JSONObject(TextIO.read(new File(s))));
+		} catch (IOException e) {
+			throw new RuntimeException("IO Exception reading in graph " + s);
+		}
+	}
+}
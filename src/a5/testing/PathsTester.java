@@ -1,17 +1,37 @@
 package a5.testing;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import org.json.JSONObject;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
+import a4New.HeapMetrics;
+import a4New.IntPriorityQueue;
+import a4New.PairingHeap;
+import a4New.RadixHeap;
+import a5.AllPairsShortestPaths;
+import a5.ContractionHierarchy;
+import a5.GraphAlgorithms;
+import a5.ManyToManyPaths;
+import a5.ShortestPathCache;
 import gui.Adapter;
 import gui.Graph;
 import gui.NodeData;
@@ -50,6 +70,10 @@ public class PathsTester {
 		List<NodeData> path1= Adapter.shortest(n, n1);
 		List<NodeData> expected1= new LinkedList<>();
 		assertEquals(expected1, path1);
+		assertEquals(expected1, Adapter.shortestCompact(n, n1));
+		assertEquals(expected1, Adapter.shortestAStar(n, n1));
+		Adapter a= new Adapter(g);
+		assertEquals(expected1, GraphAlgorithms.shortestPathBidirectional(a.wrap(n), a.wrap(n1)));
 	}
 
 	@Test
@@ -127,6 +151,213 @@ public class PathsTester {
 		checkAllShortestPaths(g, pd);
 	}
 
+	@Test
+	/** Check the all-pairs engine (both algorithms) against every distance <br>
+	 * fixture, and check that what it writes reads back as the same matrix. */
+	public void test90AllPairsMatchFixtures() throws IOException {
+		String[] maps= { "TestBoard1", "Seed16", "Board3", "TestBoard2", "seed128" };
+		for (String m : maps) {
+			Graph g= getGraph("info/Maps/" + m + ".txt");
+			PathData pd= new PathData("info/Maps/" + m + "distances.txt", g);
+			AllPairsShortestPaths<NodeData> ap= AllPairsShortestPaths.of(g.compact());
+			AllPairsShortestPaths<NodeData> fw=
+				AllPairsShortestPaths.floydWarshall(g.compact(), ForkJoinPool.commonPool());
+			for (int r= 0; r < pd.size; r= r + 1) {
+				for (int c= 0; c < pd.size; c= c + 1) {
+					assertEquals(pd.dist[r][c], ap.distance(pd.nodes[r], pd.nodes[c]));
+					assertEquals(pd.dist[r][c], fw.distance(pd.nodes[r], pd.nodes[c]));
+					assertEquals(pd.dist[r][c], pathSum(ap.path(pd.nodes[r], pd.nodes[c])));
+				}
+			}
+
+			StringWriter out= new StringWriter();
+			ap.write(out, Arrays.asList(pd.nodes));
+			PathData written= new PathData(pd.names, null, g);
+			written.readFile(new BufferedReader(new StringReader(out.toString())));
+			assertArrayEquals(pd.names, written.names);
+			assertArrayEquals(pd.dist, written.dist);
+		}
+	}
+
+	@Test
+	/** Check paths read from the graph's cache of shortest-path trees against <br>
+	 * every distance fixture, and check that the cache stays bounded. */
+	public void test95ShortestPathCache() {
+		String[] maps= { "TestBoard1", "Seed16", "Board3", "TestBoard2", "seed128" };
+		for (String m : maps) {
+			Graph g= getGraph("info/Maps/" + m + ".txt");
+			PathData pd= new PathData("info/Maps/" + m + "distances.txt", g);
+			ShortestPathCache<Adapter.Node, Adapter.Edge> cache= g.pathCache();
+			Adapter a= new Adapter(g);
+			for (int r= 0; r < pd.size; r= r + 1) {
+				for (int c= 0; c < pd.size; c= c + 1) {
+					List<NodeData> list= Adapter.shortestCached(pd.nodes[r], pd.nodes[c]);
+					assertEquals(pd.dist[r][c], pathSum(list));
+					assertEquals(pd.dist[r][c], cache.distance(a.wrap(pd.nodes[r]), a.wrap(pd.nodes[c])));
+					if (list.size() > 0) {
+						assertEquals(pd.nodes[r], list.get(0));
+						assertEquals(pd.nodes[c], list.get(list.size() - 1));
+					}
+				}
+				assertTrue(cache.isCached(a.wrap(pd.nodes[r])));
+				assertTrue(cache.size() <= cache.capacity());
+			}
+			cache.invalidate();
+			assertEquals(0, cache.size());
+		}
+	}
+
+	@Test
+	/** Check batch queries from the first half of the nodes of each fixture <br>
+	 * to all of them (listed twice, to check duplicates are ignored). */
+	public void test96ManyToManyMatchFixtures() {
+		String[] maps= { "TestBoard1", "Seed16", "Board3", "TestBoard2", "seed128" };
+		for (String m : maps) {
+			Graph g= getGraph("info/Maps/" + m + ".txt");
+			PathData pd= new PathData("info/Maps/" + m + "distances.txt", g);
+			List<NodeData> sources= Arrays.asList(pd.nodes).subList(0, (pd.size + 1) / 2);
+			List<NodeData> targets= new ArrayList<>(Arrays.asList(pd.nodes));
+			targets.addAll(Arrays.asList(pd.nodes));
+			ManyToManyPaths<NodeData> paths= Adapter.shortestMany(g, sources, targets);
+			assertEquals(sources, paths.sources());
+			assertEquals(Arrays.asList(pd.nodes), paths.targets());
+			for (int r= 0; r < sources.size(); r= r + 1) {
+				for (int c= 0; c < pd.size; c= c + 1) {
+					assertEquals(pd.dist[r][c], paths.distance(pd.nodes[r], pd.nodes[c]));
+					assertEquals(pd.dist[r][c], paths.distances()[r][c]);
+					List<NodeData> path= paths.path(pd.nodes[r], pd.nodes[c]);
+					assertEquals(pd.dist[r][c], pathSum(path));
+					assertEquals(pd.nodes[r], path.get(0));
+					assertEquals(pd.nodes[c], path.get(path.size() - 1));
+				}
+			}
+		}
+	}
+
+	@Test
+	/** Check contraction hierarchies read back from the files written next <br>
+	 * to each map (see HierarchyFiles) against every distance fixture. */
+	public void test97HierarchyFiles() throws IOException {
+		String[] maps= { "TestBoard1", "Seed16", "Board3", "TestBoard2", "seed128" };
+		for (String m : maps) {
+			Graph g= getGraph("info/Maps/" + m + ".txt");
+			PathData pd= new PathData("info/Maps/" + m + "distances.txt", g);
+			g.loadHierarchy("info/Maps/" + m + "hierarchy.txt");
+			for (int r= 0; r < pd.size; r= r + 1) {
+				for (int c= 0; c < pd.size; c= c + 1) {
+					assertEquals(pd.dist[r][c], g.hierarchy().distance(pd.nodes[r], pd.nodes[c]));
+					assertEquals(pd.dist[r][c], pathSum(Adapter.shortestHierarchy(pd.nodes[r], pd.nodes[c])));
+				}
+			}
+		}
+	}
+
+	@Test
+	/** A hierarchy file that does not match the graph (an edge weight edited, <br>
+	 * an index out of range, a repeated rank) must be rejected with an IOException. */
+	public void test97RejectBadHierarchyFiles() throws IOException {
+		Graph g= getGraph("info/Maps/Seed16.txt");
+		String text= new String(Files.readAllBytes(
+			new File("info/Maps/Seed16hierarchy.txt").toPath()));
+		assertTrue(readsHierarchy(text, g));
+
+		// lines: node count, names, ranks, edge count, then "from to weight middle"
+		String[] lines= text.split("\n");
+		int e= 4;
+		while (!lines[e].endsWith(" -1")) e= e + 1;
+		String[] edge= lines[e].split(" ");
+		String[] bad= lines.clone();
+		bad[e]= edge[0] + " " + edge[1] + " " + (Integer.parseInt(edge[2]) + 1) + " -1";
+		assertTrue(!readsHierarchy(String.join("\n", bad), g));
+		bad= lines.clone();
+		bad[e]= "99999 " + edge[1] + " " + edge[2] + " -1";
+		assertTrue(!readsHierarchy(String.join("\n", bad), g));
+		bad= lines.clone();
+		bad[2]= lines[2].replaceAll("[0-9]+", "0");
+		assertTrue(!readsHierarchy(String.join("\n", bad), g));
+	}
+
+	/** Return true iff text reads as a contraction hierarchy for g. */
+	private static boolean readsHierarchy(String text, Graph g) {
+		try {
+			ContractionHierarchy.read(new StringReader(text), g.compact());
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	@Test
+	/** Search every pair of Board3 with a counting frontier (see HeapMetrics). <br>
+	 * The paths must not change, and the counts must be consistent. */
+	public void test98HeapMetrics() throws IOException {
+		Graph g= getGraph("info/Maps/Board3.txt");
+		PathData pd= new PathData("info/Maps/Board3distances.txt", g);
+		HeapMetrics metrics= new HeapMetrics();
+		for (int r= 0; r < pd.size; r= r + 1) {
+			for (int c= 0; c < pd.size; c= c + 1)
+				assertEquals(pd.dist[r][c], pathSum(Adapter.shortest(pd.nodes[r], pd.nodes[c], metrics)));
+		}
+		System.out.println("Board3, all pairs:\n" + metrics.report());
+		assertTrue(metrics.adds() > 0);
+		assertTrue(metrics.polls() <= metrics.adds());
+		assertTrue(metrics.peakSize() <= pd.size);
+		assertTrue(metrics.comparisons() >= metrics.swaps());
+		long[] sifts= metrics.siftHistogram();
+		long swaps= 0;
+		for (int d= 0; d < sifts.length; d= d + 1)
+			swaps= swaps + d * sifts[d];
+		assertEquals(metrics.swaps(), swaps);
+	}
+
+	@Test
+	/** A tree whose search overlaps invalidate() must not be cached: it may <br>
+	 * describe the graph as it was before the change. */
+	public void test99CacheDropsTreeSearchedDuringInvalidate() {
+		ShortestPathCache<StubNode, StubEdge> cache= new ShortestPathCache<>(4);
+		StubNode a= new StubNode();
+		StubNode b= new StubNode();
+		new StubEdge(a, b, 5);
+		// the graph "changes" while the search from a is running
+		a.onVisit= cache::invalidate;
+		assertEquals(5, cache.distance(a, b));
+		assertTrue(!cache.isCached(a));
+		a.onVisit= null;
+		assertEquals(5, cache.distance(a, b));
+		assertTrue(cache.isCached(a));
+	}
+
+	/** A node of a hand-built graph that runs onVisit (if not null) <br>
+	 * whenever its outgoing edges are read. */
+	private static class StubNode implements graph.Node<StubNode, StubEdge> {
+		private final Map<StubNode, StubEdge> out= new HashMap<>();
+		private Runnable onVisit;
+
+		@Override public Map<StubNode, StubEdge> outgoing() {
+			if (onVisit != null) onVisit.run();
+			return out;
+		}
+		@Override public Map<StubNode, StubEdge> incoming() { return new HashMap<>(); }
+	}
+
+	/** An edge of a hand-built graph, added to its source's outgoing edges. */
+	private static class StubEdge implements graph.LabeledEdge<StubNode, StubEdge, Integer> {
+		private final StubNode source;
+		private final StubNode target;
+		private final int length;
+
+		StubEdge(StubNode source, StubNode target, int length) {
+			this.source= source;
+			this.target= target;
+			this.length= length;
+			source.out.put(target, this);
+		}
+
+		@Override public StubNode source() { return source; }
+		@Override public StubNode target() { return target; }
+		@Override public Integer label() { return length; }
+	}
+
 	/** Check the shortest paths in g from each node to each node, as given by <br>
 	 * Adapter.shortestPaths, matches that in pd. <br>
 	 * Use the ordering of nodes as given in pd.names. */
@@ -147,6 +378,34 @@ public class PathsTester {
 					assertEquals(pd.nodes[r], list.get(0));
 					assertEquals(pd.nodes[c], list.get(list.size() - 1));
 				}
+
+				// the bidirectional search, A* and the compact snapshot must agree
+				List<NodeData> aStar= Adapter.shortestAStar(pd.nodes[r], pd.nodes[c]);
+				assertEquals(pd.dist[r][c], pathSum(aStar));
+				assertEquals(list.size() > 0, aStar.size() > 0);
+
+				Adapter a= new Adapter(g);
+				List<NodeData> bidirectional= unwrap(
+					GraphAlgorithms.shortestPathBidirectional(a.wrap(pd.nodes[r]), a.wrap(pd.nodes[c])));
+				assertEquals(pd.dist[r][c], pathSum(bidirectional));
+				assertEquals(list.size() > 0, bidirectional.size() > 0);
+
+				List<NodeData> compact= Adapter.shortestCompact(pd.nodes[r], pd.nodes[c]);
+				assertEquals(pd.dist[r][c], pathSum(compact));
+				assertEquals(list.size() > 0, compact.size() > 0);
+
+				List<NodeData> hierarchy= Adapter.shortestHierarchy(pd.nodes[r], pd.nodes[c]);
+				assertEquals(pd.dist[r][c], pathSum(hierarchy));
+				assertEquals(list.size() > 0, hierarchy.size() > 0);
+
+				// so must shortestPath with the other frontiers
+				for (IntPriorityQueue<Adapter.Node> frontier : Arrays.<IntPriorityQueue<Adapter.Node>>asList(
+						new PairingHeap<>(), new RadixHeap<>())) {
+					List<NodeData> other= unwrap(
+						GraphAlgorithms.shortestPath(a.wrap(pd.nodes[r]), a.wrap(pd.nodes[c]), frontier));
+					assertEquals(pd.dist[r][c], pathSum(other));
+					assertEquals(list.size() > 0, other.size() > 0);
+				}
 			}
 		}
 
@@ -161,6 +420,13 @@ public class PathsTester {
 		}
 	}
 	
+	/** Return the NodeData wrapped by the nodes of path, in order. */
+	private static List<NodeData> unwrap(List<Adapter.Node> path) {
+		List<NodeData> result= new LinkedList<>();
+		for (Adapter.Node n : path) result.add(n.impl());
+		return result;
+	}
+
 	/** Return the sum of the weights of the edges on path pa. <br>
 	 * Precondition: pa contains at least 1 node. <br>
 	 * If 1 node, it's a path of length 0, i.e. with no edges. */
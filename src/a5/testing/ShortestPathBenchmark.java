@@ -0,0 +1,139 @@
+package a5.testing;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONObject;
+
+import a5.CompactSearch;
+import a5.ContractionHierarchy;
+import a5.GraphAlgorithms;
+import a5.Landmarks;
+import graph.CompactGraph;
+import gui.Adapter;
+import gui.Graph;
+import gui.NodeData;
+import gui.TextIO;
+
+/** Times all-pairs shortestPath queries on a map: with and without the
+ * depth-first reachability pass that shortestPath used to run before every
+ * search, on the graph's compact snapshot, and with its contraction hierarchy. Run main from the project
+ * directory (so that info/ is found); the optional argument is the map file,
+ * info/Maps/seed128.txt by default. */
+public class ShortestPathBenchmark {
+	private static final int WARMUP_ROUNDS= 20;
+	private static final int TIMED_ROUNDS= 50;
+
+	/** Print the mean latency of one query for each variant. */
+	public static void main(String[] args) {
+		String map= args.length > 0 ? args[0] : "info/Maps/seed128.txt";
+		Graph g= getGraph(map);
+		Adapter a= new Adapter(g);
+		List<Adapter.Node> nodes= new ArrayList<>();
+		for (NodeData n : g.getNodes())
+			nodes.add(a.wrap(n));
+
+		for (int k= 0; k < WARMUP_ROUNDS; k= k + 1) {
+			runWithReachabilityPass(nodes);
+			run(nodes);
+			runCompact(g.compact());
+			runHierarchy(g.hierarchy());
+		}
+
+		int queries= nodes.size() * nodes.size() * TIMED_ROUNDS;
+		long t0= System.nanoTime();
+		for (int k= 0; k < TIMED_ROUNDS; k= k + 1)
+			runWithReachabilityPass(nodes);
+		long t1= System.nanoTime();
+		for (int k= 0; k < TIMED_ROUNDS; k= k + 1)
+			run(nodes);
+		long t2= System.nanoTime();
+		for (int k= 0; k < TIMED_ROUNDS; k= k + 1)
+			runCompact(g.compact());
+		long t3= System.nanoTime();
+		for (int k= 0; k < TIMED_ROUNDS; k= k + 1)
+			runHierarchy(g.hierarchy());
+		long t4= System.nanoTime();
+
+		System.out.println(map + ": " + nodes.size() + " nodes, " + queries + " queries per variant");
+		System.out.printf("dfs pre-pass + search: %8.0f ns/query%n", (t1 - t0) / (double) queries);
+		System.out.printf("search only:           %8.0f ns/query%n", (t2 - t1) / (double) queries);
+		System.out.printf("compact snapshot:      %8.0f ns/query%n", (t3 - t2) / (double) queries);
+		System.out.printf("contraction hierarchy: %8.0f ns/query%n", (t4 - t3) / (double) queries);
+
+		// nodes settled per query on the compact snapshot
+		CompactGraph<NodeData> cg= g.compact();
+		double ratio= g.minLengthPerPixel();
+		Landmarks<NodeData> landmarks= new Landmarks<>(cg, 4);
+		CompactSearch search= new CompactSearch(cg.nodeCount());
+		long dijkstra= 0, straightLine= 0, alt= 0;
+		for (int u= 0; u < cg.nodeCount(); u= u + 1) {
+			for (int v= 0; v < cg.nodeCount(); v= v + 1) {
+				NodeData target= cg.node(v);
+				search.shortestPath(cg, u, v);
+				dijkstra= dijkstra + search.settledCount();
+				search.shortestPath(cg, u, v, w -> (int) (ratio * cg.node(w).pixelDistance(target)));
+				straightLine= straightLine + search.settledCount();
+				search.shortestPath(cg, u, v, landmarks.heuristic(v));
+				alt= alt + search.settledCount();
+			}
+		}
+		double pairs= cg.nodeCount() * (double) cg.nodeCount();
+		System.out.printf("settled/query: dijkstra %.1f, A* straight-line %.1f, A* landmarks %.1f%n",
+			dijkstra / pairs, straightLine / pairs, alt / pairs);
+	}
+
+	/** Query every pair, first checking reachability with a full dfs. */
+	private static int runWithReachabilityPass(List<Adapter.Node> nodes) {
+		int total= 0;
+		for (Adapter.Node u : nodes) {
+			for (Adapter.Node v : nodes) {
+				if (GraphAlgorithms.dfs(u).contains(v))
+					total= total + GraphAlgorithms.shortestPath(u, v).size();
+			}
+		}
+		return total;
+	}
+
+	/** Query every pair. */
+	private static int run(List<Adapter.Node> nodes) {
+		int total= 0;
+		for (Adapter.Node u : nodes) {
+			for (Adapter.Node v : nodes)
+				total= total + GraphAlgorithms.shortestPath(u, v).size();
+		}
+		return total;
+	}
+
+	/** Query every pair on the compact snapshot g. */
+	private static int runCompact(CompactGraph<NodeData> g) {
+		int total= 0;
+		for (int u= 0; u < g.nodeCount(); u= u + 1) {
+			for (int v= 0; v < g.nodeCount(); v= v + 1)
+				total= total + GraphAlgorithms.shortestPath(g, u, v).length;
+		}
+		return total;
+	}
+
+	/** Query every pair with the contraction hierarchy ch. */
+	private static int runHierarchy(ContractionHierarchy<NodeData> ch) {
+		int total= 0;
+		int n= ch.graph().nodeCount();
+		for (int u= 0; u < n; u= u + 1) {
+			for (int v= 0; v < n; v= v + 1)
+				total= total + ch.path(u, v).length;
+		}
+		return total;
+	}
+
+	/** Return a graph for file named s in the info. */
+	private static Graph getGraph(String s) {
+		try {
+			return Graph.getJsonGraph(new JSONObject(TextIO.read(new File(s))));
+		} catch (IOException e) {
+			throw new RuntimeException("IO Exception reading in graph " + s);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package a5.testing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import a5.SpanningTrees;
+import a5.UnionFind;
+import graph.AdjacencyListGraph;
+import gui.Adapter;
+import gui.Graph;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SpanningTreesTester {
+
+	@Test
+	/** union, find and the number of sets. */
+	public void test10UnionFind() {
+		UnionFind sets= new UnionFind(5);
+		assertEquals(5, sets.sets());
+		assertTrue(sets.union(0, 1));
+		assertTrue(sets.union(3, 4));
+		assertFalse(sets.union(1, 0));
+		assertTrue(sets.union(1, 4));
+		assertEquals(2, sets.sets());
+		assertTrue(sets.connected(0, 3));
+		assertFalse(sets.connected(2, 3));
+		assertEquals(4, sets.sizeOf(3));
+	}
+
+	@Test
+	/** Components of a graph with two components and a lone node, with the <br>
+	 * direction of edges ignored. */
+	public void test20Components() {
+		AdjacencyListGraph<String, Integer> g= new AdjacencyListGraph<>();
+		AdjacencyListGraph<String, Integer>.Node a= g.addNode("a");
+		AdjacencyListGraph<String, Integer>.Node b= g.addNode("b");
+		AdjacencyListGraph<String, Integer>.Node c= g.addNode("c");
+		AdjacencyListGraph<String, Integer>.Node d= g.addNode("d");
+		g.addNode("e");
+		g.addEdge(a, b, 1);
+		g.addEdge(c, b, 1);
+		g.addEdge(d, d, 1);
+		assertEquals(3, SpanningTrees.components(g).size());
+		assertFalse(SpanningTrees.isConnected(g));
+		g.addEdge(d, a, 1);
+		assertEquals(2, SpanningTrees.components(g).size());
+		assertTrue(SpanningTrees.isConnected(new AdjacencyListGraph<String, Integer>()));
+	}
+
+	@Test
+	/** On random graphs, Kruskal and Prim give forests of the same weight, <br>
+	 * with one edge fewer than nodes per component. */
+	public void test30RandomForests() {
+		Random r= new Random(2110);
+		for (int t= 0; t < 200; t= t + 1) {
+			int n= 1 + r.nextInt(25);
+			AdjacencyListGraph<Integer, Integer> g= new AdjacencyListGraph<>();
+			List<AdjacencyListGraph<Integer, Integer>.Node> nodes= new ArrayList<>();
+			for (int k= 0; k < n; k= k + 1)
+				nodes.add(g.addNode(k));
+			for (int k= r.nextInt(3 * n); k > 0; k= k - 1) {
+				AdjacencyListGraph<Integer, Integer>.Node u= nodes.get(r.nextInt(n));
+				AdjacencyListGraph<Integer, Integer>.Node v= nodes.get(r.nextInt(n));
+				if (!u.outgoing().containsKey(v))
+					g.addEdge(u, v, r.nextInt(50));
+			}
+			List<AdjacencyListGraph<Integer, Integer>.Edge> kruskal= SpanningTrees.kruskal(g);
+			List<AdjacencyListGraph<Integer, Integer>.Edge> prim= SpanningTrees.prim(g);
+			int trees= SpanningTrees.components(g).size();
+			assertEquals(n - trees, kruskal.size());
+			assertEquals(n - trees, prim.size());
+			assertEquals(SpanningTrees.weight(kruskal), SpanningTrees.weight(prim));
+		}
+	}
+
+	@Test
+	/** Generated boards are connected, and their spanning trees agree. */
+	public void test40RandomBoards() {
+		for (long seed= 0; seed < 20; seed= seed + 1) {
+			Graph g= Graph.randomBoard(seed);
+			assertTrue(g.isConnected());
+			Adapter a= new Adapter(g);
+			assertTrue(SpanningTrees.isConnected(a));
+			assertEquals(g.getNodesSize() - 1, SpanningTrees.kruskal(a).size());
+			assertEquals(SpanningTrees.weight(SpanningTrees.kruskal(a)),
+				SpanningTrees.weight(SpanningTrees.prim(a)));
+		}
+	}
+}
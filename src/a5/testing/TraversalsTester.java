@@ -0,0 +1,119 @@
+package a5.testing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import org.json.JSONObject;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import a5.GraphAlgorithms;
+import a5.Traversals;
+import graph.AdjacencyListGraph;
+import gui.Adapter;
+import gui.Graph;
+import gui.NodeData;
+import gui.TextIO;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TraversalsTester {
+	private AdjacencyListGraph<String, Integer> g;
+	private AdjacencyListGraph<String, Integer>.Node a, b, c, d, e;
+
+	/** Build the DAG a->b, a->c, b->d, c->d and the lone node e. */
+	private void diamond() {
+		g= new AdjacencyListGraph<>();
+		a= g.addNode("a");
+		b= g.addNode("b");
+		c= g.addNode("c");
+		d= g.addNode("d");
+		e= g.addNode("e");
+		g.addEdge(a, b, 1);
+		g.addEdge(a, c, 1);
+		g.addEdge(b, d, 1);
+		g.addEdge(c, d, 1);
+	}
+
+	@Test
+	/** Each traversal returns every reachable node exactly once, start first. */
+	public void test10EachNodeOnce() {
+		diamond();
+		for (Iterable<AdjacencyListGraph<String, Integer>.Node> t : List.of(
+			Traversals.dfs(a), Traversals.bfs(a), Traversals.topologicalOrder(a))) {
+			List<AdjacencyListGraph<String, Integer>.Node> order= new ArrayList<>();
+			t.forEach(order::add);
+			assertEquals(4, order.size());
+			assertEquals(4, new HashSet<>(order).size());
+			assertEquals(a, order.get(0));
+			assertFalse(order.contains(e));
+		}
+		assertEquals(List.of(d), GraphAlgorithms.dfs(d));
+	}
+
+	@Test
+	/** bfs returns d last; topologicalOrder puts every edge forwards. */
+	public void test20Orders() {
+		diamond();
+		List<AdjacencyListGraph<String, Integer>.Node> bfs= new ArrayList<>();
+		Traversals.bfs(a).forEach(bfs::add);
+		assertEquals(d, bfs.get(3));
+
+		List<AdjacencyListGraph<String, Integer>.Node> topo= new ArrayList<>();
+		Traversals.topologicalOrder(a).forEach(topo::add);
+		for (AdjacencyListGraph<String, Integer>.Edge edge : g.edges())
+			assertTrue(topo.indexOf(edge.source()) < topo.indexOf(edge.target()));
+
+		List<AdjacencyListGraph<String, Integer>.Node> dfs= GraphAlgorithms.dfs(a);
+		// depth first: the child explored first is followed by d
+		assertEquals(d, dfs.get(2));
+	}
+
+	@Test
+	/** reaches stops at the target and topologicalOrder rejects cycles. */
+	public void test30ReachesAndCycles() {
+		diamond();
+		assertTrue(Traversals.reaches(a, d));
+		assertFalse(Traversals.reaches(d, a));
+		assertFalse(Traversals.reaches(a, e));
+
+		g.addEdge(d, a, 1);
+		Iterator<AdjacencyListGraph<String, Integer>.Node> it= Traversals.topologicalOrder(b).iterator();
+		try {
+			it.hasNext();
+			throw new AssertionError("expected a cycle");
+		} catch (IllegalStateException expected) {}
+	}
+
+	@Test
+	/** Traversals of a map see every node of its (connected) graph. */
+	public void test40Map() {
+		Graph graph= getGraph("info/Maps/seed128.txt");
+		Adapter adapter= new Adapter(graph);
+		NodeData start= graph.getNodes().iterator().next();
+		int count= 0;
+		for (Adapter.Node n : Traversals.bfs(adapter.wrap(start))) {
+			assertTrue(n == adapter.wrap(n.impl()));
+			count= count + 1;
+		}
+		assertEquals(graph.getNodesSize(), count);
+		assertEquals(graph.getNodesSize(), GraphAlgorithms.dfs(adapter.wrap(start)).size());
+	}
+
+	/** Return a graph for file named s in the info. */
+	private Graph getGraph(String s) {
+		try {
+			return Graph.getJsonGraph(new JSONObject(TextIO.read(new File(s))));
+		} catch (IOException e) {
+			throw new RuntimeException("IO Exception reading in graph " + s);
+		}
+	}
+}
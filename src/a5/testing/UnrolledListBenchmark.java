@@ -0,0 +1,67 @@
+package a5.testing;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import a2.DLinkedList;
+import a2.UnrolledList;
+
+/** Compares an UnrolledList with a DLinkedList, a java.util.LinkedList and an
+ * ArrayList of the same elements: the heap bytes each list takes per element
+ * (not counting the elements, which all lists share) and the time to iterate
+ * over it. The optional argument is the number of elements, 1000000 by
+ * default. */
+public class UnrolledListBenchmark {
+	private static final int ROUNDS= 10;
+
+	/** Print the bytes per element and the iteration time of each list. */
+	public static void main(String[] args) {
+		int n= args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		Integer[] elements= new Integer[n];
+		for (int i= 0; i < n; i= i + 1)
+			elements[i]= i;
+		System.out.println(n + " elements");
+		run("UnrolledList", UnrolledList::new, elements);
+		run("DLinkedList ", DLinkedList::new, elements);
+		run("LinkedList  ", LinkedList::new, elements);
+		run("ArrayList   ", ArrayList::new, elements);
+	}
+
+	/** Fill a new list from make with elements and print its bytes per
+	 * element and the mean time of a for-each loop over it. */
+	private static void run(String name, Supplier<List<Integer>> make, Integer[] elements) {
+		long m0= used();
+		List<Integer> list= make.get();
+		for (Integer e : elements)
+			list.add(e);
+		long m1= used();
+
+		long sum= 0;
+		for (int k= 0; k < ROUNDS; k= k + 1)
+			sum= sum + iterate(list);
+		long t0= System.nanoTime();
+		for (int k= 0; k < ROUNDS; k= k + 1)
+			sum= sum + iterate(list);
+		long t1= System.nanoTime();
+		System.out.printf("%s: %6.1f bytes/element, iteration %7.2f ms (checksum %d)%n", name,
+			(m1 - m0) / (double) elements.length, (t1 - t0) / 1e6 / ROUNDS, sum);
+	}
+
+	/** Return the sum of the elements of list, by a for-each loop. */
+	private static long iterate(List<Integer> list) {
+		long sum= 0;
+		for (int v : list)
+			sum= sum + v;
+		return sum;
+	}
+
+	/** Return the bytes of heap in use after garbage collection. */
+	private static long used() {
+		Runtime rt= Runtime.getRuntime();
+		for (int k= 0; k < 3; k= k + 1)
+			System.gc();
+		return rt.totalMemory() - rt.freeMemory();
+	}
+}
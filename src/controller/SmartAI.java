@@ -2,7 +2,9 @@ package controller;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
+import a4New.TopK;
 import model.Board;
 import model.Line;
 import model.Location;
@@ -101,6 +103,17 @@ public class SmartAI extends MinMaxAI {
 		return result;
 	}
 
+	/**
+	 * Return the k moves(b) after which the estimate of the board for me is
+	 * highest, best first. Keeps only k candidates while scanning the moves.
+	 */
+	public List<Location> bestMoves(Board b, int k) {
+		TopK<Location> best= TopK.largest(k);
+		for (Location loc : moves(b))
+			best.offer(loc, estimate(b.update(me, loc)));
+		return best.sorted();
+	}
+
 	/** Returns true iff loc is empty and has a neighbor. */
 	public boolean reasonableMove(Board b, Location loc) {
 		if (b.get(loc) != null)
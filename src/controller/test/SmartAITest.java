@@ -2,6 +2,8 @@ package controller.test;
 
 import static org.junit.Assert.*;
 
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -86,4 +88,20 @@ public class SmartAITest {
 		assertTrue(aio.estimate(boards[8]) > aio.estimate(boards[9]));
 	}
 
+	@Test
+	public void testBestMoves() {
+		List<Location> best = aix.bestMoves(boards[2], 3);
+		assertEquals(3, best.size());
+		int last = Integer.MAX_VALUE;
+		int top = Integer.MIN_VALUE;
+		for (Location loc : best) {
+			int e = aix.estimate(boards[2].update(Player.X, loc));
+			assertTrue(e <= last);
+			last = e;
+		}
+		for (Location loc : aix.moves(boards[2]))
+			top = Math.max(top, aix.estimate(boards[2].update(Player.X, loc)));
+		assertEquals(top, aix.estimate(boards[2].update(Player.X, best.get(0))));
+	}
+
 }
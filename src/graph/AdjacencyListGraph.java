@@ -1,5 +1,6 @@
 package graph;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -112,14 +113,15 @@ public class AdjacencyListGraph<VD, ED> implements graph.Graph<AdjacencyListGrap
     public VD remove() {
       checkValid();
       
-      for (Edge e : incoming.values())
+      // Edge.remove modifies the maps, so iterate over copies
+      for (Edge e : new ArrayList<Edge>(incoming.values()))
         e.remove();
         
-      for (Edge e : outgoing.values())
+      for (Edge e : new ArrayList<Edge>(outgoing.values()))
         e.remove();
       
       nodes.remove(this);
-      this.removed = false;
+      this.removed = true;
       return this.data; 
     }
   }
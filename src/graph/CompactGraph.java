@@ -0,0 +1,213 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of a weighted directed graph in compressed sparse row
+ * (CSR) form. Nodes are numbered 0..nodeCount()-1; the edges leaving node u
+ * are numbered edgeStart(u)..edgeEnd(u)-1, and edge i goes to target(i) with
+ * weight weight(i).
+ *
+ * The adjacency structure is three int arrays, so algorithms that work on
+ * node ids can traverse it without allocating. The original node objects are
+ * kept only to translate between them and ids.
+ *
+ * @param <N> The type of the original nodes
+ */
+public final class CompactGraph<N> {
+	/** edges of node u are [offsets[u]..offsets[u+1]); length nodeCount()+1 */
+	private final int[] offsets;
+	private final int[] targets;
+	private final int[] weights;
+	/** the smallest and largest weight of an edge (0 if there are no edges) */
+	private final int minWeight;
+	private final int maxWeight;
+
+	/** nodes[u] is the node with id u; ids.get(nodes[u]) == u */
+	private final Object[] nodes;
+	private final Map<N, Integer> ids;
+
+	private CompactGraph(int[] offsets, int[] targets, int[] weights,
+			Object[] nodes, Map<N, Integer> ids) {
+		this.offsets= offsets;
+		this.targets= targets;
+		this.weights= weights;
+		this.nodes= nodes;
+		this.ids= ids;
+		int min= weights.length == 0 ? 0 : Integer.MAX_VALUE;
+		int max= 0;
+		for (int w : weights) {
+			min= Math.min(min, w);
+			max= Math.max(max, w);
+		}
+		minWeight= min;
+		maxWeight= max;
+	}
+
+	/** Return a snapshot of g, whose edge weights are given by e.label(). */
+	public static <N extends Node<N,E>, E extends LabeledEdge<N,E,Integer>>
+	CompactGraph<N> of(Graph<N,E> g) {
+		Builder<N> b= new Builder<N>();
+		for (N n : g.nodes())
+			b.addNode(n);
+		for (E e : g.edges())
+			b.addEdge(b.id(e.source()), b.id(e.target()), e.label());
+		return b.build();
+	}
+
+	/** Return the number of nodes. */
+	public int nodeCount() {
+		return nodes.length;
+	}
+
+	/** Return the number of (directed) edges. */
+	public int edgeCount() {
+		return targets.length;
+	}
+
+	/** Return the smallest weight of an edge (0 if there are no edges). */
+	public int minWeight() {
+		return minWeight;
+	}
+
+	/** Return the largest weight of an edge (0 if there are no edges). */
+	public int maxWeight() {
+		return maxWeight;
+	}
+
+	/** Return the id of node n, or -1 if n is not in this graph. */
+	public int id(N n) {
+		Integer id= ids.get(n);
+		return id == null ? -1 : id;
+	}
+
+	/** Return the node with id u. */
+	@SuppressWarnings("unchecked")
+	public N node(int u) {
+		return (N) nodes[u];
+	}
+
+	/** Return the nodes with the given ids, in order. */
+	public List<N> nodes(int[] path) {
+		List<N> result= new ArrayList<N>(path.length);
+		for (int u : path)
+			result.add(node(u));
+		return result;
+	}
+
+	/** Return the index of the first edge leaving node u. */
+	public int edgeStart(int u) {
+		return offsets[u];
+	}
+
+	/** Return one past the index of the last edge leaving node u. */
+	public int edgeEnd(int u) {
+		return offsets[u + 1];
+	}
+
+	/** Return the node that edge i goes to. */
+	public int target(int i) {
+		return targets[i];
+	}
+
+	/** Return the weight of edge i. */
+	public int weight(int i) {
+		return weights[i];
+	}
+
+	/** Return this graph with every edge reversed. The result has the same
+	 * node ids as this graph. */
+	public CompactGraph<N> reverse() {
+		int n= nodeCount();
+		int[] roffsets= new int[n + 1];
+		for (int t : targets)
+			roffsets[t + 1]++;
+		for (int u= 0; u < n; u++)
+			roffsets[u + 1]+= roffsets[u];
+		int[] next= Arrays.copyOf(roffsets, n);
+		int[] rtargets= new int[targets.length];
+		int[] rweights= new int[targets.length];
+		for (int u= 0; u < n; u++) {
+			for (int i= offsets[u]; i < offsets[u + 1]; i++) {
+				int slot= next[targets[i]]++;
+				rtargets[slot]= u;
+				rweights[slot]= weights[i];
+			}
+		}
+		return new CompactGraph<N>(roffsets, rtargets, rweights, nodes, ids);
+	}
+
+	/**
+	 * Collects nodes and edges and lays them out as a CompactGraph.
+	 * Node ids are assigned in the order nodes are added.
+	 */
+	public static class Builder<N> {
+		private final List<N> nodes= new ArrayList<N>();
+		private final Map<N, Integer> ids= new HashMap<N, Integer>();
+		private int[] sources= new int[16];
+		private int[] targets= new int[16];
+		private int[] weights= new int[16];
+		private int edges;
+
+		/** Add n if it is not already present, and return its id. */
+		public int addNode(N n) {
+			Integer id= ids.get(n);
+			if (id != null)
+				return id;
+			ids.put(n, nodes.size());
+			nodes.add(n);
+			return nodes.size() - 1;
+		}
+
+		/**
+		 * Return the id of n.
+		 * @throws IllegalArgumentException if n has not been added
+		 */
+		public int id(N n) {
+			Integer id= ids.get(n);
+			if (id == null)
+				throw new IllegalArgumentException("unknown node " + n);
+			return id;
+		}
+
+		/** Add an edge from node u to node v with weight w. */
+		public void addEdge(int u, int v, int w) {
+			if (u < 0 || u >= nodes.size() || v < 0 || v >= nodes.size())
+				throw new IndexOutOfBoundsException();
+			if (edges == sources.length) {
+				sources= Arrays.copyOf(sources, 2 * edges);
+				targets= Arrays.copyOf(targets, 2 * edges);
+				weights= Arrays.copyOf(weights, 2 * edges);
+			}
+			sources[edges]= u;
+			targets[edges]= v;
+			weights[edges]= w;
+			edges++;
+		}
+
+		/** Return a CompactGraph with the nodes and edges added so far. */
+		public CompactGraph<N> build() {
+			int n= nodes.size();
+			// counting sort of the edges by source
+			int[] offsets= new int[n + 1];
+			for (int i= 0; i < edges; i++)
+				offsets[sources[i] + 1]++;
+			for (int u= 0; u < n; u++)
+				offsets[u + 1]+= offsets[u];
+			int[] next= Arrays.copyOf(offsets, n);
+			int[] t= new int[edges];
+			int[] w= new int[edges];
+			for (int i= 0; i < edges; i++) {
+				int slot= next[sources[i]]++;
+				t[slot]= targets[i];
+				w[slot]= weights[i];
+			}
+			return new CompactGraph<N>(offsets, t, w, nodes.toArray(),
+				new HashMap<N, Integer>(ids));
+		}
+	}
+}
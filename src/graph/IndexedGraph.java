@@ -0,0 +1,471 @@
+package graph;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A graph with vertices labeled by VD and edges labeled by ED, with the same
+ * operations and semantics as AdjacencyListGraph but laid out for large graphs.
+ *
+ * Nodes and edges are numbered in the order they are added. A node's edges
+ * are kept as growable int arrays of edge ids (one for each direction), and
+ * edge endpoints and labels in arrays indexed by edge id, so there are no
+ * per-node hash maps. Removing an edge overwrites its two array slots with a
+ * tombstone (-1); a node's array is compacted once half of it is tombstones.
+ * Node.outgoing() and Node.incoming() are read-only map views over these
+ * arrays: iterating them is as fast as iterating the arrays, and get and
+ * containsKey scan the node's edges, which is cheap on sparse graphs.
+ *
+ * There is one Node object per node, so nodes can be compared by identity.
+ * Edge objects are made when they are asked for and are equal iff they stand
+ * for the same edge. Ids are never reused.
+ *
+ * @param <VD> The type of data stored at each vertex
+ * @param <ED> The type of data stored at each edge
+ */
+public class IndexedGraph<VD, ED> implements graph.Graph<IndexedGraph<VD,ED>.Node, IndexedGraph<VD,ED>.Edge> {
+	/** Marks a removed edge in the arrays below. */
+	private static final int REMOVED= -1;
+
+	/** nodes[u] is the node with id u, or null if it was removed */
+	private Node[] nodes= newNodes(16);
+	private Object[] nodeData= new Object[16];
+	/** number of node ids handed out, and number of nodes not removed */
+	private int nodeIds;
+	private int nodeCount;
+
+	/** source[e] and target[e] are the ends of edge e, both REMOVED once it is removed */
+	private int[] source= new int[16];
+	private int[] target= new int[16];
+	private Object[] edgeData= new Object[16];
+	/** number of edge ids handed out, and number of edges not removed */
+	private int edgeIds;
+	private int edgeCount;
+
+	/** the edges leaving (outgoing) and entering (incoming) each node */
+	private final Incidence outgoing= new Incidence();
+	private final Incidence incoming= new Incidence();
+
+	/**
+	 * An edge in the graph.  All operations throw IllegalStateExceptions if the
+	 * edge has been removed from the graph.
+	 */
+	public class Edge implements graph.LabeledEdge<Node,Edge,ED> {
+		private final int id;
+
+		private Edge(int id) {
+			this.id= id;
+		}
+
+		/** Return the id of this edge: the number of edges added before it. */
+		public int id() { return id; }
+
+		public Node source()         { checkValid(); return nodes[source[id]]; }
+		public Node target()         { checkValid(); return nodes[target[id]]; }
+		public ED   label()          { return getData(); }
+		public void setData(ED value) { checkValid(); edgeData[id]= value; }
+
+		@SuppressWarnings("unchecked")
+		public ED getData() {
+			checkValid();
+			return (ED) edgeData[id];
+		}
+
+		/**
+		 * Remove this edge from the graph.
+		 * @return the label of this.
+		 */
+		public ED remove() {
+			ED data= getData();
+			outgoing.remove(source[id], id);
+			incoming.remove(target[id], id);
+			source[id]= REMOVED;
+			target[id]= REMOVED;
+			edgeData[id]= null;
+			edgeCount--;
+			return data;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof IndexedGraph.Edge && ((IndexedGraph<?,?>.Edge) other).id == id
+				&& ((IndexedGraph<?,?>.Edge) other).graph() == IndexedGraph.this;
+		}
+
+		@Override
+		public int hashCode() {
+			return id;
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(edgeData[id]);
+		}
+
+		private IndexedGraph<VD,ED> graph() {
+			return IndexedGraph.this;
+		}
+
+		private void checkValid() {
+			if (source[id] == REMOVED)
+				throw new IllegalStateException("Edge is no longer in graph");
+		}
+	}
+
+	/**
+	 * A Node in the graph.  All operations will raise an IllegalStateException
+	 * if the Node has been removed from the graph.
+	 */
+	public class Node implements graph.Node<Node, Edge> {
+		private final int id;
+
+		private Node(int id) {
+			this.id= id;
+		}
+
+		/** Return the id of this node, in 0..nodeIds()-1. */
+		public int id() { return id; }
+
+		public Map<Node, Edge> outgoing()        { checkValid(); return new Edges(outgoing, id, target); }
+		public Map<Node, Edge> incoming()        { checkValid(); return new Edges(incoming, id, source); }
+		public void            setData(VD data)  { checkValid(); nodeData[id]= data; }
+
+		@SuppressWarnings("unchecked")
+		public VD getData() {
+			checkValid();
+			return (VD) nodeData[id];
+		}
+
+		public String toString() { checkValid(); return nodeData[id].toString(); }
+
+		/** Remove this vertex and any edges to or from it from the graph. */
+		public VD remove() {
+			VD data= getData();
+			removeAll(outgoing);
+			removeAll(incoming);
+			nodes[id]= null;
+			nodeData[id]= null;
+			nodeCount--;
+			return data;
+		}
+
+		/** Remove every edge of this node in incidence. */
+		private void removeAll(Incidence incidence) {
+			// removal can compact the array, so take the edges first
+			int[] edges= incidence.live(id);
+			for (int e : edges)
+				new Edge(e).remove();
+		}
+
+		private void checkValid() {
+			if (nodes[id] != this)
+				throw new IllegalStateException("Vertex is no longer in graph");
+		}
+	}
+
+	/** Initialize an empty graph */
+	public IndexedGraph() {
+	}
+
+	/** Does this graph contain any nodes? */
+	public boolean isEmpty() {
+		return nodeCount == 0;
+	}
+
+	/** A view of the nodes of this graph. */
+	public Collection<? extends Node> nodes() {
+		return new AbstractCollection<Node>() {
+			@Override
+			public Iterator<Node> iterator() {
+				return new Ids<Node>(nodeIds) {
+					@Override boolean live(int u) { return nodes[u] != null; }
+					@Override Node make(int u)    { return nodes[u]; }
+				};
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return o instanceof IndexedGraph.Node && contains((IndexedGraph<?,?>.Node) o);
+			}
+
+			private boolean contains(IndexedGraph<?,?>.Node n) {
+				return n.id < nodeIds && nodes[n.id] == n;
+			}
+
+			@Override
+			public int size() {
+				return nodeCount;
+			}
+		};
+	}
+
+	/** A view of the edges of this graph. */
+	public Collection<? extends Edge> edges() {
+		return new AbstractCollection<Edge>() {
+			@Override
+			public Iterator<Edge> iterator() {
+				return new Ids<Edge>(edgeIds) {
+					@Override boolean live(int e) { return source[e] != REMOVED; }
+					@Override Edge make(int e)    { return new Edge(e); }
+				};
+			}
+
+			@Override
+			public int size() {
+				return edgeCount;
+			}
+		};
+	}
+
+	/** Return the number of node ids handed out so far, including those of
+	 * removed nodes. */
+	public int nodeIds() {
+		return nodeIds;
+	}
+
+	/** Return the node with the given id, or null if it has been removed. */
+	public Node node(int id) {
+		return nodes[id];
+	}
+
+	public Node addNode(VD data) {
+		if (nodeIds == nodes.length) {
+			int n= 2 * nodeIds;
+			nodes= Arrays.copyOf(nodes, n);
+			nodeData= Arrays.copyOf(nodeData, n);
+		}
+		outgoing.ensureNodes(nodeIds + 1);
+		incoming.ensureNodes(nodeIds + 1);
+		Node node= new Node(nodeIds);
+		nodes[nodeIds]= node;
+		nodeData[nodeIds]= data;
+		nodeIds++;
+		nodeCount++;
+		return node;
+	}
+
+	/** @throws IllegalStateException if there is already an edge from source to
+	 * target, or if either has been removed */
+	public Edge addEdge(Node source, Node target, ED data) {
+		source.checkValid();
+		target.checkValid();
+		if (outgoing.find(source.id, this.target, target.id) != REMOVED)
+			throw new IllegalStateException("duplicate edge");
+		if (edgeIds == this.source.length) {
+			int m= 2 * edgeIds;
+			this.source= Arrays.copyOf(this.source, m);
+			this.target= Arrays.copyOf(this.target, m);
+			edgeData= Arrays.copyOf(edgeData, m);
+		}
+		int e= edgeIds++;
+		this.source[e]= source.id;
+		this.target[e]= target.id;
+		edgeData[e]= data;
+		outgoing.add(source.id, e);
+		incoming.add(target.id, e);
+		edgeCount++;
+		return new Edge(e);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Node[] newNodes(int n) {
+		return (Node[]) new IndexedGraph<?,?>.Node[n];
+	}
+
+	/**
+	 * The edges at each node in one direction: edges[u][0..size[u]) are the
+	 * ids of u's edges, with dead[u] of them REMOVED. slot[e] is the index of
+	 * edge e in the array of its node.
+	 */
+	private static final class Incidence {
+		private static final int[] NONE= new int[0];
+
+		private int[][] edges= new int[16][];
+		private int[] size= new int[16];
+		private int[] dead= new int[16];
+		private int[] slot= new int[16];
+
+		/** Make room for nodes with ids below n. */
+		void ensureNodes(int n) {
+			if (n > edges.length) {
+				int c= Math.max(n, 2 * edges.length);
+				edges= Arrays.copyOf(edges, c);
+				size= Arrays.copyOf(size, c);
+				dead= Arrays.copyOf(dead, c);
+			}
+			if (edges[n - 1] == null)
+				edges[n - 1]= NONE;
+		}
+
+		/** Append edge e to the edges of node u. */
+		void add(int u, int e) {
+			if (e >= slot.length)
+				slot= Arrays.copyOf(slot, Math.max(e + 1, 2 * slot.length));
+			int[] list= edges[u];
+			if (size[u] == list.length)
+				list= edges[u]= Arrays.copyOf(list, Math.max(2, 2 * list.length));
+			slot[e]= size[u];
+			list[size[u]++]= e;
+		}
+
+		/** Replace edge e of node u by a tombstone. */
+		void remove(int u, int e) {
+			edges[u][slot[e]]= REMOVED;
+			dead[u]++;
+			if (2 * dead[u] > size[u])
+				compact(u);
+		}
+
+		/** Remove the tombstones of node u. */
+		private void compact(int u) {
+			int[] list= edges[u];
+			int k= 0;
+			for (int i= 0; i < size[u]; i++) {
+				int e= list[i];
+				if (e != REMOVED) {
+					slot[e]= k;
+					list[k++]= e;
+				}
+			}
+			size[u]= k;
+			dead[u]= 0;
+			if (k == 0)
+				edges[u]= NONE;
+		}
+
+		/** Return the number of edges of node u. */
+		int count(int u) {
+			return size[u] - dead[u];
+		}
+
+		/** Return the id of the edge of node u whose other end (given by ends)
+		 * is v, or REMOVED if there is none. */
+		int find(int u, int[] ends, int v) {
+			int[] list= edges[u];
+			for (int i= 0; i < size[u]; i++) {
+				int e= list[i];
+				if (e != REMOVED && ends[e] == v)
+					return e;
+			}
+			return REMOVED;
+		}
+
+		/** Return a copy of the ids of the edges of node u. */
+		int[] live(int u) {
+			int[] result= new int[count(u)];
+			int k= 0;
+			for (int i= 0; i < size[u]; i++) {
+				if (edges[u][i] != REMOVED)
+					result[k++]= edges[u][i];
+			}
+			return result;
+		}
+	}
+
+	/** Read-only map view of the edges of node u in one direction, keyed by
+	 * their other end (given by ends: target for outgoing, source for incoming). */
+	private class Edges extends AbstractMap<Node, Edge> {
+		private final Incidence incidence;
+		private final int u;
+		private final int[] ends;
+
+		Edges(Incidence incidence, int u, int[] ends) {
+			this.incidence= incidence;
+			this.u= u;
+			this.ends= ends;
+		}
+
+		@Override
+		public int size() {
+			return incidence.count(u);
+		}
+
+		@Override
+		public Edge get(Object key) {
+			int e= find(key);
+			return e == REMOVED ? null : new Edge(e);
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return find(key) != REMOVED;
+		}
+
+		/** Return the id of the edge whose other end is key, or REMOVED. */
+		private int find(Object key) {
+			if (!(key instanceof IndexedGraph.Node))
+				return REMOVED;
+			IndexedGraph<?,?>.Node n= (IndexedGraph<?,?>.Node) key;
+			if (n.id >= nodeIds || nodes[n.id] != n)
+				return REMOVED;
+			return incidence.find(u, ends, n.id);
+		}
+
+		@Override
+		public Set<Map.Entry<Node, Edge>> entrySet() {
+			return new AbstractSet<Map.Entry<Node, Edge>>() {
+				@Override
+				public Iterator<Map.Entry<Node, Edge>> iterator() {
+					int[] list= incidence.edges[u];
+					return new Ids<Map.Entry<Node, Edge>>(incidence.size[u]) {
+						@Override boolean live(int i) { return list[i] != REMOVED; }
+						@Override Map.Entry<Node, Edge> make(int i) {
+							return new SimpleImmutableEntry<>(nodes[ends[list[i]]], new Edge(list[i]));
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return incidence.count(u);
+				}
+			};
+		}
+	}
+
+	/** Iterates over make(i) for the i in [0..end) for which live(i). */
+	private abstract static class Ids<T> implements Iterator<T> {
+		private final int end;
+		/** the last index returned or looked at */
+		private int next= -1;
+		/** true iff next is the index to return next (or end) */
+		private boolean found;
+
+		Ids(int end) {
+			this.end= end;
+		}
+
+		abstract boolean live(int i);
+
+		abstract T make(int i);
+
+		/** Move next to the next live index, unless it is there already. */
+		private boolean find() {
+			if (!found) {
+				do next++; while (next < end && !live(next));
+				found= true;
+			}
+			return next < end;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return find();
+		}
+
+		@Override
+		public T next() {
+			if (!find())
+				throw new NoSuchElementException();
+			found= false;
+			return make(next);
+		}
+	}
+}
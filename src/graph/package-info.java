@@ -11,6 +11,8 @@
  * <p>The AdjacencyListGraph is a sample implementation, although for historical
  * reasons it is not used by the provided tests.  You can use it if you want to
  * construct your own tests without understanding the file loading code.
+ * IndexedGraph has the same operations but stores nodes and edges in
+ * arrays, for graphs too large for a hash map per node.
  * 
  * <p>The generic interfaces in this package do not contain any updateing methods;
  * these are intended as an interface between a concrete implementation and the
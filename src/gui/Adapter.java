@@ -4,10 +4,17 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.Map;
+import java.util.function.ToIntFunction;
 
+import a4New.HeapMetrics;
+import a4New.IntHeap;
 import a5.GraphAlgorithms;
+import a5.Landmarks;
+import a5.ManyToManyPaths;
 import common.Wrapper;
+import graph.CompactGraph;
 
 public class Adapter extends Wrapper<Graph> implements graph.Graph<Adapter.Node,Adapter.Edge> {
 	public class Node extends Wrapper<NodeData> implements graph.Node<Node, Edge>{
@@ -21,7 +28,7 @@ public class Adapter extends Wrapper<Graph> implements graph.Graph<Adapter.Node,
 			
 			for (EdgeData e : this.impl.getExits()) {
 				NodeData other = e.getOther(this.impl);
-				Node     otherWrapper = new Node(other);
+				Node     otherWrapper = wrap(other);
 				
 				Edge wrapper = thisIsSource
 						   ? new Edge(e,this,otherWrapper)
@@ -62,6 +69,10 @@ public class Adapter extends Wrapper<Graph> implements graph.Graph<Adapter.Node,
 		
 	}
 	
+	/** The wrapper of each NodeData wrapped so far. Wrappers are canonical, so
+	 * algorithms may compare nodes of one Adapter by identity (see Traversals). */
+	private final Map<NodeData, Node> wrappers = new HashMap<>();
+	
 	public Adapter(Graph g) {
 		super(g);
 	}
@@ -75,7 +86,7 @@ public class Adapter extends Wrapper<Graph> implements graph.Graph<Adapter.Node,
 	public Collection<? extends Node> nodes() {
 		List<Node> result = new ArrayList<>();
 		for (NodeData n : this.impl.getNodes())
-			result.add(new Node(n));
+			result.add(wrap(n));
 		return result;
 	}
 
@@ -83,16 +94,17 @@ public class Adapter extends Wrapper<Graph> implements graph.Graph<Adapter.Node,
 	public Collection<? extends Edge> edges() {
 		List<Edge> result = new ArrayList<>();
 		for (EdgeData e : this.impl.getEdges()) {
-			Node n1 = new Node(e.getFirstExit());
-			Node n2 = new Node(e.getSecondExit());
+			Node n1 = wrap(e.getFirstExit());
+			Node n2 = wrap(e.getSecondExit());
 			result.add(new Edge(e, n1,n2));
 			result.add(new Edge(e, n2,n1));
 		}
 		return result;
 	}
 	
+	/** Return the wrapper of d; the same object every time for the same d. */
 	public Node wrap(NodeData d) {
-		return new Node(d);
+		return wrappers.computeIfAbsent(d, Node::new);
 	}
 	
 	public static List<NodeData> shortest(NodeData start, NodeData end) {
@@ -105,4 +117,73 @@ public class Adapter extends Wrapper<Graph> implements graph.Graph<Adapter.Node,
 			data.add(wrapper.impl());
 		return data;
 	}
+	
+	/** Same as shortest, but the frontier's work is added to metrics (see
+	 * HeapMetrics.report()). */
+	public static List<NodeData> shortest(NodeData start, NodeData end, HeapMetrics metrics) {
+		Adapter g = new Adapter(start.getGraph());
+		IntHeap<Adapter.Node> frontier = new IntHeap<>();
+		frontier.setMetrics(metrics);
+		List<Adapter.Node> nodes = GraphAlgorithms.shortestPath(g.wrap(start), g.wrap(end), frontier);
+		List<NodeData> data = new ArrayList<>();
+		for (Adapter.Node wrapper : nodes)
+			data.add(wrapper.impl());
+		return data;
+	}
+	
+	/** Return an A* heuristic for paths to target: the straight-line distance
+	 * to target scaled by Graph.minLengthPerPixel(), which never exceeds the
+	 * length of a path. */
+	public static ToIntFunction<Node> straightLine(NodeData target) {
+		double ratio = target.getGraph().minLengthPerPixel();
+		return n -> (int) (ratio * n.impl().pixelDistance(target));
+	}
+	
+	/** Same as shortestCompact, but searched with A*. The heuristic is the
+	 * larger of the straight-line bound (see straightLine) and the landmark
+	 * bound of the graph's landmarks(), which settles far fewer nodes. */
+	public static List<NodeData> shortestAStar(NodeData start, NodeData end) {
+		Graph graph = start.getGraph();
+		CompactGraph<NodeData> g = graph.compact();
+		Landmarks<NodeData> landmarks = graph.landmarks();
+		double ratio = graph.minLengthPerPixel();
+		int t = g.id(end);
+		int[] path = GraphAlgorithms.shortestPath(g, g.id(start), t,
+			v -> Math.max(landmarks.lowerBound(v, t), (int) (ratio * g.node(v).pixelDistance(end))));
+		return g.nodes(path);
+	}
+	
+	/** Same as shortest, but answered by the graph's contraction hierarchy
+	 * (see Graph.hierarchy()), which is built on the first call. */
+	public static List<NodeData> shortestHierarchy(NodeData start, NodeData end) {
+		return start.getGraph().hierarchy().path(start, end);
+	}
+	
+	/** Same as shortest, but run on the compact snapshot of start's graph
+	 * (see Graph.compact()), which does not allocate wrapper objects. */
+	public static List<NodeData> shortestCompact(NodeData start, NodeData end) {
+		CompactGraph<NodeData> g = start.getGraph().compact();
+		int[] path = GraphAlgorithms.shortestPath(g, g.id(start), g.id(end));
+		return g.nodes(path);
+	}
+	
+	/** Same as shortest, but the tree of shortest paths from start is kept in
+	 * the graph's pathCache(), so later queries from start (to any node) do
+	 * not search again until the graph changes. */
+	public static List<NodeData> shortestCached(NodeData start, NodeData end) {
+		Adapter g = new Adapter(start.getGraph());
+		List<Adapter.Node> nodes = start.getGraph().pathCache().shortestPath(g.wrap(start), g.wrap(end));
+		List<NodeData> data = new ArrayList<>();
+		for (Adapter.Node wrapper : nodes)
+			data.add(wrapper.impl());
+		return data;
+	}
+	
+	/** Return the shortest paths in g from every node of sources to every node
+	 * of targets. Runs one search per source on g's compact snapshot, with the
+	 * sources in parallel; much faster than calling shortest for each pair. */
+	public static ManyToManyPaths<NodeData> shortestMany(Graph g,
+			Collection<NodeData> sources, Collection<NodeData> targets) {
+		return ManyToManyPaths.of(g.compact(), sources, targets, ForkJoinPool.commonPool());
+	}
 }
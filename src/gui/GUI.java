@@ -26,6 +26,8 @@ import javax.swing.border.LineBorder;
 
 import org.json.JSONException;
 
+import a4New.HeapMetrics;
+
 /** An instance is the JFrame that shows the graph.<br>
  * Class graph.Main and perhaps other classes send updates to the gui<br>
  * to keep it up to date on the graph state.<br>
@@ -75,6 +77,10 @@ public class GUI extends JFrame {
 
 	private JButton spButton= new JButton(startClick);
 
+	/** true iff each shortest path is searched again with a counting heap and
+	 * its HeapMetrics report printed: run with -Dgui.heapMetrics=true */
+	private final boolean heapMetrics= Boolean.getBoolean("gui.heapMetrics");
+
 	/** Set either the start node or the end node to n, depending on the state,<br>
 	 * and change state. <br>
 	 * If end node, call shortest path algorithm and display shortest path on GUI */
@@ -94,7 +100,12 @@ public class GUI extends JFrame {
 			endNode= n;
 			spInfo.setText("Start node is " + startNode + ", end node is " + endNode +
 				". Calculating shortest path.");
-			path= Adapter.shortest(startNode, endNode);
+			path= Adapter.shortestCached(startNode, endNode);
+			if (heapMetrics) {
+				HeapMetrics metrics= new HeapMetrics();
+				Adapter.shortest(startNode, endNode, metrics);
+				System.out.println("Heap metrics, " + startNode + " to " + endNode + ":\n" + metrics.report());
+			}
 			int len= setColors(path, Color.red);
 			spInfo.setText("Path " + startNode + " to " + endNode +
 				" has " + path.size() + " nodes and length " + len);
@@ -19,6 +19,12 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import org.json.JSONString;
 
+import a5.ContractionHierarchy;
+import a5.Landmarks;
+import a5.ShortestPathCache;
+import a5.SpanningTrees;
+import graph.CompactGraph;
+
 /** An instance contains HashSets of Edges and Nodes that make up the graph. <br>
  * <br>
  * Graphs are either randomly generated from a seed or loaded from a file. */
@@ -39,6 +45,32 @@ public final class Graph implements JSONString {
 
 	public GUI gui= null;
 
+	/** Compact snapshot of this graph for path queries (null if not built, or if
+	 * the exits of some node have changed since it was built). */
+	private CompactGraph<NodeData> compact;
+
+	/** Number of landmarks chosen for A* queries on this graph. */
+	private static final int LANDMARKS= 4;
+
+	/** Landmarks for A* queries (null if not built, or if the exits of some <br>
+	 * node have changed since they were built). */
+	private Landmarks<NodeData> landmarks;
+
+	/** Smallest ratio of edge length to on-screen edge length (NaN if not
+	 * computed since the exits of some node last changed). */
+	private double lengthPerPixel= Double.NaN;
+
+	/** Contraction hierarchy for queries (null if not built or loaded, or <br>
+	 * if the exits of some node have changed since). */
+	private ContractionHierarchy<NodeData> hierarchy;
+
+	/** Number of shortest-path trees kept by pathCache(). */
+	private static final int CACHED_TREES= 16;
+
+	/** Shortest-path trees by source (null until first used). Emptied <br>
+	 * whenever the exits of some node change. */
+	private ShortestPathCache<Adapter.Node, Adapter.Edge> pathCache;
+
 	/** Constructor: a graph from the given serialized version of the graph for g */
 	protected Graph(JSONObject obj) {
 		// Read seed if possible; otherwise use -1.
@@ -142,6 +174,97 @@ public final class Graph implements JSONString {
 		return edges.size();
 	}
 
+	/** Return a compact (CSR) snapshot of this graph with both directions of <br>
+	 * every edge, for GraphAlgorithms.shortestPath(CompactGraph, int, int). <br>
+	 * The snapshot is built on first use and reused until the exits of some <br>
+	 * node change. */
+	public synchronized CompactGraph<NodeData> compact() {
+		if (compact == null) {
+			CompactGraph.Builder<NodeData> b= new CompactGraph.Builder<>();
+			for (NodeData n : nodes) {
+				b.addNode(n);
+			}
+			for (EdgeData e : edges) {
+				int u= b.id(e.getFirstExit());
+				int v= b.id(e.getSecondExit());
+				b.addEdge(u, v, e.length);
+				b.addEdge(v, u, e.length);
+			}
+			compact= b.build();
+		}
+		return compact;
+	}
+
+	/** Return landmarks for A* queries on compact(), computed on first use <br>
+	 * and reused until the exits of some node change. */
+	public synchronized Landmarks<NodeData> landmarks() {
+		if (landmarks == null) {
+			landmarks= new Landmarks<>(compact(), LANDMARKS);
+		}
+		return landmarks;
+	}
+
+	/** Return a contraction hierarchy for compact(), built on first use <br>
+	 * (unless loaded by loadHierarchy) and reused until the exits of some <br>
+	 * node change. */
+	public synchronized ContractionHierarchy<NodeData> hierarchy() {
+		if (hierarchy == null) {
+			hierarchy= ContractionHierarchy.build(compact());
+		}
+		return hierarchy;
+	}
+
+	/** Use the contraction hierarchy written to file (see <br>
+	 * ContractionHierarchy.write) instead of building one. <br>
+	 * Throw an IOException if it cannot be read or is for another graph. */
+	public synchronized void loadHierarchy(String file) throws IOException {
+		hierarchy= ContractionHierarchy.read(file, compact());
+	}
+
+	/** Return the cache of shortest-path trees of this graph, used by <br>
+	 * Adapter.shortestCached. The cache is emptied when the exits of some <br>
+	 * node change. */
+	public synchronized ShortestPathCache<Adapter.Node, Adapter.Edge> pathCache() {
+		if (pathCache == null) {
+			pathCache= new ShortestPathCache<>(CACHED_TREES);
+		}
+		return pathCache;
+	}
+
+	/** Return true iff there is a path between every two nodes of this graph. */
+	public boolean isConnected() {
+		return SpanningTrees.isConnected(compact());
+	}
+
+	/** Called when the exits of a node of this graph change: discard <br>
+	 * everything derived from the old structure. */
+	synchronized void structureChanged() {
+		compact= null;
+		landmarks= null;
+		lengthPerPixel= Double.NaN;
+		hierarchy= null;
+		if (pathCache != null) {
+			pathCache.invalidate();
+		}
+	}
+
+	/** Return the smallest ratio, over all edges, of the edge's length to the <br>
+	 * straight-line distance between its exits' (x, y) positions. <br>
+	 * Any path between two nodes is at least this ratio times the straight-line <br>
+	 * distance between them, which makes it a safe A* heuristic. <br>
+	 * Return 0 if there are no edges with distinct end positions. */
+	public synchronized double minLengthPerPixel() {
+		if (Double.isNaN(lengthPerPixel)) {
+			double ratio= Double.POSITIVE_INFINITY;
+			for (EdgeData e : edges) {
+				double pixels= e.getFirstExit().pixelDistance(e.getSecondExit());
+				if (pixels > 0) ratio= Math.min(ratio, e.length / pixels);
+			}
+			lengthPerPixel= Double.isInfinite(ratio) ? 0 : ratio;
+		}
+		return lengthPerPixel;
+	}
+
 	/** Return true iff there is any intersection of the lines drawn by the edges in edges.
 	 *
 	 * Used for GUI intersection detection, not useful outside of the GUI context. <br>
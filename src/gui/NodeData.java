@@ -135,12 +135,15 @@ public class NodeData implements GraphElement {
 	protected void addExit(EdgeData e) {
 		if (!exits.contains(e)) {
 			exits.add(e);
+			graph.structureChanged();
 		}
 	}
 
 	/** Remove e from this Node's set of exits */
 	protected void removeExit(EdgeData e) {
-		exits.remove(e);
+		if (exits.remove(e)) {
+			graph.structureChanged();
+		}
 	}
 
 	/** Add edges in s to this Node's set of edges (its exits). */
@@ -148,6 +151,7 @@ public class NodeData implements GraphElement {
 		for (EdgeData e : s) {
 			if (!exits.contains(e)) {
 				exits.add(e);
+				graph.structureChanged();
 			}
 		}
 	}
@@ -203,6 +207,12 @@ public class NodeData implements GraphElement {
 		return n;
 	}
 
+	/** Return the straight-line distance between the (x, y) positions of this <br>
+	 * node and other. */
+	public double pixelDistance(NodeData other) {
+		return Math.hypot(x - other.x, y - other.y);
+	}
+
 	/** Return the Circle that represents this node graphically. */
 	public Circle getCircle() {
 		return circle;